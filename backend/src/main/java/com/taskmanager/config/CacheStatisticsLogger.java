@@ -0,0 +1,77 @@
+package com.taskmanager.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically logs hit rates of the Hibernate second-level cache
+ * Figures are per interval, and nothing is logged while the cache is idle.
+ */
+@Component
+@Slf4j
+public class CacheStatisticsLogger {
+    
+    private final Statistics statistics;
+    
+    private long lastHits;
+    private long lastMisses;
+    private long lastQueryHits;
+    private long lastQueryMisses;
+    
+    public CacheStatisticsLogger(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+    
+    /**
+     * Log entity and query cache hit rates since the last run
+     */
+    @Scheduled(fixedDelayString = "${cache.statistics.log-interval:PT5M}",
+               initialDelayString = "${cache.statistics.log-interval:PT5M}")
+    public void logStatistics() {
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+        
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long misses = statistics.getSecondLevelCacheMissCount();
+        long queryHits = statistics.getQueryCacheHitCount();
+        long queryMisses = statistics.getQueryCacheMissCount();
+        
+        long intervalHits = hits - lastHits;
+        long intervalMisses = misses - lastMisses;
+        long intervalQueryHits = queryHits - lastQueryHits;
+        long intervalQueryMisses = queryMisses - lastQueryMisses;
+        lastHits = hits;
+        lastMisses = misses;
+        lastQueryHits = queryHits;
+        lastQueryMisses = queryMisses;
+        
+        if (intervalHits + intervalMisses + intervalQueryHits + intervalQueryMisses == 0) {
+            return;
+        }
+        
+        log.info("Second-level cache: entity hit rate {} ({} hits, {} misses), query hit rate {} ({} hits, {} misses)",
+                 ratio(intervalHits, intervalMisses), intervalHits, intervalMisses,
+                 ratio(intervalQueryHits, intervalQueryMisses), intervalQueryHits, intervalQueryMisses);
+        
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            log.debug("Cache region {}: {} hits, {} misses, {} puts, {} entries in memory (totals since start)",
+                      region, regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+                      regionStatistics.getPutCount(), regionStatistics.getElementCountInMemory());
+        }
+    }
+    
+    private static String ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? "n/a" : String.format("%.1f%%", hits * 100.0 / total);
+    }
+}
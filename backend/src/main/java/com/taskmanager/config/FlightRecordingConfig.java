@@ -0,0 +1,96 @@
+package com.taskmanager.config;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Always-on Java Flight Recorder recording
+ * Starts a continuous recording with the JDK's default settings plus the
+ * application events from jfr/taskmanager.jfc. It keeps a rolling window on
+ * disk; dump it after an incident with
+ *   jcmd &lt;pid&gt; JFR.dump name=taskmanager filename=incident.jfr
+ * and open it in JDK Mission Control or with jfr print.
+ *
+ * To record from the command line instead, merge the settings with
+ *   jfr configure --input default.jfc,taskmanager.jfc --output taskmanager-full.jfc
+ * and start the JVM with -XX:StartFlightRecording:settings=taskmanager-full.jfc.
+ */
+@Component
+@ConditionalOnProperty(name = "jfr.recording.enabled", havingValue = "true")
+@Slf4j
+public class FlightRecordingConfig {
+    
+    private static final String RECORDING_NAME = "taskmanager";
+    private static final String SETTINGS = "jfr/taskmanager.jfc";
+    
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private final Path directory;
+    private Recording recording;
+    
+    public FlightRecordingConfig(
+            @Value("${jfr.recording.max-age:1h}") Duration maxAge,
+            @Value("${jfr.recording.max-size-mb:250}") long maxSizeMb,
+            @Value("${jfr.recording.directory:recordings}") String directory) {
+        this.maxAge = maxAge;
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.directory = Path.of(directory);
+    }
+    
+    /**
+     * Start the recording once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRecording() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (InputStreamReader reader = new InputStreamReader(
+                new ClassPathResource(SETTINGS).getInputStream(), StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+        
+        Files.createDirectories(directory);
+        recording = new Recording(settings);
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSizeBytes);
+        recording.setDumpOnExit(true);
+        recording.setDestination(directory.resolve(RECORDING_NAME + ".jfr"));
+        recording.start();
+        
+        log.info("JFR recording '{}' started (max age {}, max size {} MB), dumped to {} on exit",
+                 RECORDING_NAME, maxAge, maxSizeBytes / (1024 * 1024), directory.toAbsolutePath());
+    }
+    
+    /**
+     * Write the recording out on shutdown
+     */
+    @PreDestroy
+    public void stopRecording() {
+        if (recording != null) {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            recording.close();
+        }
+    }
+}
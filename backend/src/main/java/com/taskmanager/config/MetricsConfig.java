@@ -0,0 +1,41 @@
+package com.taskmanager.config;
+
+import com.taskmanager.metrics.SqlStatementCounter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics configuration
+ * Repository timers (spring.data.repository.invocations), HTTP timers and
+ * Hikari pool metrics come from Spring Boot; this adds @Timed support for
+ * services and the per-request SQL statement count.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    /**
+     * Enable @Timed on Spring beans (taskmanager.service timers)
+     * 
+     * @param registry the meter registry
+     * @return the timing aspect
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+    
+    /**
+     * Register the SQL statement counter with Hibernate
+     * 
+     * @param counter the counter
+     * @return customizer adding the statement inspector
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter counter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+}
@@ -0,0 +1,67 @@
+package com.taskmanager.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Configuration of the optional reactive read path
+ * The R2DBC pool is deliberately not exposed as a ConnectionFactory bean:
+ * Spring Boot would otherwise back off from creating the JDBC DataSource
+ * that JPA and all writes depend on.
+ */
+@Configuration
+@ConditionalOnProperty(name = "reactive-reads.enabled", havingValue = "true")
+public class ReactiveReadConfig {
+    
+    private ConnectionPool connectionPool;
+    
+    /**
+     * Create the database client used by the reactive repositories
+     * 
+     * @param url R2DBC connection URL
+     * @param username database user
+     * @param password database password
+     * @param initialSize connections opened at startup
+     * @param maxSize maximum pooled connections
+     * @return non-blocking database client
+     */
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(
+            @Value("${reactive-reads.url}") String url,
+            @Value("${reactive-reads.username}") String username,
+            @Value("${reactive-reads.password}") String password,
+            @Value("${reactive-reads.pool.initial-size:5}") int initialSize,
+            @Value("${reactive-reads.pool.max-size:20}") int maxSize) {
+        
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+            .option(ConnectionFactoryOptions.USER, username)
+            .option(ConnectionFactoryOptions.PASSWORD, password)
+            .build();
+        
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+            .builder(ConnectionFactories.get(options))
+            .initialSize(initialSize)
+            .maxSize(maxSize)
+            .build());
+        
+        return DatabaseClient.create(connectionPool);
+    }
+    
+    /**
+     * Close the pool on shutdown
+     */
+    @PreDestroy
+    public void closePool() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.taskmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of read-replica routing
+ * Replaces the auto-configured DataSource with a router over the primary
+ * (spring.datasource) and the replicas in read-replicas.urls. The pools are
+ * deliberately not beans of their own, so everything injecting a DataSource
+ * gets the router.
+ */
+@Configuration
+@ConditionalOnProperty(name = "read-replicas.enabled", havingValue = "true")
+@Slf4j
+public class ReadReplicaConfig {
+    
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private ReplicaRoutingDataSource router;
+    
+    /**
+     * Create the routing DataSource used by JPA, JdbcTemplate and transactions
+     * 
+     * @param properties the primary's spring.datasource settings
+     * @param environment used to bind spring.datasource.hikari to the primary pool
+     * @param tracker recent writers, whose reads stay on the primary
+     * @param meterRegistry registry for the pools' hikaricp metrics
+     * @param urls JDBC URLs of the replicas
+     * @param username replica database user
+     * @param password replica database password
+     * @param poolSize maximum connections per replica
+     * @param maxLag replicas lagging more than this are not used
+     * @return the routing DataSource
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            ReadYourWritesTracker tracker,
+            MeterRegistry meterRegistry,
+            @Value("${read-replicas.urls}") List<String> urls,
+            @Value("${read-replicas.username}") String username,
+            @Value("${read-replicas.password}") String password,
+            @Value("${read-replicas.pool-size:10}") int poolSize,
+            @Value("${read-replicas.max-lag:2s}") Duration maxLag) {
+        
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        pools.add(primary);
+        
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            // A replica that cannot hand out a connection quickly is skipped
+            replica.setConnectionTimeout(1000);
+            // Do not fail startup while a replica is down; it joins once reachable
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+            pools.add(replica);
+        }
+        
+        // Spring Boot only instruments DataSource beans, so register the pools here
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+        pools.forEach(pool -> pool.setMetricsTrackerFactory(metrics));
+        
+        if (tracker.getStickyWindow().compareTo(maxLag) < 0) {
+            log.warn("read-replicas.sticky-window {} is shorter than max-lag {}; users may not see " +
+                     "their own changes right after writing", tracker.getStickyWindow(), maxLag);
+        }
+        log.info("Routing read-only transactions to {} read replica(s), max lag {}", replicas.size(), maxLag);
+        
+        router = new ReplicaRoutingDataSource(primary, replicas, tracker, maxLag);
+        router.checkReplicas();
+        
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(router);
+        // Known defaults, so the proxy does not borrow a connection to find them out
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+    
+    /**
+     * Re-check replica lag regularly
+     */
+    @Scheduled(fixedDelayString = "${read-replicas.check-interval:PT1S}")
+    public void checkReplicas() {
+        if (router != null) {
+            router.checkReplicas();
+        }
+    }
+    
+    /**
+     * Close all pools on shutdown
+     */
+    @PreDestroy
+    public void closePools() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
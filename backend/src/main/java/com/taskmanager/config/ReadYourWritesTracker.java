@@ -0,0 +1,74 @@
+package com.taskmanager.config;
+
+import com.taskmanager.event.EntityChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users changed data recently
+ * Their reads stay on the primary for a short window, so a user always sees
+ * their own writes even when the replicas have not replayed them yet.
+ * Writes are only known to the instance that served them; behind a load
+ * balancer the next read must reach the same instance (sticky sessions).
+ */
+@Component
+@ConditionalOnProperty(name = "read-replicas.enabled", havingValue = "true")
+public class ReadYourWritesTracker {
+    
+    private final long stickyWindowMillis;
+    private final Map<Long, Long> lastWrites = new ConcurrentHashMap<>();
+    
+    public ReadYourWritesTracker(@Value("${read-replicas.sticky-window:5s}") Duration stickyWindow) {
+        this.stickyWindowMillis = stickyWindow.toMillis();
+    }
+    
+    /**
+     * Record a committed change of a user
+     * 
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        lastWrites.put(event.getUserId(), System.currentTimeMillis());
+    }
+    
+    /**
+     * Check whether a user's reads must go to the primary
+     * 
+     * @param userId the user ID
+     * @return true within the sticky window after the user's last change
+     */
+    public boolean isSticky(Long userId) {
+        Long lastWrite = lastWrites.get(userId);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - lastWrite < stickyWindowMillis) {
+            return true;
+        }
+        lastWrites.remove(userId, lastWrite);
+        return false;
+    }
+    
+    /**
+     * Drop the users whose sticky window has passed
+     * isSticky only removes the users that read again, so users who wrote
+     * once and left would otherwise stay in the map.
+     */
+    @Scheduled(fixedDelayString = "${read-replicas.eviction-interval:PT1M}")
+    public void evictExpired() {
+        long expired = System.currentTimeMillis() - stickyWindowMillis;
+        lastWrites.values().removeIf(lastWrite -> lastWrite <= expired);
+    }
+    
+    public Duration getStickyWindow() {
+        return Duration.ofMillis(stickyWindowMillis);
+    }
+}
@@ -0,0 +1,153 @@
+package com.taskmanager.config;
+
+import com.taskmanager.security.JwtAuthenticationFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource sending read-only transactions of authenticated requests to a
+ * read replica
+ *
+ * Everything else uses the primary: writes, reads outside a request (such as
+ * the login lookup or async exports), reads of users within their sticky
+ * window after a change, and all reads while no replica is available.
+ * Replicas lagging more than the configured maximum are skipped until they
+ * catch up. Must be wrapped in a LazyConnectionDataSourceProxy, so the
+ * connection is only fetched once the transaction's read-only flag is set.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+    
+    private static final String LAG_SQL =
+        "SELECT COALESCE(CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END, 0)";
+    
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker tracker;
+    private final double maxLagSeconds;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    ReadYourWritesTracker tracker, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.tracker = tracker;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = chooseReplica();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.markUnavailable(e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+    
+    /**
+     * Connections with explicit credentials always come from the primary;
+     * the replica pools only have the configured replica user
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+    
+    /**
+     * Measure the replay lag of every replica and update its availability
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(LAG_SQL)) {
+                result.next();
+                double lag = result.getDouble(1);
+                if (lag > maxLagSeconds) {
+                    replica.markUnavailable(String.format("replay lag %.1fs", lag));
+                } else {
+                    replica.markAvailable(lag);
+                }
+            } catch (SQLException e) {
+                replica.markUnavailable(e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Pick the replica for the current connection request, or null for the primary
+     */
+    private Replica chooseReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        Long userId = currentUserId();
+        if (userId == null || tracker.isSticky(userId)) {
+            return null;
+        }
+        
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.available) {
+                return replica;
+            }
+        }
+        return null;
+    }
+    
+    private static Long currentUserId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (Long) attributes.getAttribute(
+            JwtAuthenticationFilter.USER_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+    
+    /**
+     * A replica pool with its last known state
+     * Replicas start unavailable until the first lag check passes.
+     */
+    private static class Replica {
+        
+        private final HikariDataSource dataSource;
+        private volatile boolean available;
+        
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+        
+        void markAvailable(double lag) {
+            if (!available) {
+                log.info("Read replica {} available (replay lag {}s)", dataSource.getPoolName(), lag);
+            }
+            available = true;
+        }
+        
+        void markUnavailable(String reason) {
+            if (available) {
+                log.warn("Read replica {} unavailable, reads fall back to the primary: {}",
+                         dataSource.getPoolName(), reason);
+            }
+            available = false;
+        }
+    }
+}
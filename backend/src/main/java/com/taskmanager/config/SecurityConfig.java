@@ -2,7 +2,9 @@ package com.taskmanager.config;
 
 import com.taskmanager.security.JwtAuthenticationEntryPoint;
 import com.taskmanager.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -13,6 +15,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -45,11 +49,16 @@ public class SecurityConfig {
      * Sets up JWT authentication, CORS, and endpoint authorization
      * 
      * @param http HttpSecurity configuration
+     * @param serverPort the application port
+     * @param managementPort the actuator port
      * @return SecurityFilterChain
      * @throws Exception if configuration fails
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            @Value("${server.port:8080}") int serverPort,
+            @Value("${management.server.port:${server.port:8080}}") int managementPort) throws Exception {
         http
             // Disable CSRF for stateless JWT authentication
             .csrf(AbstractHttpConfigurer::disable)
@@ -63,6 +72,17 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/error").permitAll()
                 
+                // Health checks
+                .requestMatchers("/actuator/health/**").permitAll()
+                
+                // Prometheus scraping, only through the separate management
+                // port, which is not published outside the deployment network
+                .requestMatchers(onManagementPort(serverPort, managementPort, "/actuator/prometheus")).permitAll()
+                
+                // Streaming responses complete on an async dispatch; the
+                // original request was already authenticated
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
             )
@@ -83,6 +103,21 @@ public class SecurityConfig {
         return http.build();
     }
     
+    /**
+     * Match a path on requests that arrived on the management port
+     * Never matches when actuator shares the application port.
+     * 
+     * @param serverPort the application port
+     * @param managementPort the actuator port
+     * @param path the request path
+     * @return RequestMatcher
+     */
+    private static RequestMatcher onManagementPort(int serverPort, int managementPort, String path) {
+        AntPathRequestMatcher pathMatcher = new AntPathRequestMatcher(path);
+        return request -> managementPort != serverPort && request.getLocalPort() == managementPort
+            && pathMatcher.matches(request);
+    }
+    
     /**
      * Configure CORS settings
      * Allows requests from frontend application
@@ -0,0 +1,47 @@
+package com.taskmanager.config;
+
+import com.taskmanager.metrics.SqlFlightRecorder;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration of the slow-request SQL flight recorder
+ * Wraps the DataSource (the auto-configured pool, or the replica router) in a
+ * JDBC proxy that reports every statement and result set row to the
+ * SqlFlightRecorder. SlowRequestSqlFilter decides which requests are logged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql-flight-recorder.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlFlightRecorderConfig {
+    
+    /**
+     * Wrap the DataSource bean in the recording proxy
+     * Static, so the post-processor is registered before the DataSource is created.
+     *
+     * @param recorder the flight recorder
+     * @return the post-processor
+     */
+    @Bean
+    public static BeanPostProcessor sqlFlightRecorderDataSourceWrapper(ObjectProvider<SqlFlightRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                SqlFlightRecorder listener = recorder.getObject();
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                    .listener(listener)
+                    .methodListener(listener)
+                    .proxyResultSet()
+                    .build();
+            }
+        };
+    }
+}
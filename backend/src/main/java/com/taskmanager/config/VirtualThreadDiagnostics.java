@@ -0,0 +1,78 @@
+package com.taskmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Startup diagnostics for the virtual-thread mode
+ * Reports whether virtual threads are actually in use and points out
+ * settings that commonly hurt them (missing Java 21 runtime, no pinning
+ * trace, oversized connection pool).
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class VirtualThreadDiagnostics {
+    
+    private static final int MAX_RECOMMENDED_POOL_SIZE = 50;
+    
+    private final DataSource dataSource;
+    
+    /**
+     * Log the virtual-thread setup once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportVirtualThreadSetup() {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < 21) {
+            log.warn("Virtual threads requested but running on Java {}; requests use platform threads. " +
+                     "Build and run with Java 21 to enable them", javaVersion);
+            return;
+        }
+        
+        log.info("Virtual threads enabled for request handling and blocking repository calls (Java {})",
+                 javaVersion);
+        
+        if (System.getProperty("jdk.tracePinnedThreads") == null) {
+            log.info("Pinning diagnostics off; start the JVM with -Djdk.tracePinnedThreads=short " +
+                     "to log virtual threads that block while pinned to their carrier");
+        }
+        
+        HikariDataSource hikari = unwrapHikari();
+        if (hikari != null) {
+            int poolSize = hikari.getMaximumPoolSize();
+            log.info("Hikari maximum-pool-size={} connection-timeout={}ms bounds concurrent database work",
+                     poolSize, hikari.getConnectionTimeout());
+            if (poolSize > MAX_RECOMMENDED_POOL_SIZE) {
+                log.warn("Hikari pool size {} is large; with virtual threads size the pool for the " +
+                         "database (about 2 x database cores + spindles), not for client concurrency",
+                         poolSize);
+            }
+        }
+    }
+    
+    /**
+     * Find the Hikari pool behind the DataSource bean
+     * The bean is usually a proxy (the SQL flight recorder, the replica
+     * router), so the pool is reached through unwrap instead of a type check.
+     *
+     * @return the pool, or null if the DataSource is not backed by Hikari
+     */
+    private HikariDataSource unwrapHikari() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            log.debug("Could not unwrap the DataSource", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.taskmanager.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.taskmanager.web.ConditionalGetInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+    
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+    
+    /**
+     * CBOR converter for clients sending Accept: application/cbor
+     * Built from the application's Jackson builder so dates and features
+     * match the JSON output. It replaces the MVC default in place, which
+     * keeps JSON first and therefore the default format.
+     * 
+     * @param builder the Boot-configured Jackson builder
+     * @return CBOR message converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+    
+    /**
+     * Smile converter for clients sending Accept: application/x-jackson-smile
+     * 
+     * @param builder the Boot-configured Jackson builder
+     * @return Smile message converter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+    
+    /**
+     * Register conditional GET handling for all reads whose content depends
+     * only on the user's data version
+     * 
+     * @param registry the interceptor registry
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(conditionalGetInterceptor)
+            .addPathPatterns(
+                "/api/tasks",
+                "/api/tasks/{id}",
+                "/api/lists",
+                "/api/lists/{id}",
+                "/api/statistics/dashboard",
+                "/api/reactive/tasks",
+                "/api/reactive/tasks/{id}",
+                "/api/reactive/statistics/dashboard"
+            );
+    }
+}
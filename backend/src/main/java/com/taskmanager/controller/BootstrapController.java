@@ -0,0 +1,44 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.BootstrapResponse;
+import com.taskmanager.security.JwtUtil;
+import com.taskmanager.service.BootstrapService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the frontend's initial data
+ * One round trip instead of /api/statistics/dashboard, /api/lists and
+ * /api/tasks one after another.
+ */
+@RestController
+@RequestMapping("/api/bootstrap")
+@RequiredArgsConstructor
+public class BootstrapController {
+    
+    private final BootstrapService bootstrapService;
+    private final JwtUtil jwtUtil;
+    
+    /**
+     * Get statistics, lists with counts and the first task page
+     * GET /api/bootstrap?size=20
+     * 
+     * Not covered by conditional GET: a response with unavailable parts
+     * must not be revalidated as current.
+     * 
+     * @param size the task page size
+     * @param token the JWT token
+     * @return the bootstrap data
+     */
+    @GetMapping
+    public ResponseEntity<BootstrapResponse> getBootstrap(
+            @RequestParam(defaultValue = "20") int size,
+            @RequestHeader("Authorization") String token) {
+        
+        Long userId = jwtUtil.extractUserId(token.substring(7));
+        BootstrapResponse response = bootstrapService.getBootstrap(userId, size);
+        
+        return ResponseEntity.ok(response);
+    }
+}
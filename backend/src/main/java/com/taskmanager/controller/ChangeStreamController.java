@@ -0,0 +1,46 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.security.JwtAuthenticationFilter;
+import com.taskmanager.security.JwtUtil;
+import com.taskmanager.service.ChangeStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller for the per-user change stream
+ * Pushes task and list changes so clients do not have to poll
+ */
+@RestController
+@RequiredArgsConstructor
+public class ChangeStreamController {
+    
+    private final ChangeStreamService changeStreamService;
+    private final JwtUtil jwtUtil;
+    
+    /**
+     * Open a Server-Sent Events stream of the current user's changes
+     * GET /api/events/stream
+     * 
+     * Browsers' EventSource cannot set headers, so the JWT may also be
+     * passed as the token query parameter. Reconnecting clients resume
+     * from the Last-Event-ID header.
+     * 
+     * @param authorization the Authorization header, if sent
+     * @param token the JWT as query parameter, if sent
+     * @param lastEventId the ID of the last event the client received
+     * @return the event stream
+     */
+    @GetMapping(value = JwtAuthenticationFilter.CHANGE_STREAM_PATH, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestParam(value = "token", required = false) String token,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        
+        String jwt = authorization != null ? authorization.replace("Bearer ", "") : token;
+        Long userId = jwtUtil.extractUserId(jwt);
+        
+        return changeStreamService.subscribe(userId, lastEventId);
+    }
+}
@@ -0,0 +1,117 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.DashboardStatsResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.security.JwtUtil;
+import com.taskmanager.service.ReactiveTaskReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller for the non-blocking read path
+ * Same parameters and response shapes as the task and statistics reads,
+ * served from R2DBC. The request thread is released while queries run.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+@ConditionalOnProperty(name = "reactive-reads.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveReadController {
+    
+    private final ReactiveTaskReadService reactiveTaskReadService;
+    private final JwtUtil jwtUtil;
+    
+    /**
+     * Get tasks for the current user with pagination and optional filters
+     * GET /api/reactive/tasks
+     * 
+     * @param page the page number (default 0)
+     * @param size the page size (default 20)
+     * @param status optional status filter
+     * @param priority optional priority filter
+     * @param search optional search term
+     * @param listId optional list ID filter
+     * @param token the JWT token
+     * @return page of tasks
+     */
+    @GetMapping("/tasks")
+    public Mono<Page<TaskResponse>> getAllTasks(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Long listId,
+            @RequestHeader("Authorization") String token) {
+        
+        Long userId = getUserIdFromToken(token);
+        
+        // Invalid enum values are ignored, as in TaskController
+        TaskStatus taskStatus = null;
+        TaskPriority taskPriority = null;
+        
+        if (status != null && !status.trim().isEmpty()) {
+            try {
+                taskStatus = TaskStatus.valueOf(status.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                // Ignore invalid status
+            }
+        }
+        
+        if (priority != null && !priority.trim().isEmpty()) {
+            try {
+                taskPriority = TaskPriority.valueOf(priority.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                // Ignore invalid priority
+            }
+        }
+        
+        return reactiveTaskReadService.getTasks(userId, listId, taskStatus, taskPriority, search, page, size);
+    }
+    
+    /**
+     * Get a task by ID
+     * GET /api/reactive/tasks/{id}
+     * 
+     * @param id the task ID
+     * @param token the JWT token
+     * @return the task
+     */
+    @GetMapping("/tasks/{id}")
+    public Mono<TaskResponse> getTaskById(
+            @PathVariable Long id,
+            @RequestHeader("Authorization") String token) {
+        
+        return reactiveTaskReadService.getTaskById(id, getUserIdFromToken(token));
+    }
+    
+    /**
+     * Get dashboard statistics for the current user
+     * GET /api/reactive/statistics/dashboard
+     * 
+     * @param token the JWT token
+     * @return dashboard statistics
+     */
+    @GetMapping("/statistics/dashboard")
+    public Mono<DashboardStatsResponse> getDashboardStats(
+            @RequestHeader("Authorization") String token) {
+        
+        return reactiveTaskReadService.getDashboardStats(getUserIdFromToken(token));
+    }
+    
+    /**
+     * Extract user ID from JWT token
+     * 
+     * @param token the authorization header value
+     * @return the user ID
+     */
+    private Long getUserIdFromToken(String token) {
+        String jwt = token.replace("Bearer ", "");
+        return jwtUtil.extractUserId(jwt);
+    }
+}
@@ -0,0 +1,44 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.SyncResponse;
+import com.taskmanager.security.JwtUtil;
+import com.taskmanager.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for incremental delta sync
+ */
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+    
+    private final SyncService syncService;
+    private final JwtUtil jwtUtil;
+    
+    /**
+     * Get the tasks and lists created, updated or deleted since a cursor
+     * GET /api/sync?cursor=...&limit=500
+     * 
+     * Omit the cursor for a full sync. Store the returned cursor and pass it
+     * next time; while hasMore is true, sync again immediately.
+     * 
+     * @param token the JWT token
+     * @param cursor the cursor from the previous sync
+     * @param limit maximum number of changes to return
+     * @return one batch of changes
+     */
+    @GetMapping
+    public ResponseEntity<SyncResponse> getChanges(
+            @RequestHeader("Authorization") String token,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + SyncService.DEFAULT_LIMIT) int limit) {
+        
+        Long userId = jwtUtil.extractUserId(token.substring(7));
+        SyncResponse response = syncService.getChanges(userId, cursor, limit);
+        
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,16 +1,34 @@
 package com.taskmanager.controller;
 
+import com.taskmanager.dto.CalendarDayResponse;
+import com.taskmanager.dto.DataFormat;
+import com.taskmanager.dto.TaskBatchResponse;
 import com.taskmanager.dto.MessageResponse;
+import com.taskmanager.dto.TaskImportResponse;
+import com.taskmanager.dto.TaskMoveRequest;
 import com.taskmanager.dto.TaskRequest;
 import com.taskmanager.dto.TaskResponse;
 import com.taskmanager.security.JwtUtil;
+import com.taskmanager.service.TaskExportService;
+import com.taskmanager.service.TaskImportService;
 import com.taskmanager.service.TaskService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 /**
  * REST controller for task management
@@ -22,6 +40,8 @@ import org.springframework.web.bind.annotation.*;
 public class TaskController {
     
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
     private final JwtUtil jwtUtil;
     
     /**
@@ -53,17 +73,21 @@ public class TaskController {
      * @param priority optional priority filter
      * @param search optional search term
      * @param listId optional list ID filter
+     * @param fields optional comma-separated fields to return (sparse fieldset)
+     * @param order "manual" to sort the tasks of listId by their manual order (default newest first)
      * @param token the JWT token
      * @return page of tasks
      */
     @GetMapping
-    public ResponseEntity<Page<TaskResponse>> getAllTasks(
+    public ResponseEntity<Page<?>> getAllTasks(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String priority,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Long listId,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String order,
             @RequestHeader("Authorization") String token) {
         
         Long userId = getUserIdFromToken(token);
@@ -88,12 +112,18 @@ public class TaskController {
             }
         }
         
+        // Sparse fieldset: only the requested columns are selected
+        if (fields != null && !fields.trim().isEmpty()) {
+            return ResponseEntity.ok(taskService.getTaskFields(
+                userId, listId, taskStatus, taskPriority, search, fields, page, size));
+        }
+        
         // Use filtered method if any filters are provided
         Page<TaskResponse> tasks;
         
         // Filter by list ID if provided (Requirement 13.1)
         if (listId != null) {
-            tasks = taskService.getTasksByListId(userId, listId, page, size);
+            tasks = taskService.getTasksByListId(userId, listId, "manual".equalsIgnoreCase(order), page, size);
         } else if (taskStatus != null || taskPriority != null || (search != null && !search.trim().isEmpty())) {
             tasks = taskService.getTasksWithFilters(userId, taskStatus, taskPriority, search, page, size);
         } else {
@@ -103,20 +133,201 @@ public class TaskController {
         return ResponseEntity.ok(tasks);
     }
     
+    /**
+     * Get several tasks by ID in one request
+     * GET /api/tasks/batch?ids=1,2,3
+     * 
+     * @param ids the task IDs (at most TaskService.MAX_BATCH_IDS)
+     * @param token the JWT token
+     * @return found tasks in request order and the missing IDs
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<TaskBatchResponse> getTasksByIds(
+            @RequestParam List<Long> ids,
+            @RequestHeader("Authorization") String token) {
+        
+        Long userId = getUserIdFromToken(token);
+        TaskBatchResponse response = taskService.getTasksByIds(ids, userId);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Get the tasks due in a date window, including occurrences of recurring tasks
+     * GET /api/tasks/occurrences?from=2024-01-01&to=2024-01-31
+     * 
+     * @param from first day of the window (ISO date)
+     * @param to last day of the window (ISO date, at most TaskService.MAX_DATE_RANGE_DAYS days)
+     * @param token the JWT token
+     * @return tasks and occurrences ordered by due date
+     */
+    @GetMapping("/occurrences")
+    public ResponseEntity<List<TaskResponse>> getTasksDueBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestHeader("Authorization") String token) {
+        
+        Long userId = getUserIdFromToken(token);
+        List<TaskResponse> response = taskService.getTasksDueBetween(userId, from, to);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Get the tasks due in a date range grouped by day, for a calendar view
+     * GET /api/tasks/calendar?from=2024-01-01&to=2024-01-31&perDay=3
+     * 
+     * @param from first day of the range (ISO date)
+     * @param to last day of the range (ISO date, at most TaskService.MAX_DATE_RANGE_DAYS days)
+     * @param perDay maximum number of tasks per day (default 3)
+     * @param token the JWT token
+     * @return days that have tasks, with their task count and first tasks
+     */
+    @GetMapping("/calendar")
+    public ResponseEntity<List<CalendarDayResponse>> getCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "3") int perDay,
+            @RequestHeader("Authorization") String token) {
+        
+        Long userId = getUserIdFromToken(token);
+        List<CalendarDayResponse> response = taskService.getCalendar(userId, from, to, perDay);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Complete or edit one occurrence of a recurring task
+     * PUT /api/tasks/{id}/occurrences/2024-01-15
+     * 
+     * @param id the recurring task ID
+     * @param date the occurrence date (ISO date)
+     * @param taskRequest the occurrence data
+     * @param token the JWT token
+     * @return the materialized occurrence
+     */
+    @PutMapping("/{id}/occurrences/{date}")
+    public ResponseEntity<TaskResponse> updateOccurrence(
+            @PathVariable Long id,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Valid @RequestBody TaskRequest taskRequest,
+            @RequestHeader("Authorization") String token) {
+        
+        Long userId = getUserIdFromToken(token);
+        TaskResponse response = taskService.updateOccurrence(id, date, taskRequest, userId);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Export all tasks of the current user as a streamed file
+     * GET /api/tasks/export?format=ndjson|csv&gzip=true
+     * 
+     * The body is written directly from a database cursor, so the response
+     * size is not limited by server memory.
+     * 
+     * @param format the output format (ndjson or csv, default ndjson)
+     * @param gzip whether to gzip-compress the body
+     * @param token the JWT token
+     * @return streamed export body
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestHeader("Authorization") String token) {
+        
+        Long userId = getUserIdFromToken(token);
+        DataFormat dataFormat = DataFormat.fromString(format);
+        
+        StreamingResponseBody body = out -> taskExportService.exportTasks(userId, dataFormat, gzip, out);
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(dataFormat.getContentType() + ";charset=UTF-8"))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"tasks." + dataFormat.getExtension() + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        
+        return response.body(body);
+    }
+    
+    /**
+     * Bulk import tasks from an NDJSON or CSV request body
+     * POST /api/tasks/import?format=ndjson|csv&importId=...
+     * 
+     * The body is read as a stream and may be gzip-compressed
+     * (Content-Encoding: gzip). Rows that fail validation are reported
+     * individually and do not abort the import.
+     * 
+     * @param format the input format (ndjson or csv, default ndjson)
+     * @param importId optional client-chosen ID for progress polling
+     * @param request the HTTP request carrying the raw body
+     * @param token the JWT token
+     * @return the import result
+     * @throws IOException if reading the body fails
+     */
+    @PostMapping("/import")
+    public ResponseEntity<TaskImportResponse> importTasks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String importId,
+            HttpServletRequest request,
+            @RequestHeader("Authorization") String token) throws IOException {
+        
+        Long userId = getUserIdFromToken(token);
+        DataFormat dataFormat = DataFormat.fromString(format);
+        
+        InputStream body = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            body = new GZIPInputStream(body);
+        }
+        
+        TaskImportResponse response = taskImportService.importTasks(userId, dataFormat, body, importId);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Get the progress of a task import
+     * GET /api/tasks/import/{importId}
+     * 
+     * @param importId the import ID
+     * @param token the JWT token
+     * @return the current import state
+     */
+    @GetMapping("/import/{importId}")
+    public ResponseEntity<TaskImportResponse> getImportProgress(
+            @PathVariable String importId,
+            @RequestHeader("Authorization") String token) {
+        
+        Long userId = getUserIdFromToken(token);
+        TaskImportResponse response = taskImportService.getImportProgress(importId, userId);
+        
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Get a task by ID
      * Requirement 5.1
      * 
      * @param id the task ID
+     * @param fields optional comma-separated fields to return (sparse fieldset)
      * @param token the JWT token
      * @return the task
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponse> getTaskById(
+    public ResponseEntity<?> getTaskById(
             @PathVariable Long id,
+            @RequestParam(required = false) String fields,
             @RequestHeader("Authorization") String token) {
         
         Long userId = getUserIdFromToken(token);
+        
+        if (fields != null && !fields.trim().isEmpty()) {
+            return ResponseEntity.ok(taskService.getTaskFieldsById(id, userId, fields));
+        }
+        
         TaskResponse response = taskService.getTaskById(id, userId);
         
         return ResponseEntity.ok(response);
@@ -143,6 +354,27 @@ public class TaskController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Move a task within the manual order of its list (drag and drop)
+     * PUT /api/tasks/{id}/position
+     * 
+     * @param id the task ID
+     * @param moveRequest the tasks that will be above and below it
+     * @param token the JWT token
+     * @return the moved task with its new order key
+     */
+    @PutMapping("/{id}/position")
+    public ResponseEntity<TaskResponse> moveTask(
+            @PathVariable Long id,
+            @RequestBody TaskMoveRequest moveRequest,
+            @RequestHeader("Authorization") String token) {
+        
+        Long userId = getUserIdFromToken(token);
+        TaskResponse response = taskService.moveTask(id, moveRequest, userId);
+        
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Delete a task
      * Requirement 7.1
@@ -0,0 +1,39 @@
+package com.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * DTO for everything the frontend needs for its first paint
+ * A part that was not ready within the deadline is null and named in
+ * unavailable; the client loads it from its own endpoint.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BootstrapResponse {
+    
+    /**
+     * Dashboard statistics, as returned by /api/statistics/dashboard
+     */
+    private DashboardStatsResponse stats;
+    
+    /**
+     * The user's lists with task counts, as returned by /api/lists
+     */
+    private List<TaskListResponse> lists;
+    
+    /**
+     * First page of tasks, newest first, as returned by /api/tasks
+     */
+    private Page<TaskResponse> tasks;
+    
+    /**
+     * Names of the parts that missed the deadline (stats, lists, tasks)
+     */
+    private List<String> unavailable;
+}
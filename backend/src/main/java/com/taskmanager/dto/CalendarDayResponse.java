@@ -0,0 +1,29 @@
+package com.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for one day of the task calendar
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarDayResponse {
+    
+    private LocalDate date;
+    
+    /**
+     * Number of tasks due on the day, including those not in tasks
+     */
+    private long count;
+    
+    /**
+     * The first tasks of the day by priority
+     */
+    private List<TaskResponse> tasks;
+}
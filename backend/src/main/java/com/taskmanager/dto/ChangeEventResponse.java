@@ -0,0 +1,26 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.event.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a change pushed over the change stream
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEventResponse {
+    
+    private ChangeType type;
+    
+    /**
+     * ID of the changed task or list; null for bulk changes and resets
+     */
+    private Long entityId;
+    
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,53 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.exception.ValidationException;
+
+/**
+ * Row-oriented file formats supported for bulk task transfer
+ */
+public enum DataFormat {
+
+    /**
+     * Newline-delimited JSON, one task object per line
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma-separated values with a header row
+     */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    DataFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Parse a format name from a request parameter (case-insensitive)
+     *
+     * @param value the format name
+     * @return the matching format
+     * @throws ValidationException if the format is not supported
+     */
+    public static DataFormat fromString(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return NDJSON;
+        }
+        try {
+            return DataFormat.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("不支持的数据格式: " + value);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO describing why a single import row was rejected
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+    
+    /**
+     * 1-based data row number (header line excluded)
+     */
+    private long row;
+    
+    private String message;
+}
@@ -0,0 +1,46 @@
+package com.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one batch of changes returned by delta sync
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+    
+    /**
+     * Lists created or updated since the cursor
+     */
+    private List<TaskListResponse> lists;
+    
+    /**
+     * Tasks created or updated since the cursor
+     */
+    private List<TaskResponse> tasks;
+    
+    /**
+     * IDs of lists deleted since the cursor
+     */
+    private List<Long> deletedListIds;
+    
+    /**
+     * IDs of tasks deleted since the cursor
+     */
+    private List<Long> deletedTaskIds;
+    
+    /**
+     * Opaque position to send as cursor with the next sync request
+     */
+    private String cursor;
+    
+    /**
+     * Whether more changes are waiting; if so, sync again right away
+     */
+    private boolean hasMore;
+}
@@ -0,0 +1,26 @@
+package com.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a multi-get of tasks by ID
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResponse {
+    
+    /**
+     * Found tasks, in the order their IDs were requested
+     */
+    private List<TaskResponse> tasks;
+    
+    /**
+     * Requested IDs that do not exist or belong to another user
+     */
+    private List<Long> missingIds;
+}
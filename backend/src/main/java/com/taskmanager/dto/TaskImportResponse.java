@@ -0,0 +1,41 @@
+package com.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for task import progress and result
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportResponse {
+    
+    private String importId;
+    
+    /**
+     * RUNNING, MERGING, COMPLETED or FAILED
+     */
+    private String status;
+    
+    private long processedRows;
+    
+    private long importedRows;
+    
+    private long failedRows;
+    
+    /**
+     * Row errors, capped to keep the response bounded
+     */
+    private List<ImportRowError> errors;
+    
+    private boolean errorsTruncated;
+    
+    private LocalDateTime startedAt;
+    
+    private LocalDateTime finishedAt;
+}
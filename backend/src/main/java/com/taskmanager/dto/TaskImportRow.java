@@ -0,0 +1,61 @@
+package com.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO for a single raw row of a task import file
+ * Values are kept as strings so every row can be validated individually
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportRow {
+    
+    private String title;
+    private String description;
+    private String status;
+    private String priority;
+    private String dueDate;
+    private String listName;
+    
+    /**
+     * ID of the task in the exported file; only used to link occurrences to their series
+     */
+    private String id;
+    
+    private String recurrenceFrequency;
+    private String recurrenceInterval;
+    private String recurrenceUntil;
+    
+    /**
+     * ID of the series in the exported file
+     */
+    private String seriesId;
+    
+    private String occurrenceDate;
+    
+    /**
+     * Constructor for rows without series data
+     */
+    public TaskImportRow(String title, String description, String status, String priority,
+                         String dueDate, String listName) {
+        this(title, description, status, priority, dueDate, listName, null, null, null, null, null, null);
+    }
+    
+    /**
+     * Read the nested recurrence object of an exported JSON row
+     */
+    @JsonProperty("recurrence")
+    public void setRecurrence(Map<String, String> recurrence) {
+        if (recurrence != null) {
+            this.recurrenceFrequency = recurrence.get("frequency");
+            this.recurrenceInterval = recurrence.get("interval");
+            this.recurrenceUntil = recurrence.get("until");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for moving a task within the manual order of its list
+ * The task is placed between the two neighbours; omit afterId to move it
+ * to the top and beforeId to move it to the bottom.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskMoveRequest {
+    
+    /**
+     * Task that will be directly above the moved task
+     */
+    private Long afterId;
+    
+    /**
+     * Task that will be directly below the moved task
+     */
+    private Long beforeId;
+}
@@ -1,7 +1,9 @@
 package com.taskmanager.dto;
 
+import com.taskmanager.model.Recurrence;
 import com.taskmanager.model.TaskPriority;
 import com.taskmanager.model.TaskStatus;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -32,4 +34,18 @@ public class TaskRequest {
     private LocalDate dueDate;
     
     private Long listId;
+    
+    /**
+     * Recurrence rule; makes the task a recurring series starting on its due date
+     */
+    @Valid
+    private Recurrence recurrence;
+    
+    /**
+     * Constructor for a task that does not recur
+     */
+    public TaskRequest(String title, String description, TaskStatus status, TaskPriority priority,
+                       LocalDate dueDate, Long listId) {
+        this(title, description, status, priority, dueDate, listId, null);
+    }
 }
@@ -1,5 +1,8 @@
 package com.taskmanager.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.taskmanager.model.Recurrence;
+import com.taskmanager.model.RecurrenceFrequency;
 import com.taskmanager.model.TaskPriority;
 import com.taskmanager.model.TaskStatus;
 import lombok.AllArgsConstructor;
@@ -28,4 +31,44 @@ public class TaskResponse {
     private String listName;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    
+    /**
+     * Recurrence rule of a series task
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Recurrence recurrence;
+    
+    /**
+     * Series of an occurrence
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long seriesId;
+    
+    /**
+     * Date of an occurrence; virtual occurrences have no ID
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDate occurrenceDate;
+    
+    /**
+     * Manual order key within the list; ascending keys give the order
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String rankKey;
+    
+    /**
+     * Constructor for flat projections (JPQL, native SQL and R2DBC rows)
+     * The recurrence columns are given one by one; the rule is only set on a
+     * series, whose frequency is not null.
+     */
+    public TaskResponse(Long id, String title, String description, TaskStatus status, TaskPriority priority,
+                        LocalDate dueDate, Long userId, Long listId, String listName,
+                        LocalDateTime createdAt, LocalDateTime updatedAt,
+                        RecurrenceFrequency recurrenceFrequency, Integer recurrenceInterval,
+                        LocalDate recurrenceUntil, Long seriesId, LocalDate occurrenceDate, String rankKey) {
+        this(id, title, description, status, priority, dueDate, userId, listId, listName, createdAt, updatedAt,
+            recurrenceFrequency == null ? null
+                : new Recurrence(recurrenceFrequency, recurrenceInterval, recurrenceUntil),
+            seriesId, occurrenceDate, rankKey);
+    }
 }
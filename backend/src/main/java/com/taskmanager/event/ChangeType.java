@@ -0,0 +1,19 @@
+package com.taskmanager.event;
+
+/**
+ * Kinds of user data changes pushed to clients
+ */
+public enum ChangeType {
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_DELETED,
+    TASKS_IMPORTED,
+    LIST_CREATED,
+    LIST_UPDATED,
+    LIST_DELETED,
+    
+    /**
+     * Events were missed (buffer overrun or server restart); reload everything
+     */
+    RESET
+}
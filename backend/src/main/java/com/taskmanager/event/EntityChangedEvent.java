@@ -0,0 +1,23 @@
+package com.taskmanager.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Application event published by the services for every task or list
+ * mutation. Listeners should use the after-commit phase so they only see
+ * changes that are actually persisted.
+ */
+@Getter
+@AllArgsConstructor
+public class EntityChangedEvent {
+    
+    private final Long userId;
+    
+    private final ChangeType type;
+    
+    /**
+     * ID of the changed task or list; null for bulk changes
+     */
+    private final Long entityId;
+}
@@ -0,0 +1,22 @@
+package com.taskmanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for parsing and signature verification of a JWT
+ */
+@Name("com.taskmanager.JwtVerification")
+@Label("JWT Verification")
+@Category({"Task Manager", "Security"})
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+    
+    @Label("Valid")
+    @Description("False for bad signatures, malformed or expired tokens")
+    public boolean valid;
+}
@@ -0,0 +1,27 @@
+package com.taskmanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for BCrypt work during registration and login
+ */
+@Name("com.taskmanager.PasswordHash")
+@Label("Password Hash")
+@Category({"Task Manager", "Security"})
+@Description("BCrypt hashing or verification of a password")
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+    
+    @Label("Operation")
+    @Description("encode or matches")
+    public String operation;
+    
+    @Label("User ID")
+    @Description("User whose password is checked, 0 when not known yet")
+    public long userId;
+}
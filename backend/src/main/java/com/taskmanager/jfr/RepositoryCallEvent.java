@@ -0,0 +1,40 @@
+package com.taskmanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one Spring Data repository call
+ */
+@Name("com.taskmanager.RepositoryCall")
+@Label("Repository Call")
+@Category({"Task Manager", "Database"})
+@Description("One call of a Spring Data repository method")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+    
+    @Label("Repository")
+    public String repository;
+    
+    @Label("Method")
+    public String method;
+    
+    @Label("SQL Statements")
+    @Description("Statements prepared by Hibernate during the call")
+    public long sqlStatements;
+    
+    @Label("Rows")
+    @Description("Entities or rows returned, -1 if not countable (streams, scalars)")
+    public long rows;
+    
+    @Label("User ID")
+    @Description("Authenticated user of the current request, 0 if none")
+    public long userId;
+    
+    @Label("Failed")
+    public boolean failed;
+}
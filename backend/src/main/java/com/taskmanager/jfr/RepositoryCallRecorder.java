@@ -0,0 +1,103 @@
+package com.taskmanager.jfr;
+
+import com.taskmanager.metrics.SqlStatementCounter;
+import com.taskmanager.security.JwtAuthenticationFilter;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Emits a JFR RepositoryCallEvent for every Spring Data repository call
+ * Does nothing beyond one enabled check while no recording has the event on.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryCallRecorder {
+    
+    private final SqlStatementCounter counter;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+    
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        
+        long statementsBefore = counter.current();
+        Object result = null;
+        boolean failed = true;
+        event.begin();
+        try {
+            result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repositoryName(joinPoint.getTarget());
+                event.method = joinPoint.getSignature().getName();
+                event.sqlStatements = counter.current() - statementsBefore;
+                event.rows = failed ? -1 : rows(result);
+                event.userId = currentUserId();
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+    
+    /**
+     * Name of the application repository interface behind a proxy
+     */
+    private String repositoryName(Object target) {
+        return repositoryNames.computeIfAbsent(target.getClass(), type -> {
+            for (Class<?> candidate : AopProxyUtils.proxiedUserInterfaces(target)) {
+                if (candidate.getName().startsWith("com.taskmanager.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+    
+    private static long rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result == null) {
+            return 0;
+        }
+        if (result.getClass().getName().startsWith("com.taskmanager.model.")) {
+            return 1;
+        }
+        // Streams are consumed later; scalars (counts, booleans) are not rows
+        return -1;
+    }
+    
+    private static long currentUserId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return 0;
+        }
+        Object userId = attributes.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return userId != null ? (Long) userId : 0;
+    }
+}
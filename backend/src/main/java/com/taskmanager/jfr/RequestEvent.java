@@ -0,0 +1,36 @@
+package com.taskmanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the handling of one HTTP request
+ */
+@Name("com.taskmanager.Request")
+@Label("HTTP Request")
+@Category({"Task Manager", "Web"})
+@Description("Handling of one HTTP request, including authentication")
+@StackTrace(false)
+public class RequestEvent extends Event {
+    
+    @Label("Method")
+    public String method;
+    
+    @Label("URI Template")
+    public String uri;
+    
+    @Label("Status")
+    public int status;
+    
+    @Label("User ID")
+    @Description("Authenticated user, 0 if anonymous")
+    public long userId;
+    
+    @Label("SQL Statements")
+    @Description("Statements prepared by Hibernate on the request thread")
+    public long sqlStatements;
+}
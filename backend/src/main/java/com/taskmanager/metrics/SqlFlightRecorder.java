@@ -0,0 +1,206 @@
+package com.taskmanager.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL statements of the current request in a per-thread ring buffer
+ * Registered as a listener on the DataSource proxy (see SqlFlightRecorderConfig),
+ * so statements from JPA, JdbcTemplate and the change sequence are all seen.
+ * Only threads between start() and stop() record anything; the buffer of a
+ * thread is allocated once and reused, and a statement costs a few field
+ * writes. The caller decides after stop() whether the recording is worth
+ * logging.
+ *
+ * Rows are the rows read from the result set, or the update count.
+ */
+@Component
+public class SqlFlightRecorder implements QueryExecutionListener, MethodExecutionListener {
+    
+    private final int capacity;
+    private final ThreadLocal<Recording> recordings;
+    
+    public SqlFlightRecorder(@Value("${sql-flight-recorder.statements:100}") int capacity) {
+        this.capacity = capacity;
+        this.recordings = ThreadLocal.withInitial(() -> new Recording(this.capacity));
+    }
+    
+    /**
+     * Start recording the statements of the current thread
+     */
+    public void start() {
+        recordings.get().reset(System.nanoTime());
+    }
+    
+    /**
+     * Stop recording on the current thread
+     * The returned recording is reused by the next start() on this thread,
+     * so it must be read before the thread handles another request.
+     *
+     * @return the statements since start()
+     */
+    public Recording stop() {
+        Recording recording = recordings.get();
+        recording.active = false;
+        return recording;
+    }
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Recording recording = recordings.get();
+        if (recording.active) {
+            recording.pendingStart = System.nanoTime();
+        }
+    }
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Recording recording = recordings.get();
+        if (!recording.active) {
+            return;
+        }
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        if (execInfo.isBatch()) {
+            sql = "/* batch of " + execInfo.getBatchSize() + " */ " + sql;
+        }
+        recording.add(sql, System.nanoTime() - recording.pendingStart, updateCount(execInfo.getResult()),
+            !execInfo.isSuccess());
+    }
+    
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+    
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && executionContext.getMethod().getName().equals("next")) {
+            Recording recording = recordings.get();
+            if (recording.active) {
+                recording.rowRead();
+            }
+        }
+    }
+    
+    private static long updateCount(Object result) {
+        if (result instanceof Integer count) {
+            return count;
+        }
+        if (result instanceof Long count) {
+            return count;
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(0, count);
+            }
+            return total;
+        }
+        return 0;
+    }
+    
+    /**
+     * One statement of a recording
+     *
+     * @param offsetNanos start of the statement since the start of the recording
+     * @param durationNanos execution time of the statement
+     * @param rows rows read or updated
+     * @param failed whether the statement threw
+     * @param sql the statement
+     */
+    public record Statement(long offsetNanos, long durationNanos, long rows, boolean failed, String sql) {
+    }
+    
+    /**
+     * Ring buffer of the most recent statements of one thread
+     */
+    public static final class Recording {
+        
+        private final String[] sql;
+        private final long[] offsets;
+        private final long[] durations;
+        private final long[] rows;
+        private final boolean[] failed;
+        private long startNanos;
+        private long pendingStart;
+        private long count;
+        private long totalNanos;
+        private boolean active;
+        
+        private Recording(int capacity) {
+            this.sql = new String[capacity];
+            this.offsets = new long[capacity];
+            this.durations = new long[capacity];
+            this.rows = new long[capacity];
+            this.failed = new boolean[capacity];
+        }
+        
+        private void reset(long now) {
+            startNanos = now;
+            count = 0;
+            totalNanos = 0;
+            active = true;
+        }
+        
+        private void add(String statement, long duration, long updated, boolean error) {
+            int slot = (int) (count % sql.length);
+            sql[slot] = statement;
+            offsets[slot] = pendingStart - startNanos;
+            durations[slot] = duration;
+            rows[slot] = updated;
+            failed[slot] = error;
+            count++;
+            totalNanos += duration;
+        }
+        
+        private void rowRead() {
+            if (count > 0) {
+                rows[(int) ((count - 1) % sql.length)]++;
+            }
+        }
+        
+        /**
+         * Number of statements since start, including those no longer in the buffer
+         */
+        public long getCount() {
+            return count;
+        }
+        
+        /**
+         * Number of statements that were overwritten by later ones
+         */
+        public long getDropped() {
+            return Math.max(0, count - sql.length);
+        }
+        
+        /**
+         * Execution time of all statements since start, in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+        
+        /**
+         * The statements still in the buffer, oldest first
+         */
+        public List<Statement> getStatements() {
+            int kept = (int) Math.min(count, sql.length);
+            List<Statement> statements = new ArrayList<>(kept);
+            for (long i = count - kept; i < count; i++) {
+                int slot = (int) (i % sql.length);
+                statements.add(new Statement(offsets[slot], durations[slot], rows[slot], failed[slot], sql[slot]));
+            }
+            return statements;
+        }
+    }
+}
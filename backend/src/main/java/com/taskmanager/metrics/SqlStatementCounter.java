@@ -0,0 +1,31 @@
+package com.taskmanager.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements Hibernate prepares, per thread
+ * Registered as Hibernate's statement inspector. The count only grows;
+ * callers take the difference of current() before and after the work they
+ * measure. Statements issued through JdbcTemplate or R2DBC are not seen.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+    
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+    
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+    
+    /**
+     * Get the number of statements prepared on the current thread so far
+     * 
+     * @return the running count
+     */
+    public long current() {
+        return COUNT.get()[0];
+    }
+}
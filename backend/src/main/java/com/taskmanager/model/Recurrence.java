@@ -0,0 +1,43 @@
+package com.taskmanager.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Recurrence rule of a recurring task
+ * The task's due date is the first occurrence; further occurrences follow
+ * every interval days, weeks or months until the optional end date. Monthly
+ * occurrences on a day the month does not have fall on its last day.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Recurrence {
+    
+    @NotNull(message = "重复频率不能为空")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "recurrence_frequency", length = 20)
+    private RecurrenceFrequency frequency;
+    
+    @Min(value = 1, message = "重复间隔必须大于0")
+    @Max(value = 366, message = "重复间隔不能超过366")
+    @Column(name = "recurrence_interval")
+    private Integer interval = 1;
+    
+    /**
+     * Last day an occurrence may fall on, or null for no end
+     */
+    @Column(name = "recurrence_until")
+    private LocalDate until;
+}
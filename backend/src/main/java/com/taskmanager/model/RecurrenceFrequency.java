@@ -0,0 +1,7 @@
+package com.taskmanager.model;
+
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY
+}
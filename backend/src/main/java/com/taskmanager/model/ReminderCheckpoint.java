@@ -0,0 +1,28 @@
+package com.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Point up to which due-date reminders have been delivered
+ * Written before a batch of reminders is handed to the sinks, so after a
+ * restart nothing at or before it is delivered again.
+ */
+@Entity
+@Table(name = "reminder_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderCheckpoint {
+    
+    @Id
+    @Column(length = 50)
+    private String name;
+    
+    @Column(name = "fired_until", nullable = false)
+    private Instant firedUntil;
+}
@@ -0,0 +1,9 @@
+package com.taskmanager.model;
+
+/**
+ * Kinds of entities tracked by delta sync
+ */
+public enum SyncEntityType {
+    LIST,
+    TASK
+}
@@ -15,9 +15,15 @@ import java.time.LocalDateTime;
 @Table(name = "tasks", indexes = {
     @Index(name = "idx_tasks_user_id", columnList = "user_id"),
     @Index(name = "idx_tasks_list_id", columnList = "list_id"),
+    @Index(name = "idx_tasks_list_rank", columnList = "list_id, rank_key, id"),
     @Index(name = "idx_tasks_status", columnList = "status"),
     @Index(name = "idx_tasks_priority", columnList = "priority"),
-    @Index(name = "idx_tasks_due_date", columnList = "due_date")
+    @Index(name = "idx_tasks_due_date", columnList = "due_date"),
+    @Index(name = "idx_tasks_user_due_date", columnList = "user_id, due_date"),
+    @Index(name = "idx_tasks_user_change_seq", columnList = "user_id, change_seq, id"),
+    @Index(name = "idx_tasks_user_recurrence", columnList = "user_id, recurrence_frequency")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_tasks_series_occurrence", columnNames = {"series_id", "occurrence_date"})
 })
 @Data
 @NoArgsConstructor
@@ -54,6 +60,35 @@ public class Task {
     @JoinColumn(name = "list_id", nullable = false)
     private TaskList taskList;
     
+    /**
+     * Manual order within the list (fractional index, see TaskRankKeys)
+     * Compared bytewise; null until TaskRankRebalancer assigns one, which
+     * sorts last.
+     */
+    @Column(name = "rank_key", columnDefinition = "VARCHAR(255) COLLATE \"C\"")
+    private String rankKey;
+    
+    /**
+     * Recurrence rule; set only on the series task, whose due date is the first occurrence
+     */
+    @Embedded
+    private Recurrence recurrence;
+    
+    /**
+     * Series this task is a materialized occurrence of
+     * Occurrences are expanded from the series when a date window is read and
+     * only stored once they are completed or edited.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_id")
+    private Task series;
+    
+    /**
+     * Date of the occurrence this task materializes (its due date may have been moved)
+     */
+    @Column(name = "occurrence_date")
+    private LocalDate occurrenceDate;
+    
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -61,4 +96,10 @@ public class Task {
     @LastModifiedDate
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
+    
+    /**
+     * Position of the last change in the owner's change sequence (delta sync)
+     */
+    @Column(name = "change_seq", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long changeSeq = 0L;
 }
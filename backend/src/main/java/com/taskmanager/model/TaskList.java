@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -12,11 +14,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "task_lists")
+@Table(name = "task_lists", indexes = {
+    @Index(name = "idx_task_lists_user_change_seq", columnList = "user_id, change_seq, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class TaskList {
     
     @Id
@@ -37,6 +43,12 @@ public class TaskList {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
+    /**
+     * Position of the last change in the owner's change sequence (delta sync)
+     */
+    @Column(name = "change_seq", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long changeSeq = 0L;
+    
     @OneToMany(mappedBy = "taskList", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Task> tasks = new ArrayList<>();
 }
@@ -0,0 +1,210 @@
+package com.taskmanager.reminder;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel (Varghese and Lauck, as in the classic Linux timer wheel)
+ *
+ * Time is counted in ticks. Level 0 has one slot per tick; every slot of
+ * level n spans all of level n-1. A timer is linked into the slot of the
+ * lowest level whose range covers it, and timers of a higher-level slot are
+ * cascaded one level down when the lower level wraps around to that slot.
+ * Scheduling and cancelling are O(1), and advancing costs O(1) per tick plus
+ * the expired and cascaded timers.
+ *
+ * Not thread-safe; the owner confines it to one thread.
+ *
+ * @param <T> the payload of a timer
+ */
+public final class HierarchicalTimingWheel<T> {
+    
+    private final int bits;
+    private final int mask;
+    private final long range;
+    private final Timer<T>[][] slots;
+    
+    /**
+     * The next tick to expire; every tick before it has been processed
+     */
+    private long nextTick;
+    private int size;
+    
+    /**
+     * Create a wheel
+     *
+     * @param levels number of levels, at least 2: timers beyond the range are
+     *               parked on the top level and placed again when it cascades
+     * @param bitsPerLevel log2 of the number of slots per level
+     * @param startTick the first tick to expire
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(int levels, int bitsPerLevel, long startTick) {
+        if (levels < 2 || bitsPerLevel < 1 || (long) levels * bitsPerLevel > 62) {
+            throw new IllegalArgumentException("Invalid wheel dimensions");
+        }
+        this.bits = bitsPerLevel;
+        this.mask = (1 << bitsPerLevel) - 1;
+        this.range = 1L << (levels * bitsPerLevel);
+        this.slots = new Timer[levels][1 << bitsPerLevel];
+        for (Timer<T>[] level : slots) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = Timer.sentinel();
+            }
+        }
+        this.nextTick = startTick;
+    }
+    
+    /**
+     * Schedule a payload
+     * A tick that has already been processed expires on the next advance.
+     *
+     * @param tick the tick to expire at
+     * @param payload the payload
+     * @return the timer, for cancelling
+     */
+    public Timer<T> schedule(long tick, T payload) {
+        Timer<T> timer = new Timer<>(tick, payload);
+        insert(timer);
+        size++;
+        return timer;
+    }
+    
+    /**
+     * Cancel a timer
+     *
+     * @param timer the timer
+     * @return false if it had already expired or been cancelled
+     */
+    public boolean cancel(Timer<T> timer) {
+        if (timer.prev == null) {
+            return false;
+        }
+        timer.unlink();
+        size--;
+        return true;
+    }
+    
+    /**
+     * Process every tick up to and including the given one
+     *
+     * @param tick the current tick
+     * @param expired receives the payloads of expired timers, in tick order
+     */
+    public void advance(long tick, Consumer<T> expired) {
+        while (nextTick <= tick) {
+            int index = (int) (nextTick & mask);
+            if (index == 0) {
+                for (int level = 1; level < slots.length; level++) {
+                    int cascaded = (int) ((nextTick >>> (bits * level)) & mask);
+                    cascade(slots[level][cascaded]);
+                    if (cascaded != 0) {
+                        break;
+                    }
+                }
+            }
+            nextTick++;
+            Timer<T> head = slots[0][index];
+            while (head.next != head) {
+                Timer<T> timer = head.next;
+                timer.unlink();
+                size--;
+                expired.accept(timer.payload);
+            }
+        }
+    }
+    
+    /**
+     * The next tick to expire
+     */
+    public long nextTick() {
+        return nextTick;
+    }
+    
+    /**
+     * Number of pending timers
+     */
+    public int size() {
+        return size;
+    }
+    
+    private void insert(Timer<T> timer) {
+        long delta = timer.tick - nextTick;
+        if (delta < 0) {
+            timer.linkBefore(slots[0][(int) (nextTick & mask)]);
+            return;
+        }
+        // Beyond the range of the wheel: park in the farthest slot, the timer
+        // is placed again by its real tick when that slot is cascaded
+        long placement = delta < range ? timer.tick : nextTick + range - 1;
+        delta = placement - nextTick;
+        int level = 0;
+        while (level < slots.length - 1 && delta >= 1L << (bits * (level + 1))) {
+            level++;
+        }
+        timer.linkBefore(slots[level][(int) ((placement >>> (bits * level)) & mask)]);
+    }
+    
+    private void cascade(Timer<T> head) {
+        Timer<T> timer = head.next;
+        head.next = head;
+        head.prev = head;
+        while (timer != head) {
+            Timer<T> next = timer.next;
+            insert(timer);
+            timer = next;
+        }
+    }
+    
+    /**
+     * A scheduled payload; an entry of the doubly linked list of its slot
+     *
+     * @param <T> the payload type
+     */
+    public static final class Timer<T> {
+        
+        private final long tick;
+        private final T payload;
+        private Timer<T> prev;
+        private Timer<T> next;
+        
+        private Timer(long tick, T payload) {
+            this.tick = tick;
+            this.payload = payload;
+        }
+        
+        private static <T> Timer<T> sentinel() {
+            Timer<T> head = new Timer<>(0, null);
+            head.prev = head;
+            head.next = head;
+            return head;
+        }
+        
+        /**
+         * The tick the timer expires at
+         */
+        public long getTick() {
+            return tick;
+        }
+        
+        /**
+         * The scheduled payload
+         */
+        public T getPayload() {
+            return payload;
+        }
+        
+        private void linkBefore(Timer<T> head) {
+            prev = head.prev;
+            next = head;
+            head.prev.next = this;
+            head.prev = this;
+        }
+        
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+    }
+}
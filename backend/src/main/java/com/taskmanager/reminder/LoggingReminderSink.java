@@ -0,0 +1,20 @@
+package com.taskmanager.reminder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes every reminder to the com.taskmanager.reminder.LoggingReminderSink logger
+ */
+@Component
+@ConditionalOnProperty(name = "reminders.log-sink.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class LoggingReminderSink implements ReminderSink {
+    
+    @Override
+    public void remind(Reminder reminder) {
+        log.info("Reminder for user {}: task {}{} is due {}", reminder.userId(), reminder.taskId(),
+            reminder.occurrence() ? " (recurring)" : "", reminder.dueDate());
+    }
+}
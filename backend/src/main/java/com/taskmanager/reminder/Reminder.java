@@ -0,0 +1,14 @@
+package com.taskmanager.reminder;
+
+import java.time.LocalDate;
+
+/**
+ * A due-date reminder handed to the ReminderSinks
+ *
+ * @param userId owner of the task
+ * @param taskId the task, or the recurring series for an occurrence
+ * @param dueDate the due date, or the occurrence date
+ * @param occurrence whether this is a virtual occurrence of the series taskId
+ */
+public record Reminder(Long userId, Long taskId, LocalDate dueDate, boolean occurrence) {
+}
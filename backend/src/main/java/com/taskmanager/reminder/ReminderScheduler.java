@@ -0,0 +1,410 @@
+package com.taskmanager.reminder;
+
+import com.taskmanager.event.ChangeType;
+import com.taskmanager.event.EntityChangedEvent;
+import com.taskmanager.model.Recurrence;
+import com.taskmanager.model.ReminderCheckpoint;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.repository.ReminderCheckpointRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.service.RecurrenceExpander;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Fires due-date reminders from an in-memory hierarchical timing wheel
+ *
+ * A reminder fires at reminders.time-of-day on the due date of every open
+ * task, and on every date of an open recurring series. Only the next
+ * reminders.horizon-days days are held in memory; each day the next one is
+ * loaded with a windowed query on the due date. TaskService reports its
+ * creates, updates and deletes after commit, so the wheel stays current
+ * without polling the tasks table.
+ *
+ * The wheel, its index and the delivery checkpoint belong to the single
+ * reminder thread; other threads only queue changes for it. Delivery is at
+ * most once: the checkpoint is saved before a batch of reminders is handed
+ * to the ReminderSinks, and after a restart only reminders after it (and at
+ * most reminders.catch-up in the past) are loaded again. The scheduler
+ * assumes it runs on one instance; set reminders.enabled=false on others.
+ */
+@Component
+@Slf4j
+public class ReminderScheduler {
+    
+    private static final String CHECKPOINT = "due-date";
+    private static final int LEVELS = 4;
+    private static final int BITS_PER_LEVEL = 8;
+    
+    private final TaskRepository taskRepository;
+    private final ReminderCheckpointRepository checkpointRepository;
+    private final List<ReminderSink> sinks;
+    private final TransactionTemplate readTransaction;
+    private final boolean enabled;
+    private final LocalTime timeOfDay;
+    private final int horizonDays;
+    private final long tickMillis;
+    private final long catchUpMillis;
+    private final long checkpointIntervalMillis;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Counter firedCounter;
+    
+    /**
+     * Changes queued by other threads, applied by the reminder thread before each tick
+     */
+    private final Queue<Runnable> changes = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reminder-wheel");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // Confined to the reminder thread
+    private HierarchicalTimingWheel<Reminder> wheel;
+    private final Map<Key, HierarchicalTimingWheel.Timer<Reminder>> pending = new HashMap<>();
+    private long firedUntil;
+    private long checkpointedAt;
+    private LocalDate loadedUntil;
+    
+    private volatile int pendingCount;
+    
+    public ReminderScheduler(
+            TaskRepository taskRepository,
+            ReminderCheckpointRepository checkpointRepository,
+            List<ReminderSink> sinks,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${reminders.enabled:true}") boolean enabled,
+            @Value("${reminders.time-of-day:09:00}") String timeOfDay,
+            @Value("${reminders.horizon-days:7}") int horizonDays,
+            @Value("${reminders.tick:1s}") Duration tick,
+            @Value("${reminders.catch-up:6h}") Duration catchUp,
+            @Value("${reminders.checkpoint-interval:1m}") Duration checkpointInterval) {
+        this.taskRepository = taskRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.sinks = sinks;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.timeOfDay = LocalTime.parse(timeOfDay);
+        this.horizonDays = horizonDays;
+        this.tickMillis = tick.toMillis();
+        this.catchUpMillis = catchUp.toMillis();
+        this.checkpointIntervalMillis = checkpointInterval.toMillis();
+        this.firedCounter = meterRegistry.counter("taskmanager.reminders.fired");
+        Gauge.builder("taskmanager.reminders.pending", this, scheduler -> scheduler.pendingCount)
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Load the pending reminders and start the wheel once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        executor.execute(this::recover);
+        executor.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Schedule, move or cancel the reminders of a created or updated task
+     * Call inside the writing transaction; the change is applied after commit.
+     *
+     * @param task the saved task
+     */
+    public void taskSaved(Task task) {
+        if (!enabled) {
+            return;
+        }
+        Long taskId = task.getId();
+        Long userId = task.getUser().getId();
+        boolean open = task.getStatus() != TaskStatus.COMPLETED;
+        
+        if (task.getRecurrence() != null) {
+            RecurrenceExpander expander = open ? new RecurrenceExpander(task.getRecurrence(), task.getDueDate()) : null;
+            Set<LocalDate> materialized = open
+                ? new HashSet<>(taskRepository.findOccurrenceDatesBySeriesId(taskId))
+                : Set.of();
+            afterCommit(() -> rescheduleSeries(taskId, userId, expander, materialized));
+            return;
+        }
+        
+        LocalDate dueDate = open ? task.getDueDate() : null;
+        Key occurrence = task.getSeries() != null ? new Key(task.getSeries().getId(), task.getOccurrenceDate()) : null;
+        afterCommit(() -> {
+            // A materialized occurrence replaces the reminder of its series for that date
+            if (occurrence != null) {
+                cancel(occurrence);
+            }
+            cancel(new Key(taskId, null));
+            if (dueDate != null && !dueDate.isAfter(loadedUntil)) {
+                add(new Reminder(userId, taskId, dueDate, false));
+            }
+        });
+    }
+    
+    /**
+     * Cancel the reminders of a deleted task
+     * Call inside the deleting transaction, after the delete.
+     *
+     * @param task the deleted task
+     */
+    public void taskDeleted(Task task) {
+        if (!enabled) {
+            return;
+        }
+        Long taskId = task.getId();
+        boolean series = task.getRecurrence() != null;
+        afterCommit(() -> {
+            cancel(new Key(taskId, null));
+            if (series) {
+                cancelSeries(taskId);
+            }
+        });
+        // The virtual occurrence of a deleted materialized one is back
+        if (task.getSeries() != null) {
+            taskSaved(task.getSeries());
+        }
+    }
+    
+    /**
+     * Load the reminders of imported tasks
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (enabled && event.getType() == ChangeType.TASKS_IMPORTED) {
+            Long userId = event.getUserId();
+            changes.add(() -> readTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = taskRepository.streamOpenDueBetweenByUserId(
+                        userId, dateOf(firedUntil), loadedUntil, TaskStatus.COMPLETED)) {
+                    rows.forEach(row -> add(new Reminder((Long) row[1], (Long) row[0], (LocalDate) row[2], false)));
+                }
+            }));
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        if (executor.awaitTermination(5, TimeUnit.SECONDS) && wheel != null) {
+            saveCheckpoint(firedUntil);
+        }
+    }
+    
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changes.add(change);
+                }
+            });
+        } else {
+            changes.add(change);
+        }
+    }
+    
+    /**
+     * Build the wheel from the checkpoint and the tasks due up to the horizon
+     */
+    private void recover() {
+        try {
+            long now = System.currentTimeMillis();
+            long checkpoint = checkpointRepository.findById(CHECKPOINT)
+                .map(saved -> saved.getFiredUntil().toEpochMilli())
+                .orElse(now);
+            firedUntil = Math.max(checkpoint, now - catchUpMillis);
+            checkpointedAt = now;
+            LocalDate from = dateOf(firedUntil);
+            LocalDate to = LocalDate.now(zone).plusDays(horizonDays);
+            
+            wheel = new HierarchicalTimingWheel<>(LEVELS, BITS_PER_LEVEL, firedUntil / tickMillis + 1);
+            load(from, to);
+            loadedUntil = to;
+            pendingCount = wheel.size();
+            log.info("Loaded {} reminders due from {} to {}", wheel.size(), from, to);
+        } catch (RuntimeException e) {
+            wheel = null;
+            pending.clear();
+            log.error("Could not load reminders, retrying on the next tick", e);
+        }
+    }
+    
+    private void tick() {
+        try {
+            if (wheel == null) {
+                recover();
+                if (wheel == null) {
+                    return;
+                }
+            }
+            Runnable change;
+            while ((change = changes.poll()) != null) {
+                change.run();
+            }
+            LocalDate horizon = LocalDate.now(zone).plusDays(horizonDays);
+            if (horizon.isAfter(loadedUntil)) {
+                load(loadedUntil.plusDays(1), horizon);
+                loadedUntil = horizon;
+            }
+            
+            long now = System.currentTimeMillis();
+            long tick = now / tickMillis;
+            List<Reminder> due = new ArrayList<>();
+            wheel.advance(tick, reminder -> {
+                pending.remove(key(reminder));
+                due.add(reminder);
+            });
+            firedUntil = (tick + 1) * tickMillis - 1;
+            pendingCount = wheel.size();
+            
+            // Save before delivering: a crash may lose this batch but never repeats it
+            if (!due.isEmpty() || now - checkpointedAt >= checkpointIntervalMillis) {
+                saveCheckpoint(firedUntil);
+                checkpointedAt = now;
+            }
+            for (Reminder reminder : due) {
+                deliver(reminder);
+            }
+        } catch (RuntimeException e) {
+            log.error("Reminder tick failed", e);
+        }
+    }
+    
+    /**
+     * Add the reminders of open tasks and series occurrences due in a date window
+     */
+    private void load(LocalDate from, LocalDate to) {
+        readTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = taskRepository.streamOpenDueBetween(from, to, TaskStatus.COMPLETED)) {
+                rows.forEach(row -> add(new Reminder((Long) row[1], (Long) row[0], (LocalDate) row[2], false)));
+            }
+            
+            Map<Long, Set<LocalDate>> materialized = new HashMap<>();
+            try (Stream<Object[]> rows = taskRepository.streamOccurrenceDatesBetween(from, to)) {
+                rows.forEach(row -> materialized.computeIfAbsent((Long) row[0], id -> new HashSet<>())
+                    .add((LocalDate) row[1]));
+            }
+            try (Stream<Object[]> rows = taskRepository.streamOpenRecurringSeries(from, to, TaskStatus.COMPLETED)) {
+                rows.forEach(row -> {
+                    Long seriesId = (Long) row[0];
+                    Set<LocalDate> skip = materialized.getOrDefault(seriesId, Set.of());
+                    RecurrenceExpander expander = new RecurrenceExpander((Recurrence) row[3], (LocalDate) row[2]);
+                    for (LocalDate date : expander.dates(from, to)) {
+                        if (!skip.contains(date)) {
+                            add(new Reminder((Long) row[1], seriesId, date, true));
+                        }
+                    }
+                });
+            }
+        });
+    }
+    
+    private void rescheduleSeries(Long seriesId, Long userId, RecurrenceExpander expander,
+                                  Set<LocalDate> materialized) {
+        cancel(new Key(seriesId, null));
+        cancelSeries(seriesId);
+        if (expander == null) {
+            return;
+        }
+        for (LocalDate date : expander.dates(dateOf(firedUntil), loadedUntil)) {
+            if (!materialized.contains(date)) {
+                add(new Reminder(userId, seriesId, date, true));
+            }
+        }
+    }
+    
+    private void cancelSeries(Long seriesId) {
+        for (LocalDate date = dateOf(firedUntil); !date.isAfter(loadedUntil); date = date.plusDays(1)) {
+            cancel(new Key(seriesId, date));
+        }
+    }
+    
+    /**
+     * Schedule a reminder, replacing any pending one for the same task and date
+     * Reminders at or before the checkpoint have been delivered (or given up) already.
+     */
+    private void add(Reminder reminder) {
+        Key key = key(reminder);
+        cancel(key);
+        long fireAt = reminder.dueDate().atTime(timeOfDay).atZone(zone).toInstant().toEpochMilli();
+        if (fireAt > firedUntil) {
+            pending.put(key, wheel.schedule(fireAt / tickMillis, reminder));
+        }
+    }
+    
+    private void cancel(Key key) {
+        HierarchicalTimingWheel.Timer<Reminder> timer = pending.remove(key);
+        if (timer != null) {
+            wheel.cancel(timer);
+        }
+    }
+    
+    private void deliver(Reminder reminder) {
+        firedCounter.increment();
+        for (ReminderSink sink : sinks) {
+            try {
+                sink.remind(reminder);
+            } catch (RuntimeException e) {
+                log.warn("Reminder sink {} failed for task {}", sink.getClass().getSimpleName(), reminder.taskId(), e);
+            }
+        }
+    }
+    
+    private void saveCheckpoint(long until) {
+        try {
+            checkpointRepository.save(new ReminderCheckpoint(CHECKPOINT, Instant.ofEpochMilli(until)));
+        } catch (RuntimeException e) {
+            log.warn("Could not save the reminder checkpoint", e);
+        }
+    }
+    
+    private LocalDate dateOf(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atZone(zone).toLocalDate();
+    }
+    
+    private static Key key(Reminder reminder) {
+        return new Key(reminder.taskId(), reminder.occurrence() ? reminder.dueDate() : null);
+    }
+    
+    /**
+     * Identity of a pending reminder: a task, or one occurrence date of a series
+     */
+    private record Key(long taskId, LocalDate occurrence) {
+    }
+}
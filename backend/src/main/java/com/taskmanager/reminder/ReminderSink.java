@@ -0,0 +1,17 @@
+package com.taskmanager.reminder;
+
+/**
+ * Receives due-date reminders as they fire
+ * Every ReminderSink bean gets every reminder, on the single reminder
+ * thread, so implementations must return quickly and hand slow work off.
+ * A reminder is delivered at most once (see ReminderScheduler).
+ */
+public interface ReminderSink {
+    
+    /**
+     * Deliver a reminder
+     *
+     * @param reminder the reminder
+     */
+    void remind(Reminder reminder);
+}
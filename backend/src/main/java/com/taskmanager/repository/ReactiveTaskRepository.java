@@ -0,0 +1,219 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.DashboardStatsResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.model.Recurrence;
+import com.taskmanager.model.RecurrenceFrequency;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking task queries on R2DBC
+ * Mirrors the read queries of TaskRepository and StatisticsService; every
+ * query is restricted to the given user.
+ */
+@Repository
+@ConditionalOnProperty(name = "reactive-reads.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveTaskRepository {
+    
+    private static final String TASK_COLUMNS =
+        "SELECT t.id, t.title, t.description, t.status, t.priority, t.due_date, t.user_id, " +
+        "t.list_id, l.name AS list_name, t.created_at, t.updated_at, t.recurrence_frequency, " +
+        "t.recurrence_interval, t.recurrence_until, t.series_id, t.occurrence_date, t.rank_key " +
+        "FROM tasks t JOIN task_lists l ON l.id = t.list_id ";
+    
+    private static final String STATS_SQL =
+        "SELECT COUNT(*) AS total, " +
+        "COUNT(*) FILTER (WHERE status = 'TODO') AS todo, " +
+        "COUNT(*) FILTER (WHERE status = 'IN_PROGRESS') AS in_progress, " +
+        "COUNT(*) FILTER (WHERE status = 'COMPLETED') AS completed, " +
+        "COUNT(*) FILTER (WHERE due_date = :today AND recurrence_frequency IS NULL) AS due_today, " +
+        "COUNT(*) FILTER (WHERE due_date < :today AND status <> 'COMPLETED' " +
+        "AND recurrence_frequency IS NULL) AS overdue " +
+        "FROM tasks WHERE user_id = :userId";
+    
+    private static final String SERIES_SQL =
+        "SELECT t.recurrence_frequency, t.recurrence_interval, t.recurrence_until, t.due_date, " +
+        "(SELECT COUNT(*) FROM tasks o WHERE o.series_id = t.id AND o.occurrence_date = :today) " +
+        "AS occurrences_today, " +
+        "(SELECT COUNT(*) FROM tasks o WHERE o.series_id = t.id AND o.occurrence_date < :today) " +
+        "AS occurrences_before " +
+        "FROM tasks t WHERE t.user_id = :userId AND t.recurrence_frequency IS NOT NULL";
+    
+    private final DatabaseClient reactiveDatabaseClient;
+    
+    /**
+     * Find a page of a user's tasks, newest first
+     * Null filters are not applied.
+     * @param userId the user ID
+     * @param listId optional task list ID filter
+     * @param status optional status filter
+     * @param priority optional priority filter
+     * @param search optional title/description search term
+     * @param offset rows to skip
+     * @param limit maximum rows to return
+     * @return tasks of the page
+     */
+    public Flux<TaskResponse> findByUserId(Long userId, Long listId, TaskStatus status, TaskPriority priority,
+                                           String search, long offset, int limit) {
+        String sql = TASK_COLUMNS + where(listId, status, priority, search) +
+            " ORDER BY t.created_at DESC LIMIT :limit OFFSET :offset";
+        
+        return bindFilters(reactiveDatabaseClient.sql(sql), userId, listId, status, priority, search)
+            .bind("limit", limit)
+            .bind("offset", offset)
+            .map(ReactiveTaskRepository::mapTask)
+            .all();
+    }
+    
+    /**
+     * Count a user's tasks matching the filters
+     * @return matching task count
+     */
+    public Mono<Long> countByUserId(Long userId, Long listId, TaskStatus status, TaskPriority priority,
+                                    String search) {
+        String sql = "SELECT COUNT(*) AS total FROM tasks t " + where(listId, status, priority, search);
+        
+        return bindFilters(reactiveDatabaseClient.sql(sql), userId, listId, status, priority, search)
+            .map(row -> row.get("total", Long.class))
+            .one();
+    }
+    
+    /**
+     * Find a task by ID
+     * @param taskId the task ID
+     * @return the task, or empty if it does not exist
+     */
+    public Mono<TaskResponse> findById(Long taskId) {
+        return reactiveDatabaseClient.sql(TASK_COLUMNS + "WHERE t.id = :taskId")
+            .bind("taskId", taskId)
+            .map(ReactiveTaskRepository::mapTask)
+            .one();
+    }
+    
+    /**
+     * Compute the dashboard counts of a user in one aggregate query
+     * Recurring series are left out of the due-today and overdue counts;
+     * see findSeriesOccurrenceCounts.
+     * @param userId the user ID
+     * @param today today's date
+     * @return dashboard statistics
+     */
+    public Mono<DashboardStatsResponse> getDashboardStats(Long userId, LocalDate today) {
+        return reactiveDatabaseClient.sql(STATS_SQL)
+            .bind("userId", userId)
+            .bind("today", today)
+            .map(row -> new DashboardStatsResponse(
+                row.get("total", Long.class),
+                row.get("todo", Long.class),
+                row.get("in_progress", Long.class),
+                row.get("completed", Long.class),
+                row.get("due_today", Long.class),
+                row.get("overdue", Long.class)))
+            .one();
+    }
+    
+    /**
+     * Find the recurring series of a user with their materialized occurrences
+     * on and before a date counted, like TaskRepository.findRecurringWithOccurrenceCounts
+     * @param userId the user ID
+     * @param today today's date
+     * @return one row per series
+     */
+    public Flux<SeriesOccurrenceCounts> findSeriesOccurrenceCounts(Long userId, LocalDate today) {
+        return reactiveDatabaseClient.sql(SERIES_SQL)
+            .bind("userId", userId)
+            .bind("today", today)
+            .map(row -> new SeriesOccurrenceCounts(
+                new Recurrence(
+                    RecurrenceFrequency.valueOf(row.get("recurrence_frequency", String.class)),
+                    row.get("recurrence_interval", Integer.class),
+                    row.get("recurrence_until", LocalDate.class)),
+                row.get("due_date", LocalDate.class),
+                row.get("occurrences_today", Long.class),
+                row.get("occurrences_before", Long.class)))
+            .all();
+    }
+    
+    /**
+     * A recurring series with the counts of its materialized occurrences
+     *
+     * @param recurrence the rule of the series
+     * @param dueDate the due date of the series task, its first occurrence
+     * @param occurrencesToday materialized occurrences on the given date
+     * @param occurrencesBefore materialized occurrences before the given date
+     */
+    public record SeriesOccurrenceCounts(Recurrence recurrence, LocalDate dueDate,
+                                         long occurrencesToday, long occurrencesBefore) {
+    }
+    
+    private static String where(Long listId, TaskStatus status, TaskPriority priority, String search) {
+        StringBuilder where = new StringBuilder("WHERE t.user_id = :userId");
+        if (listId != null) {
+            where.append(" AND t.list_id = :listId");
+        }
+        if (status != null) {
+            where.append(" AND t.status = :status");
+        }
+        if (priority != null) {
+            where.append(" AND t.priority = :priority");
+        }
+        if (search != null) {
+            where.append(" AND (LOWER(t.title) LIKE :pattern OR LOWER(t.description) LIKE :pattern)");
+        }
+        return where.toString();
+    }
+    
+    private static DatabaseClient.GenericExecuteSpec bindFilters(DatabaseClient.GenericExecuteSpec spec, Long userId,
+                                                                 Long listId, TaskStatus status,
+                                                                 TaskPriority priority, String search) {
+        spec = spec.bind("userId", userId);
+        if (listId != null) {
+            spec = spec.bind("listId", listId);
+        }
+        if (status != null) {
+            spec = spec.bind("status", status.name());
+        }
+        if (priority != null) {
+            spec = spec.bind("priority", priority.name());
+        }
+        if (search != null) {
+            spec = spec.bind("pattern", "%" + search.toLowerCase() + "%");
+        }
+        return spec;
+    }
+    
+    private static TaskResponse mapTask(Readable row) {
+        String frequency = row.get("recurrence_frequency", String.class);
+        return new TaskResponse(
+            row.get("id", Long.class),
+            row.get("title", String.class),
+            row.get("description", String.class),
+            TaskStatus.valueOf(row.get("status", String.class)),
+            TaskPriority.valueOf(row.get("priority", String.class)),
+            row.get("due_date", LocalDate.class),
+            row.get("user_id", Long.class),
+            row.get("list_id", Long.class),
+            row.get("list_name", String.class),
+            row.get("created_at", LocalDateTime.class),
+            row.get("updated_at", LocalDateTime.class),
+            frequency == null ? null : RecurrenceFrequency.valueOf(frequency),
+            row.get("recurrence_interval", Integer.class),
+            row.get("recurrence_until", LocalDate.class),
+            row.get("series_id", Long.class),
+            row.get("occurrence_date", LocalDate.class),
+            row.get("rank_key", String.class)
+        );
+    }
+}
@@ -0,0 +1,9 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.ReminderCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReminderCheckpointRepository extends JpaRepository<ReminderCheckpoint, String> {
+}
@@ -0,0 +1,30 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.SyncTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+    
+    /**
+     * Find the tombstones of a user after a sync position, in sync order
+     * @param userId the user ID
+     * @param changeSeq change sequence of the position
+     * @param afterId tombstones with exactly this sequence must have a greater ID
+     * @param pageable the batch limit
+     * @return tombstones ordered by change sequence and ID
+     */
+    @Query("SELECT s FROM SyncTombstone s WHERE s.userId = :userId AND " +
+           "(s.changeSeq > :changeSeq OR (s.changeSeq = :changeSeq AND s.id > :afterId)) " +
+           "ORDER BY s.changeSeq, s.id")
+    List<SyncTombstone> findChangedSince(@Param("userId") Long userId,
+                                         @Param("changeSeq") Long changeSeq,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+}
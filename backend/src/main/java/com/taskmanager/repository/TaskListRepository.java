@@ -1,9 +1,18 @@
 package com.taskmanager.repository;
 
 import com.taskmanager.model.TaskList;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +24,7 @@ public interface TaskListRepository extends JpaRepository<TaskList, Long> {
      * @param userId the user ID
      * @return list of task lists
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TaskList> findByUserId(Long userId);
     
     /**
@@ -23,5 +33,63 @@ public interface TaskListRepository extends JpaRepository<TaskList, Long> {
      * @param isDefault true to find default list
      * @return Optional containing the default task list if found
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TaskList> findByUserIdAndIsDefault(Long userId, Boolean isDefault);
+    
+    /**
+     * Find a task list and lock its row until the end of the transaction
+     * Serializes the writers of the manual task order of the list.
+     * @param id the list ID
+     * @return Optional containing the locked task list if found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM TaskList l WHERE l.id = :id")
+    Optional<TaskList> findByIdForUpdate(@Param("id") Long id);
+    
+    /**
+     * Find a task list with the greatest manual order key of its tasks, and
+     * lock its row until the end of the transaction
+     * One statement for the ownership check, the lock and the append position.
+     * The last key is served from the end of the (list_id, rank_key, id) index.
+     * @param id the list ID
+     * @return a row of [task list, last key or null], or no row if not found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l, (SELECT MAX(t.rankKey) FROM Task t WHERE t.taskList = l) FROM TaskList l WHERE l.id = :id")
+    List<Object[]> findByIdWithLastRankKeyForUpdate(@Param("id") Long id);
+    
+    /**
+     * Find the default task list of a user with the greatest manual order key
+     * of its tasks, and lock its row until the end of the transaction
+     * @param userId the user ID
+     * @return a row of [task list, last key or null], or no row if not found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l, (SELECT MAX(t.rankKey) FROM Task t WHERE t.taskList = l) FROM TaskList l " +
+           "WHERE l.user.id = :userId AND l.isDefault = true")
+    List<Object[]> findDefaultWithLastRankKeyForUpdate(@Param("userId") Long userId);
+    
+    /**
+     * Find the task lists of a user matching any of the given names
+     * @param userId the user ID
+     * @param names the list names
+     * @return matching task lists
+     */
+    List<TaskList> findByUserIdAndNameIn(Long userId, Collection<String> names);
+    
+    /**
+     * Find the task lists of a user changed after a sync position, in sync order
+     * @param userId the user ID
+     * @param changeSeq change sequence of the position
+     * @param afterId lists with exactly this sequence must have a greater ID
+     * @param pageable the batch limit
+     * @return task lists ordered by change sequence and ID
+     */
+    @Query("SELECT l FROM TaskList l WHERE l.user.id = :userId AND " +
+           "(l.changeSeq > :changeSeq OR (l.changeSeq = :changeSeq AND l.id > :afterId)) " +
+           "ORDER BY l.changeSeq, l.id")
+    List<TaskList> findChangedSince(@Param("userId") Long userId,
+                                    @Param("changeSeq") Long changeSeq,
+                                    @Param("afterId") Long afterId,
+                                    Pageable pageable);
 }
@@ -1,29 +1,52 @@
 package com.taskmanager.repository;
 
+import com.taskmanager.dto.TaskResponse;
 import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskList;
 import com.taskmanager.model.TaskPriority;
 import com.taskmanager.model.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
     
     /**
      * Find all tasks belonging to a specific user with pagination
+     * The task list is fetched in the same query for the list name.
      * @param userId the user ID
      * @param pageable pagination information
      * @return page of tasks
      */
+    @EntityGraph(attributePaths = "taskList")
     Page<Task> findByUserId(Long userId, Pageable pageable);
     
+    /**
+     * Find the tasks of a user among the given IDs in one query
+     * The task list is fetched in the same query for the list name.
+     * @param ids the task IDs
+     * @param userId the user ID
+     * @return tasks that exist and belong to the user, in no particular order
+     */
+    @Query("SELECT t FROM Task t JOIN FETCH t.taskList WHERE t.id IN :ids AND t.user.id = :userId")
+    List<Task> findByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+    
     /**
      * Find all tasks belonging to a specific user
      * @param userId the user ID
@@ -33,45 +56,64 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     
     /**
      * Find tasks by user ID and task list ID
+     * The task list is fetched in the same query for the list name.
      * @param userId the user ID
      * @param listId the task list ID
      * @param pageable pagination information
      * @return page of tasks
      */
+    @EntityGraph(attributePaths = "taskList")
     Page<Task> findByUserIdAndTaskListId(Long userId, Long listId, Pageable pageable);
     
     /**
-     * Find all tasks in a specific task list
-     * @param listId the task list ID
-     * @return list of tasks
+     * Move all tasks of a list to another list in one statement
+     * The moved tasks lose their manual order key and sort last in the new
+     * list until TaskRankRebalancer ranks them.
+     * @param fromListId the list the tasks are in
+     * @param toList the list to move them to
+     * @param changeSeq change sequence stamped on the moved tasks
+     * @param now modification time stamped on the moved tasks
+     * @return number of moved tasks
      */
-    List<Task> findByTaskListId(Long listId);
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Task t SET t.taskList = :toList, t.rankKey = null, t.changeSeq = :changeSeq, t.updatedAt = :now " +
+           "WHERE t.taskList.id = :fromListId")
+    int moveTasksToList(@Param("fromListId") Long fromListId,
+                        @Param("toList") TaskList toList,
+                        @Param("changeSeq") Long changeSeq,
+                        @Param("now") LocalDateTime now);
     
     /**
      * Find tasks by user ID and status
+     * The task list is fetched in the same query for the list name.
      * @param userId the user ID
      * @param status the task status
      * @param pageable pagination information
      * @return page of tasks
      */
+    @EntityGraph(attributePaths = "taskList")
     Page<Task> findByUserIdAndStatus(Long userId, TaskStatus status, Pageable pageable);
     
     /**
      * Find tasks by user ID and priority
+     * The task list is fetched in the same query for the list name.
      * @param userId the user ID
      * @param priority the task priority
      * @param pageable pagination information
      * @return page of tasks
      */
+    @EntityGraph(attributePaths = "taskList")
     Page<Task> findByUserIdAndPriority(Long userId, TaskPriority priority, Pageable pageable);
     
     /**
      * Search tasks by title or description (case-insensitive)
+     * The task list is fetched in the same query for the list name.
      * @param userId the user ID
      * @param searchTerm the search term
      * @param pageable pagination information
      * @return page of tasks matching the search
      */
+    @EntityGraph(attributePaths = "taskList")
     @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND " +
            "(LOWER(t.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
@@ -95,23 +137,236 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     long countByUserId(Long userId);
     
     /**
-     * Find tasks due on a specific date for a user
+     * Count the tasks of a user and, among them, the recurring series
+     * One statement, so the dashboard only looks up series when there are any.
+     * @param userId the user ID
+     * @return a single row: task count, series count
+     */
+    @Query("SELECT COUNT(t), COUNT(t.recurrence.frequency) FROM Task t WHERE t.user.id = :userId")
+    List<Object[]> countWithSeriesByUserId(@Param("userId") Long userId);
+    
+    /**
+     * Count tasks due on a specific date for a user
+     * Recurring series are counted by their occurrences, not here.
      * @param userId the user ID
      * @param dueDate the due date
-     * @return list of tasks
+     * @return count of tasks
      */
-    List<Task> findByUserIdAndDueDate(Long userId, LocalDate dueDate);
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.user.id = :userId AND t.dueDate = :dueDate AND " +
+           "t.recurrence.frequency IS NULL")
+    long countByUserIdAndDueDate(@Param("userId") Long userId, @Param("dueDate") LocalDate dueDate);
     
     /**
-     * Find overdue tasks for a user (due date before today and not completed)
+     * Count overdue tasks for a user (due date before today and not completed)
+     * Recurring series are counted by their occurrences, not here.
      * @param userId the user ID
      * @param today today's date
      * @param status the status to exclude (COMPLETED)
-     * @return list of overdue tasks
+     * @return count of overdue tasks
      */
-    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND " +
-           "t.dueDate < :today AND t.status != :status")
-    List<Task> findOverdueTasks(@Param("userId") Long userId, 
-                                @Param("today") LocalDate today, 
-                                @Param("status") TaskStatus status);
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.user.id = :userId AND " +
+           "t.dueDate < :today AND t.status != :status AND t.recurrence.frequency IS NULL")
+    long countOverdueTasks(@Param("userId") Long userId, 
+                           @Param("today") LocalDate today, 
+                           @Param("status") TaskStatus status);
+    
+    /**
+     * Stream all tasks of a user as flat response rows for export.
+     * Series keep their rule and occurrences their series, so an export can be
+     * imported again without losing them.
+     * Rows are read through a server-side cursor in fetch-size chunks and
+     * never enter the persistence context, so memory stays constant.
+     * Must be consumed inside a transaction and closed after use.
+     * @param userId the user ID
+     * @return stream of task rows ordered by ID
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.taskmanager.dto.TaskResponse(t.id, t.title, t.description, t.status, " +
+           "t.priority, t.dueDate, t.user.id, l.id, l.name, t.createdAt, t.updatedAt, " +
+           "t.recurrence.frequency, t.recurrence.interval, t.recurrence.until, t.series.id, t.occurrenceDate, t.rankKey) " +
+           "FROM Task t JOIN t.taskList l WHERE t.user.id = :userId ORDER BY t.id")
+    Stream<TaskResponse> streamExportRowsByUserId(@Param("userId") Long userId);
+    
+    /**
+     * Find the tasks of a user changed after a sync position, in sync order
+     * The task list is fetched in the same query for the list name.
+     * @param userId the user ID
+     * @param changeSeq change sequence of the position
+     * @param afterId tasks with exactly this sequence must have a greater ID
+     * @param pageable the batch limit
+     * @return tasks ordered by change sequence and ID
+     */
+    @Query("SELECT t FROM Task t JOIN FETCH t.taskList WHERE t.user.id = :userId AND " +
+           "(t.changeSeq > :changeSeq OR (t.changeSeq = :changeSeq AND t.id > :afterId)) " +
+           "ORDER BY t.changeSeq, t.id")
+    List<Task> findChangedSince(@Param("userId") Long userId,
+                                @Param("changeSeq") Long changeSeq,
+                                @Param("afterId") Long afterId,
+                                Pageable pageable);
+    
+    /**
+     * Count the tasks of several lists in one query
+     * @param listIds the list IDs
+     * @return rows of [list ID, task count]; lists without tasks are absent
+     */
+    @Query("SELECT t.taskList.id, COUNT(t) FROM Task t WHERE t.taskList.id IN :listIds GROUP BY t.taskList.id")
+    List<Object[]> countByTaskListIds(@Param("listIds") Collection<Long> listIds);
+    
+    /**
+     * Find the recurring series of a user with the dates of their occurrences
+     * materialized in a date window, in one statement
+     * The task list is fetched in the same query for the list name.
+     * @param userId the user ID
+     * @param from first occurrence date of the window
+     * @param to last occurrence date of the window
+     * @return rows of [series task, materialized occurrence date or null]; a
+     *         series appears once per materialized date, or once with null
+     */
+    @Query("SELECT t, o.occurrenceDate FROM Task t JOIN FETCH t.taskList " +
+           "LEFT JOIN Task o ON o.series = t AND o.occurrenceDate BETWEEN :from AND :to " +
+           "WHERE t.user.id = :userId AND t.recurrence.frequency IS NOT NULL")
+    List<Object[]> findRecurringWithOccurrenceDates(@Param("userId") Long userId,
+                                                    @Param("from") LocalDate from,
+                                                    @Param("to") LocalDate to);
+    
+    /**
+     * Find the tasks of a user due in a date window, excluding recurring series
+     * Materialized occurrences are included by their (possibly moved) due date.
+     * The task list is fetched in the same query for the list name.
+     * @param userId the user ID
+     * @param from first day of the window
+     * @param to last day of the window
+     * @return tasks ordered by due date and ID
+     */
+    @Query("SELECT t FROM Task t JOIN FETCH t.taskList WHERE t.user.id = :userId AND " +
+           "t.dueDate BETWEEN :from AND :to AND t.recurrence.frequency IS NULL ORDER BY t.dueDate, t.id")
+    List<Task> findDueBetween(@Param("userId") Long userId,
+                              @Param("from") LocalDate from,
+                              @Param("to") LocalDate to);
+    
+    /**
+     * Find the occurrence dates materialized for a series
+     * @param seriesId the series task ID
+     * @return occurrence dates
+     */
+    @Query("SELECT t.occurrenceDate FROM Task t WHERE t.series.id = :seriesId")
+    List<LocalDate> findOccurrenceDatesBySeriesId(@Param("seriesId") Long seriesId);
+    
+    /**
+     * Find the recurring series of a user with their materialized occurrences
+     * on and before a date counted, in one statement
+     * The counts use the (series_id, occurrence_date) unique index.
+     * @param userId the user ID
+     * @param date the date
+     * @return rows of series task, occurrences on the date, occurrences before it
+     */
+    @Query("SELECT t, " +
+           "(SELECT COUNT(o) FROM Task o WHERE o.series = t AND o.occurrenceDate = :date), " +
+           "(SELECT COUNT(o) FROM Task o WHERE o.series = t AND o.occurrenceDate < :date) " +
+           "FROM Task t WHERE t.user.id = :userId AND t.recurrence.frequency IS NOT NULL")
+    List<Object[]> findRecurringWithOccurrenceCounts(@Param("userId") Long userId,
+                                                     @Param("date") LocalDate date);
+    
+    /**
+     * Find the materialized occurrence of a series on a date
+     * The task list is fetched in the same query for the list name.
+     * @param seriesId the series task ID
+     * @param occurrenceDate the occurrence date
+     * @return the occurrence task if it was materialized
+     */
+    @EntityGraph(attributePaths = "taskList")
+    Optional<Task> findBySeriesIdAndOccurrenceDate(Long seriesId, LocalDate occurrenceDate);
+    
+    /**
+     * Turn materialized occurrences of a series into ordinary tasks
+     * @param seriesId the series task ID
+     * @param dates the occurrence dates to detach
+     * @param changeSeq change sequence stamped on the detached tasks
+     * @param now modification time stamped on the detached tasks
+     * @return number of detached tasks
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Task t SET t.series = null, t.occurrenceDate = null, t.changeSeq = :changeSeq, " +
+           "t.updatedAt = :now WHERE t.series.id = :seriesId AND t.occurrenceDate IN :dates")
+    int detachOccurrences(@Param("seriesId") Long seriesId,
+                          @Param("dates") Collection<LocalDate> dates,
+                          @Param("changeSeq") Long changeSeq,
+                          @Param("now") LocalDateTime now);
+    
+    /**
+     * Stream the reminder data of open tasks due in a date window, across all users
+     * Recurring series are excluded; see streamOpenRecurringSeries.
+     * Must be consumed inside a transaction and closed after use.
+     * @param from first day of the window
+     * @param to last day of the window
+     * @param completed the status to exclude (COMPLETED)
+     * @return rows of [task ID, user ID, due date]
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id, t.user.id, t.dueDate FROM Task t WHERE t.dueDate BETWEEN :from AND :to AND " +
+           "t.status <> :completed AND t.recurrence.frequency IS NULL")
+    Stream<Object[]> streamOpenDueBetween(@Param("from") LocalDate from,
+                                          @Param("to") LocalDate to,
+                                          @Param("completed") TaskStatus completed);
+    
+    /**
+     * Stream the reminder data of one user's open tasks due in a date window
+     * Must be consumed inside a transaction and closed after use.
+     * @param userId the user ID
+     * @param from first day of the window
+     * @param to last day of the window
+     * @param completed the status to exclude (COMPLETED)
+     * @return rows of [task ID, user ID, due date]
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id, t.user.id, t.dueDate FROM Task t WHERE t.user.id = :userId AND " +
+           "t.dueDate BETWEEN :from AND :to AND t.status <> :completed AND t.recurrence.frequency IS NULL")
+    Stream<Object[]> streamOpenDueBetweenByUserId(@Param("userId") Long userId,
+                                                  @Param("from") LocalDate from,
+                                                  @Param("to") LocalDate to,
+                                                  @Param("completed") TaskStatus completed);
+    
+    /**
+     * Stream the open recurring series that may have an occurrence in a date window, across all users
+     * Must be consumed inside a transaction and closed after use.
+     * @param from first day of the window
+     * @param to last day of the window
+     * @param completed the status to exclude (COMPLETED)
+     * @return rows of [series ID, user ID, due date, recurrence rule]
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id, t.user.id, t.dueDate, t.recurrence FROM Task t WHERE " +
+           "t.recurrence.frequency IS NOT NULL AND t.dueDate <= :to AND t.status <> :completed AND " +
+           "(t.recurrence.until IS NULL OR t.recurrence.until >= :from)")
+    Stream<Object[]> streamOpenRecurringSeries(@Param("from") LocalDate from,
+                                               @Param("to") LocalDate to,
+                                               @Param("completed") TaskStatus completed);
+    
+    /**
+     * Stream the materialized occurrences in a date window, across all users
+     * Must be consumed inside a transaction and closed after use.
+     * @param from first occurrence date of the window
+     * @param to last occurrence date of the window
+     * @return rows of [series ID, occurrence date]
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.series.id, t.occurrenceDate FROM Task t WHERE t.series IS NOT NULL AND " +
+           "t.occurrenceDate BETWEEN :from AND :to")
+    Stream<Object[]> streamOccurrenceDatesBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    /**
+     * Find the tasks of a list in manual order; unranked tasks last, oldest first
+     * @param listId the task list ID
+     * @return tasks in manual order
+     */
+    @Query("SELECT t FROM Task t WHERE t.taskList.id = :listId ORDER BY t.rankKey ASC NULLS LAST, t.createdAt, t.id")
+    List<Task> findByTaskListIdInRankOrder(@Param("listId") Long listId);
+    
+    /**
+     * Find the lists that have tasks without a manual order key
+     * Served from the partial index of TaskRankRebalancer.UNRANKED_INDEX_SQL.
+     * @return list IDs
+     */
+    @Query("SELECT DISTINCT t.taskList.id FROM Task t WHERE t.rankKey IS NULL")
+    List<Long> findListIdsWithUnrankedTasks();
 }
@@ -0,0 +1,69 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.CalendarDayResponse;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Custom task queries that select only a requested subset of fields
+ * Columns that are not requested are not part of the SQL select list, and
+ * the task_lists join is only added when listName is requested.
+ * The calendar query is native SQL for its window functions.
+ */
+public interface TaskRepositoryCustom {
+    
+    /**
+     * Field names that can be requested, in response order
+     */
+    List<String> SPARSE_FIELDS = List.of(
+        "id", "title", "description", "status", "priority", "dueDate",
+        "userId", "listId", "listName", "createdAt", "updatedAt",
+        "seriesId", "occurrenceDate", "rankKey"
+    );
+    
+    /**
+     * Find a page of a user's tasks with only the given fields
+     * Null filters are not applied.
+     * @param userId the user ID
+     * @param listId optional task list ID filter
+     * @param status optional status filter
+     * @param priority optional priority filter
+     * @param search optional title/description search term
+     * @param fields the fields to select (subset of SPARSE_FIELDS)
+     * @param pageable pagination and sorting information
+     * @return page of field maps
+     */
+    Page<Map<String, Object>> findFieldsByUserId(Long userId, Long listId, TaskStatus status,
+                                                 TaskPriority priority, String search,
+                                                 Collection<String> fields, Pageable pageable);
+    
+    /**
+     * Find a single task with only the given fields
+     * The owner's ID is always returned under "userId" for the ownership check.
+     * @param taskId the task ID
+     * @param fields the fields to select (subset of SPARSE_FIELDS)
+     * @return Optional containing the field map if the task exists
+     */
+    Optional<Map<String, Object>> findFieldsById(Long taskId, Collection<String> fields);
+    
+    /**
+     * Find a user's tasks due in a date range, grouped by day
+     * One range scan on (user_id, due_date): window functions rank the tasks
+     * of each day by priority and ID and count them, and only the first
+     * perDay of each day are returned. Recurring series are not included.
+     * @param userId the user ID
+     * @param from first day of the range
+     * @param to last day of the range
+     * @param perDay maximum number of tasks returned per day
+     * @return days that have tasks, in date order
+     */
+    List<CalendarDayResponse> findCalendarDays(Long userId, LocalDate from, LocalDate to, int perDay);
+}
@@ -0,0 +1,208 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.CalendarDayResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskList;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Criteria API implementation of {@link TaskRepositoryCustom}
+ */
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+    
+    /**
+     * Ranks and counts in the inner query, which reads only the tasks index
+     * range and rows; task_lists is joined for the kept rows only
+     */
+    static final String CALENDAR_SQL =
+        "SELECT d.id, d.title, d.description, d.status, d.priority, d.due_date, d.list_id, " +
+        "l.name AS list_name, d.created_at, d.updated_at, d.series_id, d.occurrence_date, d.rank_key, d.day_count " +
+        "FROM (" +
+        "SELECT t.id, t.title, t.description, t.status, t.priority, t.due_date, t.list_id, " +
+        "t.created_at, t.updated_at, t.series_id, t.occurrence_date, t.rank_key, " +
+        "ROW_NUMBER() OVER (PARTITION BY t.due_date ORDER BY " +
+        "CASE t.priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 ELSE 2 END, t.id) AS day_rank, " +
+        "COUNT(*) OVER (PARTITION BY t.due_date) AS day_count " +
+        "FROM tasks t " +
+        "WHERE t.user_id = :userId AND t.due_date BETWEEN :from AND :to AND t.recurrence_frequency IS NULL" +
+        ") d JOIN task_lists l ON l.id = d.list_id " +
+        "WHERE d.day_rank <= :perDay " +
+        "ORDER BY d.due_date, d.day_rank";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Page<Map<String, Object>> findFieldsByUserId(Long userId, Long listId, TaskStatus status,
+                                                        TaskPriority priority, String search,
+                                                        Collection<String> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> task = query.from(Task.class);
+        query.multiselect(selections(task, fields));
+        query.where(filters(cb, task, userId, listId, status, priority, search));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), task, cb));
+        }
+        
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        
+        List<Map<String, Object>> content = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            content.add(toMap(tuple, fields));
+        }
+        
+        // The count query is skipped when the page itself reveals the total
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+            Root<Task> countRoot = countQuery.from(Task.class);
+            countQuery.select(cb.count(countRoot));
+            countQuery.where(filters(cb, countRoot, userId, listId, status, priority, search));
+            return entityManager.createQuery(countQuery).getSingleResult();
+        });
+    }
+    
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long taskId, Collection<String> fields) {
+        List<String> selected = new ArrayList<>(fields);
+        if (!selected.contains("userId")) {
+            selected.add("userId");
+        }
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> task = query.from(Task.class);
+        query.multiselect(selections(task, selected));
+        query.where(cb.equal(task.get("id"), taskId));
+        
+        List<Tuple> result = entityManager.createQuery(query).getResultList();
+        return result.isEmpty() ? Optional.empty() : Optional.of(toMap(result.get(0), selected));
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<CalendarDayResponse> findCalendarDays(Long userId, LocalDate from, LocalDate to, int perDay) {
+        List<Object[]> rows = entityManager.createNativeQuery(CALENDAR_SQL)
+            .unwrap(NativeQuery.class)
+            .addScalar("id", Long.class)
+            .addScalar("title", String.class)
+            .addScalar("description", String.class)
+            .addScalar("status", String.class)
+            .addScalar("priority", String.class)
+            .addScalar("due_date", LocalDate.class)
+            .addScalar("list_id", Long.class)
+            .addScalar("list_name", String.class)
+            .addScalar("created_at", LocalDateTime.class)
+            .addScalar("updated_at", LocalDateTime.class)
+            .addScalar("series_id", Long.class)
+            .addScalar("occurrence_date", LocalDate.class)
+            .addScalar("rank_key", String.class)
+            .addScalar("day_count", Long.class)
+            .setParameter("userId", userId)
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .setParameter("perDay", perDay)
+            .getResultList();
+        
+        List<CalendarDayResponse> days = new ArrayList<>();
+        CalendarDayResponse day = null;
+        for (Object[] row : rows) {
+            LocalDate dueDate = (LocalDate) row[5];
+            if (day == null || !day.getDate().equals(dueDate)) {
+                day = new CalendarDayResponse(dueDate, (Long) row[13], new ArrayList<>());
+                days.add(day);
+            }
+            // Series are not in the buckets, so rows have no recurrence rule
+            day.getTasks().add(new TaskResponse((Long) row[0], (String) row[1], (String) row[2],
+                TaskStatus.valueOf((String) row[3]), TaskPriority.valueOf((String) row[4]), dueDate, userId,
+                (Long) row[6], (String) row[7], (LocalDateTime) row[8], (LocalDateTime) row[9],
+                null, null, null, (Long) row[10], (LocalDate) row[11], (String) row[12]));
+        }
+        return days;
+    }
+    
+    /**
+     * Build the select list; foreign key IDs are read from the tasks row and
+     * only listName joins task_lists
+     */
+    private List<Selection<?>> selections(Root<Task> task, Collection<String> fields) {
+        Join<Task, TaskList> list = fields.contains("listName") ? task.join("taskList") : null;
+        
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            Selection<?> selection = switch (field) {
+                case "userId" -> task.get("user").get("id");
+                case "listId" -> task.get("taskList").get("id");
+                case "listName" -> list.get("name");
+                case "seriesId" -> task.get("series").get("id");
+                default -> task.get(field);
+            };
+            selections.add(selection.alias(field));
+        }
+        return selections;
+    }
+    
+    private Predicate[] filters(CriteriaBuilder cb, Root<Task> task, Long userId, Long listId,
+                                TaskStatus status, TaskPriority priority, String search) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(task.get("user").get("id"), userId));
+        
+        if (listId != null) {
+            predicates.add(cb.equal(task.get("taskList").get("id"), listId));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(task.get("status"), status));
+        }
+        if (priority != null) {
+            predicates.add(cb.equal(task.get("priority"), priority));
+        }
+        if (search != null) {
+            // Same matching as TaskRepository.searchByTitleOrDescription
+            String pattern = "%" + search.toLowerCase() + "%";
+            predicates.add(cb.or(
+                cb.like(cb.lower(task.get("title")), pattern),
+                cb.like(cb.lower(task.get("description")), pattern)
+            ));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+    
+    private Map<String, Object> toMap(Tuple tuple, Collection<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : fields) {
+            row.put(field, tuple.get(field));
+        }
+        return row;
+    }
+}
@@ -1,7 +1,10 @@
 package com.taskmanager.repository;
 
 import com.taskmanager.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,9 +14,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     /**
      * Find user by email address
+     * Runs on every authenticated request, so the result is query-cached.
      * @param email the email to search for
      * @return Optional containing the user if found
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     
     /**
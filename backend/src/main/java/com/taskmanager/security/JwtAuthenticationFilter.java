@@ -1,6 +1,8 @@
 package com.taskmanager.security;
 
 import com.taskmanager.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,8 +29,19 @@ import java.util.ArrayList;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
+    /**
+     * Only endpoint that accepts the token as a query parameter
+     */
+    public static final String CHANGE_STREAM_PATH = "/api/events/stream";
+    
+    /**
+     * Request attribute holding the ID of the authenticated user
+     */
+    public static final String USER_ID_ATTRIBUTE = "com.taskmanager.userId";
+    
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
     
     @Override
     protected void doFilterInternal(
@@ -37,41 +50,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             FilterChain filterChain) throws ServletException, IOException {
         
         try {
-            String authHeader = request.getHeader("Authorization");
+            String token = resolveToken(request);
             
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                String token = authHeader.substring(7);
-                String email = jwtUtil.extractEmail(token);
+            if (token != null) {
+                String email = verifyToken(token);
                 
                 if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    // Validate token
-                    if (jwtUtil.validateToken(token, email)) {
-                        // Load user details
-                        var user = userRepository.findByEmail(email)
-                                .orElseThrow(() -> new UsernameNotFoundException("用户不存在"));
-                        
-                        // Create a simple UserDetails to avoid lazy loading issues
-                        UserDetails userDetails = org.springframework.security.core.userdetails.User
-                                .withUsername(user.getEmail())
-                                .password(user.getPassword())
-                                .authorities(new ArrayList<>())
-                                .build();
-                        
-                        // Create authentication token with UserDetails
-                        UsernamePasswordAuthenticationToken authToken = 
-                                new UsernamePasswordAuthenticationToken(
-                                        userDetails,
-                                        null,
-                                        new ArrayList<>()
-                                );
-                        
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        
-                        // Set authentication in security context
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                        
-                        log.debug("JWT authentication successful for user: {}", email);
-                    }
+                    // Load user details
+                    var user = userRepository.findByEmail(email)
+                            .orElseThrow(() -> new UsernameNotFoundException("用户不存在"));
+                    
+                    // Create a simple UserDetails to avoid lazy loading issues
+                    UserDetails userDetails = org.springframework.security.core.userdetails.User
+                            .withUsername(user.getEmail())
+                            .password(user.getPassword())
+                            .authorities(new ArrayList<>())
+                            .build();
+                    
+                    // Create authentication token with UserDetails
+                    UsernamePasswordAuthenticationToken authToken = 
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails,
+                                    null,
+                                    new ArrayList<>()
+                            );
+                    
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    
+                    // Set authentication in security context
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    request.setAttribute(USER_ID_ATTRIBUTE, user.getId());
+                    
+                    log.debug("JWT authentication successful for user: {}", email);
                 }
             }
         } catch (Exception e) {
@@ -80,4 +90,47 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+    
+    /**
+     * Check the signature and expiry of a token, timed as
+     * taskmanager.jwt.verification
+     * 
+     * @param token the JWT
+     * @return the email of a valid token, or null if it is expired
+     */
+    private String verifyToken(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
+        try {
+            String email = jwtUtil.extractEmail(token);
+            if (email != null && jwtUtil.validateToken(token, email)) {
+                outcome = "valid";
+                return email;
+            }
+            return null;
+        } finally {
+            sample.stop(Timer.builder("taskmanager.jwt.verification")
+                .description("JWT signature and expiry checks")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        }
+    }
+    
+    /**
+     * Get the JWT from the Authorization header, or from the token query
+     * parameter for the change stream (EventSource cannot send headers)
+     * 
+     * @param request the HTTP request
+     * @return the token, or null if none was sent
+     */
+    private String resolveToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        if (CHANGE_STREAM_PATH.equals(request.getRequestURI())) {
+            return request.getParameter("token");
+        }
+        return null;
+    }
 }
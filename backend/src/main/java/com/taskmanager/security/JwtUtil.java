@@ -1,5 +1,6 @@
 package com.taskmanager.security;
 
+import com.taskmanager.jfr.JwtVerificationEvent;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -119,11 +120,19 @@ public class JwtUtil {
      * @return all claims
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        try {
+            Claims claims = Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+            event.valid = true;
+            return claims;
+        } finally {
+            event.commit();
+        }
     }
     
     /**
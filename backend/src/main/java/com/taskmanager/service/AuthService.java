@@ -6,11 +6,13 @@ import com.taskmanager.dto.RegisterRequest;
 import com.taskmanager.exception.ConflictException;
 import com.taskmanager.exception.UnauthorizedException;
 import com.taskmanager.exception.ValidationException;
+import com.taskmanager.jfr.PasswordHashEvent;
 import com.taskmanager.model.TaskList;
 import com.taskmanager.model.User;
 import com.taskmanager.repository.TaskListRepository;
 import com.taskmanager.repository.UserRepository;
 import com.taskmanager.security.JwtUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -24,6 +26,7 @@ import java.util.regex.Pattern;
  * Handles user registration, login, and token management
  */
 @Service
+@Timed(value = "taskmanager.service", histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class AuthService {
@@ -32,6 +35,7 @@ public class AuthService {
     private final TaskListRepository taskListRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final ChangeSequenceService changeSequenceService;
     
     private static final Pattern EMAIL_PATTERN = Pattern.compile(
         "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$"
@@ -70,7 +74,7 @@ public class AuthService {
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(hashPassword(request.getPassword()));
         
         User savedUser = userRepository.save(user);
         log.info("User registered successfully with ID: {}", savedUser.getId());
@@ -97,7 +101,7 @@ public class AuthService {
                 .orElseThrow(() -> new UnauthorizedException("邮箱或密码错误"));
         
         // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordMatches(request.getPassword(), user)) {
             throw new UnauthorizedException("邮箱或密码错误");
         }
         
@@ -120,6 +124,42 @@ public class AuthService {
         return jwtUtil.validateToken(token, email);
     }
     
+    /**
+     * Hash a password with BCrypt, recorded as a JFR event
+     * 
+     * @param rawPassword the password
+     * @return the hash
+     */
+    private String hashPassword(String rawPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        try {
+            return passwordEncoder.encode(rawPassword);
+        } finally {
+            event.operation = "encode";
+            event.commit();
+        }
+    }
+    
+    /**
+     * Check a password against a user's BCrypt hash, recorded as a JFR event
+     * 
+     * @param rawPassword the password
+     * @param user the user
+     * @return true if the password matches
+     */
+    private boolean passwordMatches(String rawPassword, User user) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        try {
+            return passwordEncoder.matches(rawPassword, user.getPassword());
+        } finally {
+            event.operation = "matches";
+            event.userId = user.getId();
+            event.commit();
+        }
+    }
+    
     /**
      * Create default task list for a new user
      * 
@@ -130,6 +170,7 @@ public class AuthService {
         defaultList.setName("我的任务");
         defaultList.setUser(user);
         defaultList.setIsDefault(true);
+        defaultList.setChangeSeq(changeSequenceService.next(user.getId()));
         
         taskListRepository.save(defaultList);
         log.debug("Created default task list for user: {}", user.getId());
@@ -0,0 +1,126 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.BootstrapResponse;
+import com.taskmanager.dto.DashboardStatsResponse;
+import com.taskmanager.dto.TaskListResponse;
+import com.taskmanager.dto.TaskResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service assembling the bootstrap response of the frontend
+ * Statistics, lists and the first task page are computed concurrently on a
+ * bounded pool, so the response takes as long as the slowest part instead of
+ * the sum. All parts share one deadline; a part that misses it is cancelled
+ * and reported as unavailable. When the pool and its queue are full, the
+ * parts run on the request thread one after another.
+ *
+ * The parts run outside the request thread, so they always read from the
+ * primary database and their statements are not in the request's SQL counts.
+ */
+@Service
+@Slf4j
+public class BootstrapService {
+    
+    private final StatisticsService statisticsService;
+    private final TaskListService taskListService;
+    private final TaskService taskService;
+    private final Duration deadline;
+    private final ThreadPoolExecutor executor;
+    
+    public BootstrapService(
+            StatisticsService statisticsService,
+            TaskListService taskListService,
+            TaskService taskService,
+            @Value("${bootstrap.deadline:2s}") Duration deadline,
+            @Value("${bootstrap.threads:16}") int threads,
+            @Value("${bootstrap.queue-size:64}") int queueSize) {
+        this.statisticsService = statisticsService;
+        this.taskListService = taskListService;
+        this.taskService = taskService;
+        this.deadline = deadline;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueSize), daemonThreads("bootstrap-"), new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+    
+    /**
+     * Get statistics, lists and the first task page of a user
+     * 
+     * @param userId the user ID
+     * @param size the size of the task page
+     * @return the bootstrap response
+     */
+    public BootstrapResponse getBootstrap(Long userId, int size) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        
+        Future<DashboardStatsResponse> stats = executor.submit(() -> statisticsService.getDashboardStats(userId));
+        Future<List<TaskListResponse>> lists = executor.submit(() -> taskListService.getAllLists(userId));
+        Future<Page<TaskResponse>> tasks = executor.submit(() -> taskService.getAllTasks(userId, 0, size));
+        
+        List<String> unavailable = new ArrayList<>();
+        BootstrapResponse response = new BootstrapResponse();
+        response.setStats(await("stats", stats, deadlineNanos, unavailable));
+        response.setLists(await("lists", lists, deadlineNanos, unavailable));
+        response.setTasks(await("tasks", tasks, deadlineNanos, unavailable));
+        response.setUnavailable(unavailable);
+        return response;
+    }
+    
+    /**
+     * Wait for a part until the shared deadline
+     * 
+     * @return the part, or null if it missed the deadline
+     */
+    private <T> T await(String part, Future<T> future, long deadlineNanos, List<String> unavailable) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            unavailable.add(part);
+            log.warn("Bootstrap part '{}' missed the {} deadline", part, deadline);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            unavailable.add(part);
+            return null;
+        } catch (ExecutionException e) {
+            // Same exception as the part's own endpoint would answer with
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.taskmanager.service;
+
+import com.taskmanager.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service handing out values of the per-user change sequence used by delta sync
+ *
+ * Every task or list write stamps the row with the next value of its owner's
+ * sequence. The counter lives on the user row, and advancing it locks that row
+ * until the writing transaction ends, so a user's changes commit in sequence
+ * order. A client that has seen value N therefore never misses a change that
+ * commits later with a value at or below N.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeSequenceService {
+
+    private static final String NEXT_SQL =
+        "UPDATE users SET change_seq = change_seq + 1 WHERE id = ? RETURNING change_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Advance the change sequence of a user
+     * Must run inside the transaction that performs the change.
+     *
+     * @param userId the user ID
+     * @return the new sequence value
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next(Long userId) {
+        try {
+            return jdbcTemplate.queryForObject(NEXT_SQL, Long.class, userId);
+        } catch (EmptyResultDataAccessException e) {
+            throw new ResourceNotFoundException("用户不存在");
+        }
+    }
+}
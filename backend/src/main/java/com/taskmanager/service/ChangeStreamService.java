@@ -0,0 +1,284 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.ChangeEventResponse;
+import com.taskmanager.event.ChangeType;
+import com.taskmanager.event.EntityChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service pushing task and list changes to clients over Server-Sent Events
+ *
+ * Changes arrive as EntityChangedEvents after their transaction commits and
+ * are fanned out to the open connections of the owning user only. Every
+ * connection has a small bounded buffer drained by a shared sender pool, so
+ * publishing never blocks; a connection whose buffer overflows is closed and
+ * its client reconnects. The last events of each user are kept for resuming
+ * from Last-Event-ID; when that is impossible the client receives RESET.
+ */
+@Service
+@Slf4j
+public class ChangeStreamService {
+
+    private static final long EMITTER_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+    private static final long HEARTBEAT_INTERVAL_SECONDS = 15;
+    private static final long IDLE_CHANNEL_RETENTION_MS = TimeUnit.MINUTES.toMillis(10);
+    private static final int CONNECTION_BUFFER_SIZE = 64;
+    private static final int REPLAY_SIZE = 256;
+    private static final int SENDER_THREADS = 4;
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, UserChannel> channels = new ConcurrentHashMap<>();
+
+    private final ExecutorService senders = Executors.newFixedThreadPool(SENDER_THREADS, daemonThreads("sse-sender-"));
+    private final ScheduledExecutorService heartbeats =
+        Executors.newSingleThreadScheduledExecutor(daemonThreads("sse-heartbeat-"));
+
+    public ChangeStreamService() {
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats,
+            HEARTBEAT_INTERVAL_SECONDS, HEARTBEAT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Open a change stream for a user
+     *
+     * @param userId the user ID
+     * @param lastEventId the Last-Event-ID sent by a reconnecting client, or null
+     * @return the SSE emitter to return from the controller
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Connection connection = new Connection(emitter);
+        UserChannel channel = channels.computeIfAbsent(userId, id -> new UserChannel(sequence.get()));
+
+        // Replay and registration happen atomically with respect to publish,
+        // so no event is lost or delivered twice across the switch-over
+        synchronized (channel) {
+            replay(channel, connection, lastEventId);
+            channel.connections.add(connection);
+            channel.lastActivity = System.currentTimeMillis();
+        }
+
+        Runnable remove = () -> {
+            connection.closed = true;
+            channel.connections.remove(connection);
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        connection.schedule();
+        log.debug("Change stream opened for user {} ({} connections)", userId, channel.connections.size());
+        return emitter;
+    }
+
+    /**
+     * Fan out a committed change to the user's open connections
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        UserChannel channel = channels.computeIfAbsent(event.getUserId(), id -> new UserChannel(sequence.get()));
+        Entry entry = new Entry(sequence.incrementAndGet(),
+            new ChangeEventResponse(event.getType(), event.getEntityId(), LocalDateTime.now()));
+
+        synchronized (channel) {
+            channel.replay.addLast(entry);
+            if (channel.replay.size() > REPLAY_SIZE) {
+                channel.trimmedUpTo = channel.replay.removeFirst().seq;
+            }
+            channel.lastActivity = System.currentTimeMillis();
+            for (Connection connection : channel.connections) {
+                connection.offer(entry);
+            }
+        }
+    }
+
+    /**
+     * Queue the events a reconnecting client missed, or RESET when they are
+     * no longer available
+     */
+    private void replay(UserChannel channel, Connection connection, String lastEventId) {
+        if (lastEventId == null || lastEventId.isEmpty()) {
+            return;
+        }
+
+        long lastSeq = parseSequence(lastEventId);
+        if (lastSeq < 0 || lastSeq < channel.trimmedUpTo) {
+            connection.offer(new Entry(sequence.get(),
+                new ChangeEventResponse(ChangeType.RESET, null, LocalDateTime.now())));
+            return;
+        }
+
+        for (Entry entry : channel.replay) {
+            if (entry.seq > lastSeq) {
+                connection.offer(entry);
+            }
+        }
+    }
+
+    /**
+     * Parse an event ID of this instance; -1 if it came from another one
+     */
+    private long parseSequence(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Keep idle connections open through proxies and drop channels that
+     * have been unused for a while
+     */
+    private void sendHeartbeats() {
+        long now = System.currentTimeMillis();
+        channels.forEach((userId, channel) -> {
+            for (Connection connection : channel.connections) {
+                connection.offer(HEARTBEAT);
+            }
+            synchronized (channel) {
+                if (channel.connections.isEmpty() && now - channel.lastActivity > IDLE_CHANNEL_RETENTION_MS) {
+                    channels.remove(userId, channel);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        channels.values().forEach(channel -> channel.connections.forEach(c -> c.emitter.complete()));
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A change with its stream position
+     */
+    private record Entry(long seq, ChangeEventResponse event) {
+    }
+
+    /**
+     * Open connections and recent events of one user
+     */
+    private static class UserChannel {
+        private final Set<Connection> connections = new CopyOnWriteArraySet<>();
+        private final Deque<Entry> replay = new ArrayDeque<>();
+        private volatile long lastActivity = System.currentTimeMillis();
+
+        /**
+         * Events up to this sequence are not available for replay. A new
+         * channel starts at the current sequence, because anything earlier
+         * may have been in an evicted channel.
+         */
+        private long trimmedUpTo;
+
+        UserChannel(long createdAtSequence) {
+            this.trimmedUpTo = createdAtSequence;
+        }
+    }
+
+    /**
+     * One SSE connection with its bounded send buffer
+     */
+    private class Connection {
+
+        private final SseEmitter emitter;
+        private final Queue<Object> buffer = new ArrayBlockingQueue<>(CONNECTION_BUFFER_SIZE);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Connection(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Buffer an item without blocking; a full buffer means the client
+         * cannot keep up, so it is disconnected and will resume on reconnect
+         */
+        void offer(Object item) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(item)) {
+                log.debug("Dropping slow change stream consumer");
+                closed = true;
+                emitter.complete();
+                return;
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (!closed && !buffer.isEmpty() && scheduled.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        /**
+         * Send buffered items; only one sender works on a connection at a time
+         */
+        private void drain() {
+            try {
+                Object item;
+                while (!closed && (item = buffer.poll()) != null) {
+                    if (item == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        Entry entry = (Entry) item;
+                        emitter.send(SseEmitter.event()
+                            .id(epoch + "-" + entry.seq)
+                            .data(entry.event, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (Exception e) {
+                closed = true;
+                emitter.completeWithError(e);
+            } finally {
+                scheduled.set(false);
+            }
+            // Items offered while the flag was still set
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.taskmanager.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service tracking a per-user data version
+ * Every task or list mutation bumps the version of its owner, so a client
+ * holding a response tagged with the current version knows it is still fresh.
+ * The in-memory version is per instance and only coalesces reads within one
+ * instance. ETags are built from the user's change sequence (users.change_seq),
+ * which every mutation advances in its transaction, so they stay valid across
+ * instances and restarts.
+ *
+ * The change sequence read for a tag is kept with the in-memory version it
+ * was read at. While that version is current, writes through this instance
+ * have not happened since, and the sequence is reused. It is read again
+ * after a local write, or once it is older than
+ * conditional-get.change-seq-max-age. That age bounds how long a write
+ * through another instance can go unnoticed.
+ */
+@Service
+public class DataVersionService {
+    
+    private static final String CHANGE_SEQ_SQL = "SELECT change_seq FROM users WHERE id = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final long changeSeqMaxAgeNanos;
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<Long, KnownChangeSeq> changeSeqs = new ConcurrentHashMap<>();
+    
+    /**
+     * A change sequence with the in-memory version and time it was read at
+     */
+    private record KnownChangeSeq(long version, long changeSeq, long readAtNanos) {
+    }
+    
+    public DataVersionService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${conditional-get.change-seq-max-age:1s}") Duration changeSeqMaxAge) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeSeqMaxAgeNanos = changeSeqMaxAge.toNanos();
+    }
+    
+    /**
+     * Get the current data version of a user
+     * 
+     * @param userId the user ID
+     * @return the version (0 if the user never changed anything since startup)
+     */
+    public long getVersion(Long userId) {
+        AtomicLong version = versions.get(userId);
+        return version == null ? 0L : version.get();
+    }
+    
+    /**
+     * Bump the data version of a user
+     * Inside a transaction the bump happens after commit, so a reader can
+     * never see the new version together with uncommitted data.
+     * 
+     * @param userId the user ID
+     */
+    public void bump(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(userId);
+                }
+            });
+        } else {
+            increment(userId);
+        }
+    }
+    
+    /**
+     * Build a weak ETag for the user's current data in one representation
+     * The committed change sequence is read outside any transaction, so from
+     * the primary and never from a lagging replica, unless a known one is
+     * still current (see the class comment). The format is part of the
+     * tag because JSON, CBOR and Smile bodies differ. The date is part of the
+     * tag because statistics such as due-today and overdue counts change at
+     * midnight without any mutation.
+     * 
+     * @param userId the user ID
+     * @param format the negotiated response format
+     * @return weak ETag value, or null if the user does not exist
+     */
+    public String getETag(Long userId, String format) {
+        Long changeSeq = getChangeSeq(userId);
+        if (changeSeq == null) {
+            return null;
+        }
+        return "W/\"" + changeSeq + "-" + format + "-" + LocalDate.now().toEpochDay() + "\"";
+    }
+    
+    private Long getChangeSeq(Long userId) {
+        long version = getVersion(userId);
+        long now = System.nanoTime();
+        KnownChangeSeq known = changeSeqs.get(userId);
+        if (known != null && known.version() == version && now - known.readAtNanos() < changeSeqMaxAgeNanos) {
+            return known.changeSeq();
+        }
+        
+        // The version is taken before the read, so a write committed while
+        // reading leaves an older version here and the next call reads again
+        Long changeSeq;
+        try {
+            changeSeq = jdbcTemplate.queryForObject(CHANGE_SEQ_SQL, Long.class, userId);
+        } catch (EmptyResultDataAccessException e) {
+            changeSeqs.remove(userId);
+            return null;
+        }
+        changeSeqs.put(userId, new KnownChangeSeq(version, changeSeq, now));
+        return changeSeq;
+    }
+    
+    private void increment(Long userId) {
+        versions.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,109 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.DashboardStatsResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.exception.ForbiddenException;
+import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.repository.ReactiveTaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Non-blocking counterpart of the TaskService and StatisticsService reads
+ * Applies the same user isolation, filter precedence and response shapes.
+ */
+@Service
+@ConditionalOnProperty(name = "reactive-reads.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveTaskReadService {
+    
+    private final ReactiveTaskRepository reactiveTaskRepository;
+    
+    /**
+     * Get a page of tasks, newest first
+     * Filters take the same precedence as TaskController: list, then
+     * search, then status, then priority.
+     * 
+     * @param userId the user ID
+     * @param listId optional list ID filter
+     * @param status optional status filter
+     * @param priority optional priority filter
+     * @param search optional search term
+     * @param page the page number (0-indexed)
+     * @param size the page size
+     * @return page of tasks
+     */
+    public Mono<Page<TaskResponse>> getTasks(Long userId, Long listId, TaskStatus status, TaskPriority priority,
+                                             String search, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        
+        String term = search != null && !search.trim().isEmpty() ? search.trim() : null;
+        if (listId != null) {
+            term = null;
+            status = null;
+            priority = null;
+        } else if (term != null) {
+            status = null;
+            priority = null;
+        } else if (status != null) {
+            priority = null;
+        }
+        
+        return Mono.zip(
+                reactiveTaskRepository.findByUserId(userId, listId, status, priority, term,
+                    pageable.getOffset(), pageable.getPageSize()).collectList(),
+                reactiveTaskRepository.countByUserId(userId, listId, status, priority, term))
+            .map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+    }
+    
+    /**
+     * Get a task by ID
+     * Requirements: 5.1, 6.4
+     * 
+     * @param taskId the task ID
+     * @param userId the user ID
+     * @return the task
+     */
+    public Mono<TaskResponse> getTaskById(Long taskId, Long userId) {
+        return reactiveTaskRepository.findById(taskId)
+            .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("任务不存在")))
+            .flatMap(task -> task.getUserId().equals(userId)
+                ? Mono.just(task)
+                : Mono.error(new ForbiddenException("无权访问该任务")));
+    }
+    
+    /**
+     * Get dashboard statistics from one aggregate query and, concurrently,
+     * the recurring series, whose virtual occurrences are added as in
+     * StatisticsService
+     * Requirements: 15.1, 15.2, 15.3, 15.4, 15.5
+     * 
+     * @param userId the user ID
+     * @return dashboard statistics
+     */
+    public Mono<DashboardStatsResponse> getDashboardStats(Long userId) {
+        LocalDate today = LocalDate.now();
+        return Mono.zip(
+                reactiveTaskRepository.getDashboardStats(userId, today),
+                reactiveTaskRepository.findSeriesOccurrenceCounts(userId, today).collectList())
+            .map(result -> {
+                DashboardStatsResponse stats = result.getT1();
+                for (ReactiveTaskRepository.SeriesOccurrenceCounts series : result.getT2()) {
+                    StatisticsService.addVirtualOccurrences(stats, series.recurrence(), series.dueDate(),
+                        series.occurrencesToday(), series.occurrencesBefore(), today);
+                }
+                return stats;
+            });
+    }
+}
@@ -0,0 +1,113 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.Recurrence;
+import com.taskmanager.model.RecurrenceFrequency;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Date arithmetic of a recurrence rule
+ * Occurrence k of a series falls on the anchor (the due date of the series
+ * task) plus k intervals. Counting the occurrences in a window is constant
+ * time, so statistics never enumerate them; only listing a window does.
+ */
+public final class RecurrenceExpander {
+    
+    private final RecurrenceFrequency frequency;
+    private final int interval;
+    private final LocalDate anchor;
+    private final LocalDate until;
+    
+    public RecurrenceExpander(Recurrence recurrence, LocalDate anchor) {
+        this.frequency = recurrence.getFrequency();
+        this.interval = recurrence.getInterval() != null ? recurrence.getInterval() : 1;
+        this.anchor = anchor;
+        this.until = recurrence.getUntil();
+    }
+    
+    /**
+     * Date of occurrence k
+     */
+    public LocalDate occurrence(long k) {
+        return switch (frequency) {
+            case DAILY -> anchor.plusDays(k * interval);
+            case WEEKLY -> anchor.plusWeeks(k * interval);
+            case MONTHLY -> anchor.plusMonths(k * interval);
+        };
+    }
+    
+    /**
+     * Number of occurrences from one date to another, both inclusive
+     */
+    public long count(LocalDate from, LocalDate to) {
+        long first = firstIndexOnOrAfter(from);
+        long last = lastIndexOnOrBefore(to);
+        return Math.max(0, last - first + 1);
+    }
+    
+    /**
+     * Occurrence dates from one date to another, both inclusive, in order
+     */
+    public List<LocalDate> dates(LocalDate from, LocalDate to) {
+        long first = firstIndexOnOrAfter(from);
+        long last = lastIndexOnOrBefore(to);
+        List<LocalDate> dates = new ArrayList<>((int) Math.max(0, last - first + 1));
+        for (long k = first; k <= last; k++) {
+            dates.add(occurrence(k));
+        }
+        return dates;
+    }
+    
+    /**
+     * Whether an occurrence falls on the given date
+     */
+    public boolean occursOn(LocalDate date) {
+        return count(date, date) == 1;
+    }
+    
+    private long firstIndexOnOrAfter(LocalDate date) {
+        if (!date.isAfter(anchor)) {
+            return 0;
+        }
+        long k = estimate(date);
+        while (occurrence(k).isBefore(date)) {
+            k++;
+        }
+        while (k > 0 && !occurrence(k - 1).isBefore(date)) {
+            k--;
+        }
+        return k;
+    }
+    
+    private long lastIndexOnOrBefore(LocalDate date) {
+        if (until != null && until.isBefore(date)) {
+            date = until;
+        }
+        if (date.isBefore(anchor)) {
+            return -1;
+        }
+        long k = estimate(date);
+        while (occurrence(k).isAfter(date)) {
+            k--;
+        }
+        while (!occurrence(k + 1).isAfter(date)) {
+            k++;
+        }
+        return k;
+    }
+    
+    /**
+     * Index of an occurrence near the date, corrected by at most a step by the callers
+     */
+    private long estimate(LocalDate date) {
+        long units = switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS.between(anchor, date);
+            case WEEKLY -> ChronoUnit.WEEKS.between(anchor, date);
+            case MONTHLY -> ChronoUnit.MONTHS.between(anchor, date);
+        };
+        return Math.max(0, units / interval);
+    }
+}
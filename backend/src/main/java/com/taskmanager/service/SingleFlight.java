@@ -0,0 +1,19 @@
+package com.taskmanager.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a per-user read whose identical concurrent calls share one execution
+ * The method must have a Long parameter named userId. Calls with equal
+ * arguments that arrive while one is running wait for it and get its result
+ * (or exception) instead of running their own queries. See SingleFlightAspect.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+}
@@ -0,0 +1,115 @@
+package com.taskmanager.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces identical concurrent calls of @SingleFlight methods
+ * The first call for a method and arguments runs; calls arriving while it is
+ * in flight wait for its result. Nothing is kept once the call completes, so
+ * this only removes duplicate work, it never serves an old result.
+ *
+ * A flight is stamped with the user's data version (DataVersionService) when
+ * it starts. A write by the user bumps the version after it commits; a call
+ * made after that does not join the older flight but replaces it, so a user
+ * never gets a result computed before their own write.
+ *
+ * Runs outside the transaction interceptor, so waiting calls hold no
+ * database connection.
+ */
+@Aspect
+@Component
+@Order(0)
+@ConditionalOnProperty(name = "single-flight.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SingleFlightAspect {
+    
+    private final DataVersionService dataVersionService;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, Flight> flights = new ConcurrentHashMap<>();
+    private final Map<Method, Integer> userIdParameters = new ConcurrentHashMap<>();
+    
+    private record Key(Method method, List<Object> arguments) {
+    }
+    
+    private record Flight(long version, CompletableFuture<Object> result) {
+    }
+    
+    @Around("@annotation(com.taskmanager.service.SingleFlight)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Object[] arguments = joinPoint.getArgs();
+        Long userId = (Long) arguments[userIdParameter(method, joinPoint)];
+        
+        Key key = new Key(method, Arrays.asList(arguments));
+        Flight own = new Flight(dataVersionService.getVersion(userId), new CompletableFuture<>());
+        while (true) {
+            Flight running = flights.putIfAbsent(key, own);
+            if (running == null) {
+                break;
+            }
+            if (running.version() >= own.version()) {
+                sharedCounter(method).increment();
+                return await(running);
+            }
+            // Started before the user's latest write: do not share it
+            if (flights.replace(key, running, own)) {
+                break;
+            }
+        }
+        
+        try {
+            Object result = joinPoint.proceed();
+            own.result().complete(result);
+            return result;
+        } catch (Throwable e) {
+            own.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, own);
+        }
+    }
+    
+    private static Object await(Flight flight) throws Throwable {
+        try {
+            return flight.result().join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private int userIdParameter(Method method, ProceedingJoinPoint joinPoint) {
+        return userIdParameters.computeIfAbsent(method, m -> {
+            String[] names = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+            int index = names == null ? -1 : Arrays.asList(names).indexOf("userId");
+            if (index < 0 || m.getParameterTypes()[index] != Long.class) {
+                throw new IllegalStateException("@SingleFlight method has no Long userId parameter: " + m);
+            }
+            return index;
+        });
+    }
+    
+    private Counter sharedCounter(Method method) {
+        return Counter.builder("taskmanager.single.flight.shared")
+            .description("Calls that waited for an identical call in flight instead of running")
+            .tag("class", method.getDeclaringClass().getSimpleName())
+            .tag("method", method.getName())
+            .register(meterRegistry);
+    }
+}
@@ -1,8 +1,11 @@
 package com.taskmanager.service;
 
 import com.taskmanager.dto.DashboardStatsResponse;
+import com.taskmanager.model.Recurrence;
+import com.taskmanager.model.Task;
 import com.taskmanager.model.TaskStatus;
 import com.taskmanager.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,6 +17,7 @@ import java.time.LocalDate;
  * Requirements: 15.1, 15.2, 15.3, 15.4, 15.5
  */
 @Service
+@Timed(value = "taskmanager.service", histogram = true)
 @RequiredArgsConstructor
 public class StatisticsService {
     
@@ -26,13 +30,17 @@ public class StatisticsService {
      * @param userId the user ID
      * @return dashboard statistics
      */
+    @SingleFlight
     @Transactional(readOnly = true)
     public DashboardStatsResponse getDashboardStats(Long userId) {
         DashboardStatsResponse stats = new DashboardStatsResponse();
         
         // Calculate total tasks (Requirement 15.1)
         // Ensures user data isolation (Requirement 15.5)
-        long totalTasks = taskRepository.countByUserId(userId);
+        // The series count decides whether series are looked up at all
+        Object[] counts = taskRepository.countWithSeriesByUserId(userId).get(0);
+        long totalTasks = (Long) counts[0];
+        long seriesCount = (Long) counts[1];
         stats.setTotalTasks(totalTasks);
         
         // Calculate tasks by status (Requirement 15.2)
@@ -48,15 +56,46 @@ public class StatisticsService {
         // Calculate tasks due today (Requirement 15.3)
         // Ensures user data isolation (Requirement 15.5)
         LocalDate today = LocalDate.now();
-        long dueTodayCount = taskRepository.findByUserIdAndDueDate(userId, today).size();
-        stats.setDueTodayCount(dueTodayCount);
+        long dueTodayCount = taskRepository.countByUserIdAndDueDate(userId, today);
         
         // Calculate overdue tasks (Requirement 15.4)
         // Overdue = due date before today AND status is not COMPLETED
         // Ensures user data isolation (Requirement 15.5)
-        long overdueCount = taskRepository.findOverdueTasks(userId, today, TaskStatus.COMPLETED).size();
+        long overdueCount = taskRepository.countOverdueTasks(userId, today, TaskStatus.COMPLETED);
+        
+        stats.setDueTodayCount(dueTodayCount);
         stats.setOverdueCount(overdueCount);
         
+        if (seriesCount > 0) {
+            for (Object[] row : taskRepository.findRecurringWithOccurrenceCounts(userId, today)) {
+                Task series = (Task) row[0];
+                addVirtualOccurrences(stats, series.getRecurrence(), series.getDueDate(),
+                    (Long) row[1], (Long) row[2], today);
+            }
+        }
+        
         return stats;
     }
+    
+    /**
+     * Add the virtual occurrences of one series to the due-today and overdue counts
+     * Virtual occurrences are always TODO. Materialized occurrences are counted
+     * as tasks of their own, so they are subtracted; they always fall on series
+     * dates because TaskService detaches those that no longer do.
+     * Shared with the reactive read path so both report the same numbers.
+     * 
+     * @param stats the statistics to add to
+     * @param recurrence the rule of the series
+     * @param anchor the due date of the series task
+     * @param materializedToday materialized occurrences on today's date
+     * @param materializedBefore materialized occurrences before today
+     * @param today today's date
+     */
+    static void addVirtualOccurrences(DashboardStatsResponse stats, Recurrence recurrence, LocalDate anchor,
+                                      long materializedToday, long materializedBefore, LocalDate today) {
+        RecurrenceExpander expander = new RecurrenceExpander(recurrence, anchor);
+        stats.setDueTodayCount(stats.getDueTodayCount() + expander.count(today, today) - materializedToday);
+        stats.setOverdueCount(stats.getOverdueCount()
+            + expander.count(anchor, today.minusDays(1)) - materializedBefore);
+    }
 }
@@ -0,0 +1,166 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.SyncResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.exception.ValidationException;
+import com.taskmanager.model.SyncEntityType;
+import com.taskmanager.model.SyncTombstone;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskList;
+import com.taskmanager.repository.SyncTombstoneRepository;
+import com.taskmanager.repository.TaskListRepository;
+import com.taskmanager.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Service for incremental delta sync of tasks and lists
+ *
+ * Every list, task and tombstone carries a value of its owner's change
+ * sequence (see ChangeSequenceService). Sync walks these rows in the order
+ * (change sequence, kind, ID), kind being list, task, tombstone; the cursor is
+ * the last position returned. Each batch costs three index range scans of
+ * at most limit + 1 rows, so sync work depends on the amount of change only.
+ */
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+
+    public static final int DEFAULT_LIMIT = 500;
+    public static final int MAX_LIMIT = 1000;
+
+    private static final int KIND_LIST = 0;
+    private static final int KIND_TASK = 1;
+    private static final int KIND_TOMBSTONE = 2;
+
+    private final TaskRepository taskRepository;
+    private final TaskListRepository taskListRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final TaskService taskService;
+    private final TaskListService taskListService;
+
+    /**
+     * Get the changes of a user after a cursor
+     * The three reads share one snapshot, so a batch never mixes states.
+     *
+     * @param userId the user ID
+     * @param cursor cursor of the previous sync, or null for a full sync
+     * @param limit maximum number of changes in the batch
+     * @return the changes and the cursor to continue from
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public SyncResponse getChanges(Long userId, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ValidationException("同步数量必须在1到" + MAX_LIMIT + "之间");
+        }
+        Position from = Position.parse(cursor);
+        Pageable batch = PageRequest.of(0, limit + 1);
+
+        List<Change> changes = new ArrayList<>();
+        for (TaskList list : taskListRepository.findChangedSince(
+                userId, from.changeSeq, from.afterIdFor(KIND_LIST), batch)) {
+            changes.add(new Change(new Position(list.getChangeSeq(), KIND_LIST, list.getId()), list));
+        }
+        for (Task task : taskRepository.findChangedSince(
+                userId, from.changeSeq, from.afterIdFor(KIND_TASK), batch)) {
+            changes.add(new Change(new Position(task.getChangeSeq(), KIND_TASK, task.getId()), task));
+        }
+        for (SyncTombstone tombstone : tombstoneRepository.findChangedSince(
+                userId, from.changeSeq, from.afterIdFor(KIND_TOMBSTONE), batch)) {
+            changes.add(new Change(
+                new Position(tombstone.getChangeSeq(), KIND_TOMBSTONE, tombstone.getId()), tombstone));
+        }
+
+        // Each source returned up to limit + 1 rows, so anything beyond the
+        // first limit merged changes proves there is more
+        changes.sort(Comparator.comparing(Change::position, Position.ORDER));
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+
+        List<TaskList> lists = new ArrayList<>();
+        List<TaskResponse> tasks = new ArrayList<>();
+        List<Long> deletedListIds = new ArrayList<>();
+        List<Long> deletedTaskIds = new ArrayList<>();
+        for (Change change : changes) {
+            if (change.entity() instanceof TaskList list) {
+                lists.add(list);
+            } else if (change.entity() instanceof Task task) {
+                tasks.add(taskService.mapToResponse(task));
+            } else {
+                SyncTombstone tombstone = (SyncTombstone) change.entity();
+                (tombstone.getEntityType() == SyncEntityType.LIST ? deletedListIds : deletedTaskIds)
+                    .add(tombstone.getEntityId());
+            }
+        }
+
+        Position next = changes.isEmpty() ? from : changes.get(changes.size() - 1).position();
+        return new SyncResponse(taskListService.mapToResponses(lists), tasks, deletedListIds, deletedTaskIds,
+            next.toString(), hasMore);
+    }
+
+    /**
+     * A changed row with its sync position
+     */
+    private record Change(Position position, Object entity) {
+    }
+
+    /**
+     * A position in a user's sync order, encoded in cursors as "seq.kind.id"
+     */
+    private record Position(long changeSeq, int kind, long id) {
+
+        static final Comparator<Position> ORDER = Comparator.comparingLong(Position::changeSeq)
+            .thenComparingInt(Position::kind)
+            .thenComparingLong(Position::id);
+
+        /**
+         * Before everything: rows never stamped by a write carry sequence 0
+         */
+        static final Position START = new Position(-1, KIND_LIST, 0);
+
+        static Position parse(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return START;
+            }
+            String[] parts = cursor.split("\\.");
+            try {
+                if (parts.length == 3) {
+                    Position position = new Position(
+                        Long.parseLong(parts[0]), Integer.parseInt(parts[1]), Long.parseLong(parts[2]));
+                    if (position.kind >= KIND_LIST && position.kind <= KIND_TOMBSTONE) {
+                        return position;
+                    }
+                }
+            } catch (NumberFormatException e) {
+                // Fall through to the validation error
+            }
+            throw new ValidationException("无效的同步游标");
+        }
+
+        /**
+         * Smallest ID a row of the given kind with exactly this sequence must
+         * exceed: kinds before ours are done, kinds after ours not started
+         */
+        long afterIdFor(int rowKind) {
+            if (rowKind < kind) {
+                return Long.MAX_VALUE;
+            }
+            return rowKind == kind ? id : 0;
+        }
+
+        @Override
+        public String toString() {
+            return changeSeq + "." + kind + "." + id;
+        }
+    }
+}
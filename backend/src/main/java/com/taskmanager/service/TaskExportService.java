@@ -0,0 +1,193 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.taskmanager.dto.DataFormat;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.model.Recurrence;
+import com.taskmanager.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service for exporting all tasks of a user as a stream
+ * Rows are pulled from a forward-only database cursor and written straight
+ * to the output, so heap usage does not depend on the number of tasks.
+ * Writes block while the client is slow, which in turn stops the cursor
+ * from advancing.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskExportService {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private static final String CSV_HEADER =
+        "id,title,description,status,priority,dueDate,listId,listName,createdAt,updatedAt," +
+        "recurrenceFrequency,recurrenceInterval,recurrenceUntil,seriesId,occurrenceDate,rankKey";
+
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Write all tasks of a user to the given output stream
+     *
+     * @param userId the user ID
+     * @param format the output format
+     * @param gzip whether to gzip-compress the output
+     * @param out the target stream (not closed by this method)
+     * @return number of exported tasks
+     * @throws IOException if writing to the client fails
+     */
+    @Transactional(readOnly = true)
+    public long exportTasks(Long userId, DataFormat format, boolean gzip, OutputStream out) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(nonClosing(out), BUFFER_SIZE) : nonClosing(out);
+
+        long count;
+        try (Stream<TaskResponse> rows = taskRepository.streamExportRowsByUserId(userId);
+             OutputStream stream = target) {
+            count = format == DataFormat.CSV
+                ? writeCsv(rows.iterator(), stream)
+                : writeNdjson(rows.iterator(), stream);
+        }
+
+        log.debug("Exported {} tasks for user {} as {}", count, userId, format);
+        return count;
+    }
+
+    /**
+     * Write rows as newline-delimited JSON
+     */
+    private long writeNdjson(Iterator<TaskResponse> rows, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TaskResponse.class)
+            .withRootValueSeparator("\n")
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long count = 0;
+        try (SequenceWriter sequence = writer.writeValues(out)) {
+            while (rows.hasNext()) {
+                sequence.write(rows.next());
+                if (++count % FLUSH_INTERVAL == 0) {
+                    sequence.flush();
+                }
+            }
+        }
+        if (count > 0) {
+            out.write('\n');
+        }
+        return count;
+    }
+
+    /**
+     * Write rows as CSV with a header line
+     */
+    private long writeCsv(Iterator<TaskResponse> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        long count = 0;
+        while (rows.hasNext()) {
+            TaskResponse row = rows.next();
+            writeCsvField(writer, row.getId());
+            writer.write(',');
+            writeCsvField(writer, row.getTitle());
+            writer.write(',');
+            writeCsvField(writer, row.getDescription());
+            writer.write(',');
+            writeCsvField(writer, row.getStatus());
+            writer.write(',');
+            writeCsvField(writer, row.getPriority());
+            writer.write(',');
+            writeCsvField(writer, row.getDueDate());
+            writer.write(',');
+            writeCsvField(writer, row.getListId());
+            writer.write(',');
+            writeCsvField(writer, row.getListName());
+            writer.write(',');
+            writeCsvField(writer, row.getCreatedAt());
+            writer.write(',');
+            writeCsvField(writer, row.getUpdatedAt());
+            writer.write(',');
+            Recurrence recurrence = row.getRecurrence();
+            writeCsvField(writer, recurrence != null ? recurrence.getFrequency() : null);
+            writer.write(',');
+            writeCsvField(writer, recurrence != null ? recurrence.getInterval() : null);
+            writer.write(',');
+            writeCsvField(writer, recurrence != null ? recurrence.getUntil() : null);
+            writer.write(',');
+            writeCsvField(writer, row.getSeriesId());
+            writer.write(',');
+            writeCsvField(writer, row.getOccurrenceDate());
+            writer.write(',');
+            writeCsvField(writer, row.getRankKey());
+            writer.write('\n');
+
+            if (++count % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Write a single CSV field, quoting it when it contains separators,
+     * quotes or line breaks (RFC 4180)
+     */
+    private void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        boolean needsQuotes = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                needsQuotes = true;
+                break;
+            }
+        }
+        if (!needsQuotes) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * Wrap the response stream so closing the format writers only flushes it;
+     * the servlet container owns the underlying stream
+     */
+    private OutputStream nonClosing(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+}
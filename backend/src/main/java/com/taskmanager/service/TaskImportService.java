@@ -0,0 +1,725 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.DataFormat;
+import com.taskmanager.dto.ImportRowError;
+import com.taskmanager.dto.TaskImportResponse;
+import com.taskmanager.dto.TaskImportRow;
+import com.taskmanager.event.ChangeType;
+import com.taskmanager.event.EntityChangedEvent;
+import com.taskmanager.exception.ConflictException;
+import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.exception.ValidationException;
+import com.taskmanager.model.Recurrence;
+import com.taskmanager.model.RecurrenceFrequency;
+import com.taskmanager.model.TaskList;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.model.User;
+import com.taskmanager.repository.TaskListRepository;
+import com.taskmanager.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.context.ApplicationEventPublisher;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for bulk importing tasks
+ *
+ * The input is parsed as a stream and validated row by row. Valid rows are
+ * collected in batches; for each batch the referenced list names are resolved
+ * to task list IDs with one query, then the batch is loaded into a temporary
+ * staging table through the PostgreSQL COPY protocol. After the whole input
+ * has been staged, a single INSERT ... SELECT merges the rows into tasks.
+ * Rows of an export keep their recurrence rule, and an occurrence stays
+ * linked to its series when the series comes earlier in the same file; the
+ * IDs in the file are only used for that link.
+ * The import runs in one transaction, so either all valid rows are imported
+ * or none are.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskImportService {
+
+    private static final int BATCH_SIZE = 5000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+
+    private static final String CREATE_STAGING_SQL =
+        "CREATE TEMP TABLE task_import_staging (" +
+        "row_no BIGINT, title VARCHAR(200), description TEXT, status VARCHAR(20), " +
+        "priority VARCHAR(20), due_date DATE, list_id BIGINT, source_id BIGINT, " +
+        "recurrence_frequency VARCHAR(20), recurrence_interval INTEGER, recurrence_until DATE, " +
+        "source_series_id BIGINT, occurrence_date DATE, " +
+        // Task IDs are taken while staging, so occurrences can refer to their series
+        "new_id BIGINT DEFAULT nextval(pg_get_serial_sequence('tasks', 'id'))) ON COMMIT DROP";
+
+    private static final String COPY_SQL =
+        "COPY task_import_staging (row_no, title, description, status, priority, due_date, list_id, " +
+        "source_id, recurrence_frequency, recurrence_interval, recurrence_until, source_series_id, " +
+        "occurrence_date) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String MERGE_SQL =
+        "INSERT INTO tasks (id, title, description, status, priority, due_date, user_id, list_id, " +
+        "recurrence_frequency, recurrence_interval, recurrence_until, series_id, occurrence_date, " +
+        "created_at, updated_at, change_seq) " +
+        "SELECT s.new_id, s.title, s.description, s.status, s.priority, s.due_date, ?, s.list_id, " +
+        "s.recurrence_frequency, s.recurrence_interval, s.recurrence_until, series.new_id, " +
+        "s.occurrence_date, ?, ?, ? " +
+        "FROM task_import_staging s LEFT JOIN (" +
+        "SELECT DISTINCT ON (source_id) source_id, new_id FROM task_import_staging " +
+        "WHERE recurrence_frequency IS NOT NULL AND source_id IS NOT NULL ORDER BY source_id, row_no" +
+        ") series ON series.source_id = s.source_series_id " +
+        "ORDER BY s.row_no";
+
+    private final TaskListRepository taskListRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final DataVersionService dataVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeSequenceService changeSequenceService;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Import tasks for a user from a stream
+     *
+     * @param userId the user ID
+     * @param format the input format
+     * @param input the raw input stream
+     * @param importId optional client-chosen ID used to poll progress
+     * @return the import result including per-row errors
+     * @throws IOException if reading the input fails
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public TaskImportResponse importTasks(Long userId, DataFormat format, InputStream input, String importId)
+            throws IOException {
+        ImportJob job = startJob(importId, userId);
+
+        try {
+            User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("用户不存在"));
+
+            jdbcTemplate.execute(CREATE_STAGING_SQL);
+
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            RowReader rows = format == DataFormat.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader, objectMapper);
+
+            Map<String, Long> listIds = new HashMap<>();
+            List<TaskList> createdLists = new ArrayList<>();
+            SeriesLinks seriesLinks = new SeriesLinks();
+            List<StagedRow> batch = new ArrayList<>(BATCH_SIZE);
+
+            while (true) {
+                TaskImportRow row;
+                try {
+                    row = rows.next();
+                } catch (ValidationException e) {
+                    job.recordError(rows.rowNumber(), e.getMessage());
+                    continue;
+                }
+                if (row == null) {
+                    break;
+                }
+
+                try {
+                    batch.add(seriesLinks.link(validate(rows.rowNumber(), row)));
+                } catch (ValidationException e) {
+                    job.recordError(rows.rowNumber(), e.getMessage());
+                    continue;
+                }
+
+                if (batch.size() >= BATCH_SIZE) {
+                    stageBatch(batch, user, listIds, createdLists);
+                    job.processedRows = rows.rowNumber();
+                }
+            }
+            stageBatch(batch, user, listIds, createdLists);
+            job.processedRows = rows.rowNumber();
+
+            // Merge all staged rows in one statement
+            job.status = "MERGING";
+            // The whole import is one change in the user's sync sequence. It is
+            // taken only now, so the user's other writes are not blocked while
+            // the input is still being read.
+            long changeSeq = changeSequenceService.next(userId);
+            createdLists.forEach(list -> list.setChangeSeq(changeSeq));
+            LocalDateTime now = LocalDateTime.now();
+            job.importedRows = jdbcTemplate.update(MERGE_SQL, userId, now, now, changeSeq);
+            dataVersionService.bump(userId);
+            eventPublisher.publishEvent(new EntityChangedEvent(userId, ChangeType.TASKS_IMPORTED, null));
+
+            job.finish("COMPLETED");
+            log.info("Imported {} tasks for user {} ({} rows rejected) in {} ms",
+                job.importedRows, userId, job.failedRows,
+                Duration.between(job.startedAt, job.finishedAt).toMillis());
+
+            return job.snapshot();
+        } catch (RuntimeException | IOException e) {
+            job.finish("FAILED");
+            throw e;
+        }
+    }
+
+    /**
+     * Get the progress of a running or recently finished import
+     *
+     * @param importId the import ID
+     * @param userId the user ID
+     * @return the current import state
+     */
+    public TaskImportResponse getImportProgress(String importId, Long userId) {
+        // Jobs are keyed per user, so other users' imports are never visible
+        ImportJob job = jobs.get(jobKey(userId, importId));
+        if (job == null) {
+            throw new ResourceNotFoundException("导入任务不存在");
+        }
+
+        return job.snapshot();
+    }
+
+    /**
+     * Register a new import job and evict expired finished ones
+     */
+    private ImportJob startJob(String importId, Long userId) {
+        LocalDateTime expiry = LocalDateTime.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(expiry));
+
+        String id = importId == null || importId.trim().isEmpty() ? UUID.randomUUID().toString() : importId.trim();
+        ImportJob job = new ImportJob(id);
+        ImportJob existing = jobs.putIfAbsent(jobKey(userId, id), job);
+        if (existing != null) {
+            if (existing.finishedAt == null) {
+                throw new ConflictException("导入任务正在进行中");
+            }
+            jobs.put(jobKey(userId, id), job);
+        }
+        return job;
+    }
+
+    private static String jobKey(Long userId, String importId) {
+        return userId + ":" + importId;
+    }
+
+    /**
+     * Validate a raw row and convert it to typed values
+     */
+    private StagedRow validate(long rowNumber, TaskImportRow row) {
+        String title = row.getTitle() == null ? "" : row.getTitle().trim();
+        if (title.isEmpty()) {
+            throw new ValidationException("任务标题不能为空");
+        }
+        if (title.length() > 200) {
+            throw new ValidationException("任务标题不能超过200个字符");
+        }
+
+        String description = row.getDescription();
+        if (description != null && description.length() > 5000) {
+            throw new ValidationException("任务描述不能超过5000个字符");
+        }
+
+        TaskStatus status = TaskStatus.TODO;
+        if (!isBlank(row.getStatus())) {
+            try {
+                status = TaskStatus.valueOf(row.getStatus().trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("无效的任务状态: " + row.getStatus());
+            }
+        }
+
+        TaskPriority priority = TaskPriority.MEDIUM;
+        if (!isBlank(row.getPriority())) {
+            try {
+                priority = TaskPriority.valueOf(row.getPriority().trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("无效的任务优先级: " + row.getPriority());
+            }
+        }
+
+        LocalDate dueDate = null;
+        if (!isBlank(row.getDueDate())) {
+            try {
+                dueDate = LocalDate.parse(row.getDueDate().trim());
+            } catch (DateTimeParseException e) {
+                throw new ValidationException("无效的截止日期: " + row.getDueDate());
+            }
+        }
+
+        String listName = isBlank(row.getListName()) ? null : row.getListName().trim();
+        if (listName != null && listName.length() > 100) {
+            throw new ValidationException("列表名称不能超过100个字符");
+        }
+
+        Long sourceId = parseId(row.getId(), "无效的任务ID: ");
+        Recurrence recurrence = validateRecurrence(row, dueDate);
+
+        Long seriesId = parseId(row.getSeriesId(), "无效的重复任务ID: ");
+        LocalDate occurrenceDate = null;
+        if (seriesId != null) {
+            if (recurrence != null) {
+                throw new ValidationException("重复任务的单次任务不能设置重复规则");
+            }
+            if (isBlank(row.getOccurrenceDate())) {
+                throw new ValidationException("重复任务的单次任务必须有重复日期");
+            }
+            occurrenceDate = parseDate(row.getOccurrenceDate(), "无效的重复日期: ");
+        }
+
+        return new StagedRow(rowNumber, title, description, status, priority, dueDate, listName,
+            sourceId, recurrence, seriesId, occurrenceDate);
+    }
+
+    /**
+     * Validate the recurrence columns of a raw row, with the rules of TaskService
+     *
+     * @return the rule, or null if the row is not a series
+     */
+    private Recurrence validateRecurrence(TaskImportRow row, LocalDate dueDate) {
+        if (isBlank(row.getRecurrenceFrequency())) {
+            return null;
+        }
+        RecurrenceFrequency frequency;
+        try {
+            frequency = RecurrenceFrequency.valueOf(row.getRecurrenceFrequency().trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("无效的重复频率: " + row.getRecurrenceFrequency());
+        }
+
+        int interval = 1;
+        if (!isBlank(row.getRecurrenceInterval())) {
+            try {
+                interval = Integer.parseInt(row.getRecurrenceInterval().trim());
+            } catch (NumberFormatException e) {
+                throw new ValidationException("无效的重复间隔: " + row.getRecurrenceInterval());
+            }
+            if (interval < 1 || interval > 366) {
+                throw new ValidationException("重复间隔必须在1到366之间");
+            }
+        }
+
+        LocalDate until = isBlank(row.getRecurrenceUntil())
+            ? null : parseDate(row.getRecurrenceUntil(), "无效的重复结束日期: ");
+        if (dueDate == null) {
+            throw new ValidationException("重复任务必须设置截止日期");
+        }
+        if (until != null && until.isBefore(dueDate)) {
+            throw new ValidationException("重复结束日期不能早于截止日期");
+        }
+        return new Recurrence(frequency, interval, until);
+    }
+
+    private static Long parseId(String value, String message) {
+        if (isBlank(value)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ValidationException(message + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value, String message) {
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new ValidationException(message + value);
+        }
+    }
+
+    /**
+     * Resolve list names of a batch and COPY the batch into the staging table
+     */
+    private void stageBatch(List<StagedRow> batch, User user, Map<String, Long> listIds,
+                            List<TaskList> createdLists) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        resolveListIds(batch, user, listIds, createdLists);
+
+        StringBuilder csv = new StringBuilder(batch.size() * 128);
+        for (StagedRow row : batch) {
+            csv.append(row.rowNumber()).append(',');
+            appendCopyValue(csv, row.title());
+            csv.append(',');
+            appendCopyValue(csv, row.description());
+            csv.append(',').append(row.status().name());
+            csv.append(',').append(row.priority().name());
+            csv.append(',');
+            if (row.dueDate() != null) {
+                csv.append(row.dueDate());
+            }
+            csv.append(',').append(listIds.get(row.listName() == null ? "" : row.listName()));
+            csv.append(',');
+            appendCopyValue(csv, row.sourceId());
+            csv.append(',');
+            if (row.recurrence() != null) {
+                csv.append(row.recurrence().getFrequency().name())
+                    .append(',').append(row.recurrence().getInterval())
+                    .append(',');
+                appendCopyValue(csv, row.recurrence().getUntil());
+            } else {
+                csv.append(",,");
+            }
+            csv.append(',');
+            appendCopyValue(csv, row.seriesId());
+            csv.append(',');
+            appendCopyValue(csv, row.occurrenceDate());
+            csv.append('\n');
+        }
+        byte[] data = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            try {
+                copyIn.writeToCopy(data, 0, data.length);
+                return copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        });
+
+        batch.clear();
+    }
+
+    /**
+     * Resolve every list name referenced by the batch to a list ID, using one
+     * query for all names not seen in earlier batches. Unknown names become
+     * new lists, collected in createdLists; rows without a list name go to the
+     * default list (key "").
+     */
+    private void resolveListIds(List<StagedRow> batch, User user, Map<String, Long> listIds,
+                                List<TaskList> createdLists) {
+        Set<String> missing = new HashSet<>();
+        for (StagedRow row : batch) {
+            String key = row.listName() == null ? "" : row.listName();
+            if (!listIds.containsKey(key)) {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        if (missing.remove("")) {
+            TaskList defaultList = taskListRepository.findByUserIdAndIsDefault(user.getId(), true)
+                .orElseThrow(() -> new ResourceNotFoundException("默认任务列表不存在"));
+            listIds.put("", defaultList.getId());
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        // Several lists may share a name; use the oldest one
+        for (TaskList list : taskListRepository.findByUserIdAndNameIn(user.getId(), missing)) {
+            listIds.merge(list.getName(), list.getId(), Math::min);
+        }
+
+        for (String name : missing) {
+            if (!listIds.containsKey(name)) {
+                TaskList taskList = new TaskList();
+                taskList.setName(name);
+                taskList.setUser(user);
+                taskList.setIsDefault(false);
+                TaskList savedList = taskListRepository.save(taskList);
+                createdLists.add(savedList);
+                listIds.put(name, savedList.getId());
+            }
+        }
+    }
+
+    /**
+     * Append a value in COPY CSV syntax: null is an unquoted empty field,
+     * every other value is quoted
+     */
+    static void appendCopyValue(StringBuilder csv, String value) {
+        if (value == null) {
+            return;
+        }
+        csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    /**
+     * Append a number or date in COPY CSV syntax: null is an unquoted empty field
+     */
+    static void appendCopyValue(StringBuilder csv, Object value) {
+        if (value != null) {
+            csv.append(value);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    /**
+     * A validated row waiting to be staged
+     */
+    private record StagedRow(long rowNumber, String title, String description, TaskStatus status,
+                             TaskPriority priority, LocalDate dueDate, String listName, Long sourceId,
+                             Recurrence recurrence, Long seriesId, LocalDate occurrenceDate) {
+    }
+
+    /**
+     * Links occurrences to the series read earlier in the same import
+     * An occurrence keeps its link only if its series is in the file before
+     * it, its date is one of the series, and no earlier row of the file
+     * already is that occurrence; otherwise it is imported as a task of its
+     * own. Only the series rules are kept, not the rows.
+     */
+    private static class SeriesLinks {
+
+        private final Map<Long, RecurrenceExpander> series = new HashMap<>();
+        private final Set<String> occurrences = new HashSet<>();
+
+        StagedRow link(StagedRow row) {
+            if (row.recurrence() != null && row.sourceId() != null) {
+                series.putIfAbsent(row.sourceId(), new RecurrenceExpander(row.recurrence(), row.dueDate()));
+            }
+            if (row.seriesId() == null) {
+                return row;
+            }
+            RecurrenceExpander expander = series.get(row.seriesId());
+            if (expander != null && expander.occursOn(row.occurrenceDate())
+                    && occurrences.add(row.seriesId() + ":" + row.occurrenceDate())) {
+                return row;
+            }
+            return new StagedRow(row.rowNumber(), row.title(), row.description(), row.status(), row.priority(),
+                row.dueDate(), row.listName(), row.sourceId(), null, null, null);
+        }
+    }
+
+    /**
+     * Sequential source of raw import rows
+     */
+    interface RowReader {
+
+        /**
+         * @return the next row, or null at end of input
+         * @throws ValidationException if the current row is malformed
+         */
+        TaskImportRow next() throws IOException;
+
+        /**
+         * @return the 1-based number of the row returned last
+         */
+        long rowNumber();
+    }
+
+    /**
+     * Reads one JSON object per line; blank lines are skipped
+     */
+    static class NdjsonRowReader implements RowReader {
+
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private long rowNumber;
+
+        NdjsonRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public TaskImportRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                rowNumber++;
+            } while (line.trim().isEmpty());
+
+            try {
+                return objectMapper.readValue(line, TaskImportRow.class);
+            } catch (JsonProcessingException e) {
+                throw new ValidationException("无效的JSON行");
+            }
+        }
+
+        @Override
+        public long rowNumber() {
+            return rowNumber;
+        }
+    }
+
+    /**
+     * Reads RFC 4180 CSV with a header row; columns are matched by name,
+     * so files produced by the task export can be imported directly
+     */
+    static class CsvRowReader implements RowReader {
+
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private long rowNumber;
+
+        CsvRowReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> header = readRecord();
+            if (header != null) {
+                for (int i = 0; i < header.size(); i++) {
+                    if (header.get(i) != null) {
+                        columns.putIfAbsent(header.get(i).trim().toLowerCase(), i);
+                    }
+                }
+            }
+            if (!columns.containsKey("title")) {
+                throw new ValidationException("CSV文件缺少title列");
+            }
+        }
+
+        @Override
+        public TaskImportRow next() throws IOException {
+            List<String> record;
+            do {
+                rowNumber++;
+                record = readRecord();
+                if (record == null) {
+                    rowNumber--;
+                    return null;
+                }
+            } while (record.size() == 1 && record.get(0) == null);
+
+            return new TaskImportRow(
+                column(record, "title"),
+                column(record, "description"),
+                column(record, "status"),
+                column(record, "priority"),
+                column(record, "duedate"),
+                column(record, "listname"),
+                column(record, "id"),
+                column(record, "recurrencefrequency"),
+                column(record, "recurrenceinterval"),
+                column(record, "recurrenceuntil"),
+                column(record, "seriesid"),
+                column(record, "occurrencedate")
+            );
+        }
+
+        @Override
+        public long rowNumber() {
+            return rowNumber;
+        }
+
+        private String column(List<String> record, String name) {
+            Integer index = columns.get(name);
+            return index == null || index >= record.size() ? null : record.get(index);
+        }
+
+        /**
+         * Read one record; unquoted empty fields are null
+         */
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean inQuotes = false;
+            boolean quoted = false;
+
+            while (true) {
+                if (inQuotes) {
+                    if (c == -1) {
+                        throw new ValidationException("CSV引号未闭合");
+                    }
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            inQuotes = false;
+                            reader.reset();
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    inQuotes = true;
+                    quoted = true;
+                } else if (c == ',' || c == '\n' || c == -1) {
+                    fields.add(quoted || field.length() > 0 ? field.toString() : null);
+                    if (c != ',') {
+                        return fields;
+                    }
+                    field.setLength(0);
+                    quoted = false;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+    }
+
+    /**
+     * Mutable progress of one import; written by the importing thread and
+     * read by progress requests
+     */
+    private static class ImportJob {
+
+        private final String id;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final List<ImportRowError> errors = new ArrayList<>();
+
+        private volatile String status = "RUNNING";
+        private volatile long processedRows;
+        private volatile long importedRows;
+        private volatile long failedRows;
+        private volatile LocalDateTime finishedAt;
+
+        ImportJob(String id) {
+            this.id = id;
+        }
+
+        synchronized void recordError(long row, String message) {
+            failedRows++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportRowError(row, message));
+            }
+        }
+
+        void finish(String finalStatus) {
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        synchronized TaskImportResponse snapshot() {
+            return new TaskImportResponse(id, status, processedRows, importedRows, failedRows,
+                new ArrayList<>(errors), failedRows > errors.size(), startedAt, finishedAt);
+        }
+    }
+}
@@ -2,21 +2,29 @@ package com.taskmanager.service;
 
 import com.taskmanager.dto.TaskListRequest;
 import com.taskmanager.dto.TaskListResponse;
+import com.taskmanager.event.ChangeType;
+import com.taskmanager.event.EntityChangedEvent;
 import com.taskmanager.exception.ForbiddenException;
 import com.taskmanager.exception.ResourceNotFoundException;
 import com.taskmanager.exception.ValidationException;
-import com.taskmanager.model.Task;
+import com.taskmanager.model.SyncEntityType;
+import com.taskmanager.model.SyncTombstone;
 import com.taskmanager.model.TaskList;
 import com.taskmanager.model.User;
+import com.taskmanager.repository.SyncTombstoneRepository;
 import com.taskmanager.repository.TaskListRepository;
 import com.taskmanager.repository.TaskRepository;
 import com.taskmanager.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * Service for managing task lists
@@ -28,6 +36,11 @@ public class TaskListService {
     private final TaskListRepository taskListRepository;
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
+    private final DataVersionService dataVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeSequenceService changeSequenceService;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final TaskRankRebalancer rankRebalancer;
     
     /**
      * Create a new task list
@@ -53,9 +66,12 @@ public class TaskListService {
         taskList.setName(request.getName().trim());
         taskList.setUser(user);
         taskList.setIsDefault(false);
+        taskList.setChangeSeq(changeSequenceService.next(userId));
         
         // Save task list (Requirement 11.1)
         TaskList savedList = taskListRepository.save(taskList);
+        dataVersionService.bump(userId);
+        eventPublisher.publishEvent(new EntityChangedEvent(userId, ChangeType.LIST_CREATED, savedList.getId()));
         
         return mapToResponse(savedList);
     }
@@ -72,9 +88,7 @@ public class TaskListService {
         // Get lists for user only (user isolation - Requirement 11.5)
         List<TaskList> lists = taskListRepository.findByUserId(userId);
         
-        return lists.stream()
-            .map(this::mapToResponse)
-            .collect(Collectors.toList());
+        return mapToResponses(lists);
     }
     
     /**
@@ -124,8 +138,11 @@ public class TaskListService {
         
         // Update name (Requirement 14.1)
         taskList.setName(request.getName().trim());
+        taskList.setChangeSeq(changeSequenceService.next(userId));
         
         TaskList updatedList = taskListRepository.save(taskList);
+        dataVersionService.bump(userId);
+        eventPublisher.publishEvent(new EntityChangedEvent(userId, ChangeType.LIST_UPDATED, listId));
         
         return mapToResponse(updatedList);
     }
@@ -152,23 +169,21 @@ public class TaskListService {
             throw new ValidationException("不能删除默认列表");
         }
         
+        // Moved tasks and the tombstone share one change, tasks first in sync order
+        long changeSeq = changeSequenceService.next(userId);
+        
         // Migrate tasks to default list (Requirement 14.3)
-        List<Task> tasksInList = taskRepository.findByTaskListId(listId);
-        
-        if (!tasksInList.isEmpty()) {
-            // Get default list
-            TaskList defaultList = taskListRepository.findByUserIdAndIsDefault(userId, true)
-                .orElseThrow(() -> new ResourceNotFoundException("默认任务列表不存在"));
-            
-            // Move all tasks to default list
-            for (Task task : tasksInList) {
-                task.setTaskList(defaultList);
-            }
-            taskRepository.saveAll(tasksInList);
-        }
+        // One bulk update, however many tasks the list holds
+        TaskList defaultList = taskListRepository.findByUserIdAndIsDefault(userId, true)
+            .orElseThrow(() -> new ResourceNotFoundException("默认任务列表不存在"));
+        taskRepository.moveTasksToList(listId, defaultList, changeSeq, LocalDateTime.now());
+        rankRebalancer.requestRebalance(defaultList.getId());
         
         // Delete list (Requirement 14.2)
         taskListRepository.delete(taskList);
+        tombstoneRepository.save(new SyncTombstone(userId, SyncEntityType.LIST, listId, changeSeq));
+        dataVersionService.bump(userId);
+        eventPublisher.publishEvent(new EntityChangedEvent(userId, ChangeType.LIST_DELETED, listId));
     }
     
     /**
@@ -192,13 +207,37 @@ public class TaskListService {
      * @return the task list response DTO
      */
     private TaskListResponse mapToResponse(TaskList taskList) {
-        TaskListResponse response = new TaskListResponse();
-        response.setId(taskList.getId());
-        response.setName(taskList.getName());
-        response.setUserId(taskList.getUser().getId());
-        response.setIsDefault(taskList.getIsDefault());
-        response.setTaskCount(taskList.getTasks().size());
-        response.setCreatedAt(taskList.getCreatedAt());
-        return response;
+        return mapToResponses(List.of(taskList)).get(0);
+    }
+    
+    /**
+     * Map TaskList entities to TaskListResponse DTOs
+     * Task counts come from one grouped query instead of loading the task
+     * collection of every list.
+     * 
+     * @param lists the task list entities
+     * @return the task list response DTOs, in the same order
+     */
+    List<TaskListResponse> mapToResponses(List<TaskList> lists) {
+        if (lists.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : taskRepository.countByTaskListIds(lists.stream().map(TaskList::getId).toList())) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        
+        List<TaskListResponse> responses = new ArrayList<>(lists.size());
+        for (TaskList taskList : lists) {
+            TaskListResponse response = new TaskListResponse();
+            response.setId(taskList.getId());
+            response.setName(taskList.getName());
+            response.setUserId(taskList.getUser().getId());
+            response.setIsDefault(taskList.getIsDefault());
+            response.setTaskCount(counts.getOrDefault(taskList.getId(), 0L).intValue());
+            response.setCreatedAt(taskList.getCreatedAt());
+            responses.add(response);
+        }
+        return responses;
     }
 }
@@ -0,0 +1,215 @@
+package com.taskmanager.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fractional index keys for the manual order of tasks
+ *
+ * A key is a base-62 string that sorts by plain byte comparison (the
+ * rank_key column uses the "C" collation). For any two keys a key between
+ * them exists, so a task is moved by giving it one new key and no other
+ * row changes. A key is an integer part, whose first character encodes its
+ * length ('a' = one digit, 'b' = two, ...; 'Z', 'Y', ... below zero), and
+ * an optional fraction without trailing zeros. Appending to the end
+ * increments the integer, so keys of appended tasks grow logarithmically;
+ * repeated inserts between the same neighbours grow the fraction by a
+ * character every few moves, which TaskRankRebalancer undoes.
+ */
+final class TaskRankKeys {
+    
+    static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    
+    private static final char ZERO = DIGITS.charAt(0);
+    private static final char MAX_DIGIT = DIGITS.charAt(DIGITS.length() - 1);
+    private static final String SMALLEST_INTEGER = "A" + String.valueOf(ZERO).repeat(26);
+    
+    private TaskRankKeys() {
+    }
+    
+    /**
+     * Generate a key that sorts between two keys
+     *
+     * @param a the key before, or null for the start
+     * @param b the key after, or null for the end
+     * @return a key greater than a and less than b
+     * @throws IllegalArgumentException if a key is malformed or a is not less than b
+     */
+    static String between(String a, String b) {
+        if (a != null) {
+            validate(a);
+        }
+        if (b != null) {
+            validate(b);
+        }
+        if (a != null && b != null && a.compareTo(b) >= 0) {
+            throw new IllegalArgumentException(a + " >= " + b);
+        }
+        if (a == null) {
+            if (b == null) {
+                return "a" + ZERO;
+            }
+            String ib = integerPart(b);
+            String fb = b.substring(ib.length());
+            if (ib.equals(SMALLEST_INTEGER)) {
+                return ib + midpoint("", fb);
+            }
+            if (ib.compareTo(b) < 0) {
+                return ib;
+            }
+            String decremented = decrement(ib);
+            if (decremented == null) {
+                throw new IllegalArgumentException("Cannot generate a key before " + b);
+            }
+            return decremented;
+        }
+        
+        String ia = integerPart(a);
+        String fa = a.substring(ia.length());
+        if (b == null) {
+            String incremented = increment(ia);
+            return incremented == null ? ia + midpoint(fa, null) : incremented;
+        }
+        
+        String ib = integerPart(b);
+        String fb = b.substring(ib.length());
+        if (ia.equals(ib)) {
+            return ia + midpoint(fa, fb);
+        }
+        String incremented = increment(ia);
+        if (incremented == null) {
+            throw new IllegalArgumentException("Cannot increment " + a);
+        }
+        if (incremented.compareTo(b) < 0) {
+            return incremented;
+        }
+        return ia + midpoint(fa, null);
+    }
+    
+    /**
+     * Generate n consecutive short keys, for assigning a fresh order
+     *
+     * @param n the number of keys
+     * @return keys in ascending order
+     */
+    static List<String> sequence(int n) {
+        List<String> keys = new ArrayList<>(n);
+        String key = null;
+        for (int i = 0; i < n; i++) {
+            key = between(key, null);
+            keys.add(key);
+        }
+        return keys;
+    }
+    
+    /**
+     * Midpoint of two fractions, read as base-62 digits after the point
+     */
+    private static String midpoint(String a, String b) {
+        if (b != null) {
+            int n = 0;
+            while (n < b.length() && (n < a.length() ? a.charAt(n) : ZERO) == b.charAt(n)) {
+                n++;
+            }
+            if (n > 0) {
+                return b.substring(0, n) + midpoint(n < a.length() ? a.substring(n) : "", b.substring(n));
+            }
+        }
+        int digitA = a.isEmpty() ? 0 : DIGITS.indexOf(a.charAt(0));
+        int digitB = b != null ? DIGITS.indexOf(b.charAt(0)) : DIGITS.length();
+        if (digitB - digitA > 1) {
+            return String.valueOf(DIGITS.charAt((digitA + digitB + 1) / 2));
+        }
+        if (b != null && b.length() > 1) {
+            return b.substring(0, 1);
+        }
+        return DIGITS.charAt(digitA) + midpoint(a.isEmpty() ? "" : a.substring(1), null);
+    }
+    
+    private static int integerLength(char head) {
+        if (head >= 'a' && head <= 'z') {
+            return head - 'a' + 2;
+        }
+        if (head >= 'A' && head <= 'Z') {
+            return 'Z' - head + 2;
+        }
+        throw new IllegalArgumentException("Invalid key head: " + head);
+    }
+    
+    private static String integerPart(String key) {
+        int length = integerLength(key.charAt(0));
+        if (length > key.length()) {
+            throw new IllegalArgumentException("Invalid key: " + key);
+        }
+        return key.substring(0, length);
+    }
+    
+    private static void validate(String key) {
+        if (key.isEmpty() || key.equals(SMALLEST_INTEGER)) {
+            throw new IllegalArgumentException("Invalid key: " + key);
+        }
+        String fraction = key.substring(integerPart(key).length());
+        if (!fraction.isEmpty() && fraction.charAt(fraction.length() - 1) == ZERO) {
+            throw new IllegalArgumentException("Invalid key: " + key);
+        }
+        for (int i = 1; i < key.length(); i++) {
+            if (DIGITS.indexOf(key.charAt(i)) < 0) {
+                throw new IllegalArgumentException("Invalid key: " + key);
+            }
+        }
+    }
+    
+    private static String increment(String integer) {
+        char head = integer.charAt(0);
+        char[] digits = integer.substring(1).toCharArray();
+        boolean carry = true;
+        for (int i = digits.length - 1; carry && i >= 0; i--) {
+            int d = DIGITS.indexOf(digits[i]) + 1;
+            if (d == DIGITS.length()) {
+                digits[i] = ZERO;
+            } else {
+                digits[i] = DIGITS.charAt(d);
+                carry = false;
+            }
+        }
+        if (!carry) {
+            return head + new String(digits);
+        }
+        if (head == 'Z') {
+            return "a" + ZERO;
+        }
+        if (head == 'z') {
+            return null;
+        }
+        char next = (char) (head + 1);
+        String rest = new String(digits);
+        return next > 'a' ? next + rest + ZERO : next + rest.substring(0, rest.length() - 1);
+    }
+    
+    private static String decrement(String integer) {
+        char head = integer.charAt(0);
+        char[] digits = integer.substring(1).toCharArray();
+        boolean borrow = true;
+        for (int i = digits.length - 1; borrow && i >= 0; i--) {
+            int d = DIGITS.indexOf(digits[i]) - 1;
+            if (d == -1) {
+                digits[i] = MAX_DIGIT;
+            } else {
+                digits[i] = DIGITS.charAt(d);
+                borrow = false;
+            }
+        }
+        if (!borrow) {
+            return head + new String(digits);
+        }
+        if (head == 'a') {
+            return "Z" + MAX_DIGIT;
+        }
+        if (head == 'A') {
+            return null;
+        }
+        char previous = (char) (head - 1);
+        String rest = new String(digits);
+        return previous < 'Z' ? previous + rest + MAX_DIGIT : previous + rest.substring(0, rest.length() - 1);
+    }
+}
@@ -0,0 +1,181 @@
+package com.taskmanager.service;
+
+import com.taskmanager.event.ChangeType;
+import com.taskmanager.event.EntityChangedEvent;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskList;
+import com.taskmanager.repository.TaskListRepository;
+import com.taskmanager.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Background rebalancing of the manual task order
+ * Moves give a task a key between its neighbours, which grows by a
+ * character every few moves into the same gap. Lists whose keys got longer
+ * than task-ranks.max-key-length, and lists with unranked tasks (moved in
+ * bulk, imported, or from before manual ordering), are queued here and get
+ * short, evenly spaced keys in their current order. This is the only place
+ * that rewrites the keys of a whole list.
+ */
+@Component
+@Slf4j
+public class TaskRankRebalancer {
+    
+    /**
+     * Partial index of the unranked tasks, which JPA index annotations cannot
+     * declare. It holds only the tasks waiting for a rebalance, so finding
+     * them at startup reads a nearly empty index instead of every task.
+     */
+    static final String UNRANKED_INDEX_SQL =
+        "CREATE INDEX IF NOT EXISTS idx_tasks_unranked ON tasks (list_id) WHERE rank_key IS NULL";
+    
+    private final TaskRepository taskRepository;
+    private final TaskListRepository taskListRepository;
+    private final ChangeSequenceService changeSequenceService;
+    private final DataVersionService dataVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxKeyLength;
+    
+    private final Set<Long> pendingLists = ConcurrentHashMap.newKeySet();
+    
+    public TaskRankRebalancer(
+            TaskRepository taskRepository,
+            TaskListRepository taskListRepository,
+            ChangeSequenceService changeSequenceService,
+            DataVersionService dataVersionService,
+            ApplicationEventPublisher eventPublisher,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${task-ranks.max-key-length:24}") int maxKeyLength) {
+        this.taskRepository = taskRepository;
+        this.taskListRepository = taskListRepository;
+        this.changeSequenceService = changeSequenceService;
+        this.dataVersionService = dataVersionService;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxKeyLength = maxKeyLength;
+    }
+    
+    /**
+     * Whether a key is long enough that its list should be rebalanced
+     *
+     * @param key the order key
+     * @return true if the key exceeds task-ranks.max-key-length
+     */
+    public boolean isTooLong(String key) {
+        return key.length() > maxKeyLength;
+    }
+    
+    /**
+     * Queue a list for rebalancing
+     * Inside a transaction the list is queued after commit.
+     *
+     * @param listId the task list ID
+     */
+    public void requestRebalance(Long listId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pendingLists.add(listId);
+                }
+            });
+        } else {
+            pendingLists.add(listId);
+        }
+    }
+    
+    /**
+     * Queue the lists that have unranked tasks, such as all lists after upgrading
+     * Creates the partial index of unranked tasks first; after its first
+     * build this is a catalog lookup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void queueUnrankedLists() {
+        try {
+            jdbcTemplate.execute(UNRANKED_INDEX_SQL);
+            pendingLists.addAll(taskRepository.findListIdsWithUnrankedTasks());
+        } catch (RuntimeException e) {
+            log.warn("Could not find lists with unranked tasks", e);
+        }
+    }
+    
+    /**
+     * Queue the lists of a user whose tasks were imported without order keys
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.getType() == ChangeType.TASKS_IMPORTED) {
+            taskListRepository.findByUserId(event.getUserId()).forEach(list -> pendingLists.add(list.getId()));
+        }
+    }
+    
+    /**
+     * Rebalance the queued lists, each in its own transaction
+     */
+    @Scheduled(fixedDelayString = "${task-ranks.rebalance-interval:PT1M}")
+    public void rebalancePending() {
+        List<Long> listIds = new ArrayList<>(pendingLists);
+        for (Long listId : listIds) {
+            pendingLists.remove(listId);
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                    taskListRepository.findByIdForUpdate(listId).ifPresent(this::rebalance));
+            } catch (RuntimeException e) {
+                log.warn("Could not rebalance the task order of list {}", listId, e);
+            }
+        }
+    }
+    
+    /**
+     * Give the tasks of a list short, evenly spaced keys in their current order
+     * Must run in a transaction that holds the lock of the list
+     * (TaskListRepository.findByIdForUpdate). Only tasks whose key changes
+     * are written.
+     *
+     * @param list the locked task list
+     */
+    void rebalance(TaskList list) {
+        Long userId = list.getUser().getId();
+        List<Task> tasks = taskRepository.findByTaskListIdInRankOrder(list.getId());
+        List<String> keys = TaskRankKeys.sequence(tasks.size());
+        
+        Long changeSeq = null;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (!keys.get(i).equals(task.getRankKey())) {
+                if (changeSeq == null) {
+                    changeSeq = changeSequenceService.next(userId);
+                }
+                task.setRankKey(keys.get(i));
+                task.setChangeSeq(changeSeq);
+            }
+        }
+        if (changeSeq != null) {
+            dataVersionService.bump(userId);
+            eventPublisher.publishEvent(new EntityChangedEvent(userId, ChangeType.TASK_UPDATED, null));
+        }
+    }
+}
@@ -1,19 +1,33 @@
 package com.taskmanager.service;
 
+import com.taskmanager.dto.CalendarDayResponse;
+import com.taskmanager.dto.TaskBatchResponse;
+import com.taskmanager.dto.TaskMoveRequest;
 import com.taskmanager.dto.TaskRequest;
 import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.event.ChangeType;
+import com.taskmanager.event.EntityChangedEvent;
+import com.taskmanager.exception.ConflictException;
 import com.taskmanager.exception.ForbiddenException;
 import com.taskmanager.exception.ResourceNotFoundException;
 import com.taskmanager.exception.ValidationException;
+import com.taskmanager.model.Recurrence;
+import com.taskmanager.model.SyncEntityType;
+import com.taskmanager.model.SyncTombstone;
 import com.taskmanager.model.Task;
 import com.taskmanager.model.TaskList;
 import com.taskmanager.model.TaskPriority;
 import com.taskmanager.model.TaskStatus;
 import com.taskmanager.model.User;
+import com.taskmanager.reminder.ReminderScheduler;
+import com.taskmanager.repository.SyncTombstoneRepository;
 import com.taskmanager.repository.TaskListRepository;
 import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskRepositoryCustom;
 import com.taskmanager.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,16 +35,56 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * Service for managing tasks
  */
 @Service
+@Timed(value = "taskmanager.service", histogram = true)
 @RequiredArgsConstructor
 public class TaskService {
     
+    /**
+     * Maximum number of IDs accepted by a multi-get
+     */
+    public static final int MAX_BATCH_IDS = 100;
+    
+    /**
+     * Maximum number of days of a due date range (occurrence listing and calendar)
+     */
+    public static final int MAX_DATE_RANGE_DAYS = 366;
+    
+    /**
+     * Maximum number of tasks returned per calendar day
+     */
+    public static final int MAX_CALENDAR_TASKS_PER_DAY = 50;
+    
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final TaskListRepository taskListRepository;
+    private final DataVersionService dataVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeSequenceService changeSequenceService;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final ReminderScheduler reminderScheduler;
+    private final TaskRankRebalancer rankRebalancer;
     
     /**
      * Create a new task
@@ -52,19 +106,18 @@ public class TaskService {
             .orElseThrow(() -> new ResourceNotFoundException("用户不存在"));
         
         // Get task list (use default if not specified)
-        TaskList taskList;
+        ListAppend append;
         if (taskRequest.getListId() != null) {
-            taskList = taskListRepository.findById(taskRequest.getListId())
-                .orElseThrow(() -> new ResourceNotFoundException("任务列表不存在"));
+            append = appendTo(taskListRepository.findByIdWithLastRankKeyForUpdate(taskRequest.getListId()),
+                "任务列表不存在");
             
             // Verify the list belongs to the user
-            if (!taskList.getUser().getId().equals(userId)) {
+            if (!append.taskList().getUser().getId().equals(userId)) {
                 throw new ForbiddenException("无权访问该任务列表");
             }
         } else {
             // Use default list
-            taskList = taskListRepository.findByUserIdAndIsDefault(userId, true)
-                .orElseThrow(() -> new ResourceNotFoundException("默认任务列表不存在"));
+            append = appendTo(taskListRepository.findDefaultWithLastRankKeyForUpdate(userId), "默认任务列表不存在");
         }
         
         // Create task
@@ -80,10 +133,18 @@ public class TaskService {
         
         task.setDueDate(taskRequest.getDueDate());
         task.setUser(user);
-        task.setTaskList(taskList);
+        task.setTaskList(append.taskList());
+        task.setRankKey(append.rankKey());
+        if (taskRequest.getRecurrence() != null) {
+            task.setRecurrence(validateRecurrence(taskRequest.getRecurrence(), task.getDueDate()));
+        }
+        task.setChangeSeq(changeSequenceService.next(userId));
         
         // Save task (createdAt and userId are automatically set - Requirement 3.5)
         Task savedTask = taskRepository.save(task);
+        reminderScheduler.taskSaved(savedTask);
+        dataVersionService.bump(userId);
+        eventPublisher.publishEvent(new EntityChangedEvent(userId, ChangeType.TASK_CREATED, savedTask.getId()));
         
         return mapToResponse(savedTask);
     }
@@ -109,6 +170,105 @@ public class TaskService {
         return mapToResponse(task);
     }
     
+    /**
+     * Get several tasks by ID with one query
+     * Tasks are returned in request order; IDs that do not exist or belong
+     * to another user are listed as missing without distinguishing the two.
+     * 
+     * @param taskIds the task IDs (duplicates are ignored)
+     * @param userId the user ID
+     * @return found tasks and missing IDs
+     */
+    @Transactional(readOnly = true)
+    public TaskBatchResponse getTasksByIds(List<Long> taskIds, Long userId) {
+        Set<Long> ids = new LinkedHashSet<>(taskIds);
+        if (ids.isEmpty()) {
+            throw new ValidationException("任务ID不能为空");
+        }
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new ValidationException("一次最多查询" + MAX_BATCH_IDS + "个任务");
+        }
+        
+        // Ownership is part of the query (user isolation - Requirement 5.3)
+        Map<Long, Task> found = taskRepository.findByIdInAndUserId(ids, userId).stream()
+            .collect(Collectors.toMap(Task::getId, Function.identity()));
+        
+        List<TaskResponse> tasks = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            Task task = found.get(id);
+            if (task != null) {
+                tasks.add(mapToResponse(task));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        
+        return new TaskBatchResponse(tasks, missingIds);
+    }
+    
+    /**
+     * Get a task by ID with only the requested fields
+     * Only the requested columns are read from the database.
+     * 
+     * @param taskId the task ID
+     * @param userId the user ID
+     * @param fields comma-separated field names
+     * @return map of the requested fields
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getTaskFieldsById(Long taskId, Long userId, String fields) {
+        List<String> selected = parseFields(fields);
+        
+        Map<String, Object> task = taskRepository.findFieldsById(taskId, selected)
+            .orElseThrow(() -> new ResourceNotFoundException("任务不存在"));
+        
+        // Verify ownership (Requirement 6.4)
+        if (!userId.equals(task.get("userId"))) {
+            throw new ForbiddenException("无权访问该任务");
+        }
+        
+        if (!selected.contains("userId")) {
+            task.remove("userId");
+        }
+        return task;
+    }
+    
+    /**
+     * Get tasks with only the requested fields
+     * Filters take the same precedence as the full listing: list, then
+     * search, then status, then priority. Only the requested columns are
+     * read, and task lists are only joined when listName is requested.
+     * 
+     * @param userId the user ID
+     * @param listId optional list ID filter
+     * @param status optional status filter
+     * @param priority optional priority filter
+     * @param search optional search term
+     * @param fields comma-separated field names
+     * @param page the page number (0-indexed)
+     * @param size the page size
+     * @return page of field maps
+     */
+    @SingleFlight
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getTaskFields(Long userId, Long listId, TaskStatus status,
+                                                   TaskPriority priority, String search, String fields,
+                                                   int page, int size) {
+        List<String> selected = parseFields(fields);
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        
+        String term = search != null && !search.trim().isEmpty() ? search.trim() : null;
+        if (listId != null) {
+            return taskRepository.findFieldsByUserId(userId, listId, null, null, null, selected, pageable);
+        } else if (term != null) {
+            return taskRepository.findFieldsByUserId(userId, null, null, null, term, selected, pageable);
+        } else if (status != null) {
+            return taskRepository.findFieldsByUserId(userId, null, status, null, null, selected, pageable);
+        }
+        return taskRepository.findFieldsByUserId(userId, null, null, priority, null, selected, pageable);
+    }
+    
     /**
      * Get all tasks for a user with pagination and sorting
      * Requirements: 5.1, 5.3, 5.5
@@ -118,6 +278,7 @@ public class TaskService {
      * @param size the page size
      * @return page of tasks
      */
+    @SingleFlight
     @Transactional(readOnly = true)
     public Page<TaskResponse> getAllTasks(Long userId, int page, int size) {
         // Sort by createdAt descending (newest first - Requirement 5.5)
@@ -141,6 +302,7 @@ public class TaskService {
      * @param size the page size
      * @return page of filtered tasks
      */
+    @SingleFlight
     @Transactional(readOnly = true)
     public Page<TaskResponse> getTasksWithFilters(Long userId, TaskStatus status, 
                                                    TaskPriority priority, String search,
@@ -253,6 +415,58 @@ public class TaskService {
             throw new ForbiddenException("无权编辑该任务");
         }
         
+        Recurrence previousRule = task.getRecurrence();
+        LocalDate previousAnchor = task.getDueDate();
+        applyRequest(task, taskRequest, userId);
+        
+        if (taskRequest.getRecurrence() != null) {
+            if (task.getSeries() != null) {
+                throw new ValidationException("重复任务的单次任务不能设置重复规则");
+            }
+            task.setRecurrence(taskRequest.getRecurrence());
+        }
+        if (task.getRecurrence() != null) {
+            task.setRecurrence(validateRecurrence(task.getRecurrence(), task.getDueDate()));
+        }
+        if (previousRule != null
+                && (!previousRule.equals(task.getRecurrence()) || !previousAnchor.equals(task.getDueDate()))) {
+            detachInvalidOccurrences(task, userId);
+        }
+        
+        task.setChangeSeq(changeSequenceService.next(userId));
+        
+        // Save task (updatedAt is automatically updated - Requirement 6.5)
+        Task updatedTask = taskRepository.save(task);
+        reminderScheduler.taskSaved(updatedTask);
+        dataVersionService.bump(userId);
+        eventPublisher.publishEvent(new EntityChangedEvent(userId, ChangeType.TASK_UPDATED, taskId));
+        
+        return mapToResponse(updatedTask);
+    }
+    
+    /**
+     * Apply the fields present in a request to a task
+     * 
+     * @param task the task to update
+     * @param taskRequest the updated task data; null fields are left unchanged
+     * @param userId the user ID
+     */
+    private void applyRequest(Task task, TaskRequest taskRequest, Long userId) {
+        // Update list if specified; first, as its lookup reads the tasks
+        // table and would flush the other changes in a statement of their own
+        if (taskRequest.getListId() != null && !taskRequest.getListId().equals(task.getTaskList().getId())) {
+            ListAppend append = appendTo(taskListRepository.findByIdWithLastRankKeyForUpdate(taskRequest.getListId()),
+                "任务列表不存在");
+            
+            // Verify the list belongs to the user
+            if (!append.taskList().getUser().getId().equals(userId)) {
+                throw new ForbiddenException("无权访问该任务列表");
+            }
+            
+            task.setTaskList(append.taskList());
+            task.setRankKey(append.rankKey());
+        }
+        
         // Validate title if provided
         if (taskRequest.getTitle() != null) {
             if (taskRequest.getTitle().trim().isEmpty()) {
@@ -277,24 +491,6 @@ public class TaskService {
         if (taskRequest.getDueDate() != null) {
             task.setDueDate(taskRequest.getDueDate());
         }
-        
-        // Update list if specified
-        if (taskRequest.getListId() != null) {
-            TaskList newList = taskListRepository.findById(taskRequest.getListId())
-                .orElseThrow(() -> new ResourceNotFoundException("任务列表不存在"));
-            
-            // Verify the list belongs to the user
-            if (!newList.getUser().getId().equals(userId)) {
-                throw new ForbiddenException("无权访问该任务列表");
-            }
-            
-            task.setTaskList(newList);
-        }
-        
-        // Save task (updatedAt is automatically updated - Requirement 6.5)
-        Task updatedTask = taskRepository.save(task);
-        
-        return mapToResponse(updatedTask);
     }
     
     /**
@@ -303,14 +499,20 @@ public class TaskService {
      * 
      * @param userId the user ID
      * @param listId the list ID
+     * @param manualOrder whether to sort by the manual order instead of newest first
      * @param page the page number (0-indexed)
      * @param size the page size
      * @return page of tasks in the specified list
      */
+    @SingleFlight
     @Transactional(readOnly = true)
-    public Page<TaskResponse> getTasksByListId(Long userId, Long listId, int page, int size) {
-        // Sort by createdAt descending to maintain sort order
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+    public Page<TaskResponse> getTasksByListId(Long userId, Long listId, boolean manualOrder, int page, int size) {
+        // Sort by createdAt descending to maintain sort order, or by the manual
+        // order, which the (list_id, rank_key, id) index serves; unranked tasks
+        // sort last (PostgreSQL puts nulls last in ascending order)
+        Pageable pageable = PageRequest.of(page, size, manualOrder
+            ? Sort.by(Sort.Direction.ASC, "rankKey", "id")
+            : Sort.by(Sort.Direction.DESC, "createdAt"));
         
         // Filter by list ID (Requirement 13.1)
         Page<Task> tasks = taskRepository.findByUserIdAndTaskListId(userId, listId, pageable);
@@ -335,8 +537,358 @@ public class TaskService {
             throw new ForbiddenException("无权删除该任务");
         }
         
+        // Completed and edited occurrences of a series outlive it as ordinary tasks
+        if (task.getRecurrence() != null) {
+            List<LocalDate> materialized = taskRepository.findOccurrenceDatesBySeriesId(taskId);
+            if (!materialized.isEmpty()) {
+                taskRepository.detachOccurrences(
+                    taskId, materialized, changeSequenceService.next(userId), LocalDateTime.now());
+            }
+        }
+        
         // Delete task (Requirement 7.1)
         taskRepository.delete(task);
+        reminderScheduler.taskDeleted(task);
+        tombstoneRepository.save(new SyncTombstone(
+            userId, SyncEntityType.TASK, taskId, changeSequenceService.next(userId)));
+        dataVersionService.bump(userId);
+        eventPublisher.publishEvent(new EntityChangedEvent(userId, ChangeType.TASK_DELETED, taskId));
+    }
+    
+    /**
+     * Move a task within the manual order of its list
+     * The task gets a key between those of its new neighbours; no other task
+     * is written unless the neighbours have no keys or equal keys, in which
+     * case the list is rebalanced first.
+     * 
+     * @param taskId the task ID
+     * @param moveRequest the new neighbours
+     * @param userId the user ID
+     * @return the moved task
+     * @throws ConflictException if the neighbours are no longer in that order
+     */
+    @Transactional
+    public TaskResponse moveTask(Long taskId, TaskMoveRequest moveRequest, Long userId) {
+        Task task = taskRepository.findById(taskId)
+            .orElseThrow(() -> new ResourceNotFoundException("任务不存在"));
+        
+        if (!task.getUser().getId().equals(userId)) {
+            throw new ForbiddenException("无权编辑该任务");
+        }
+        if (taskId.equals(moveRequest.getAfterId()) || taskId.equals(moveRequest.getBeforeId())) {
+            throw new ValidationException("不能相对于任务自身移动");
+        }
+        
+        // Moves, appends and rebalancing of a list take turns
+        TaskList list = taskListRepository.findByIdForUpdate(task.getTaskList().getId())
+            .orElseThrow(() -> new ResourceNotFoundException("任务列表不存在"));
+        Task after = moveRequest.getAfterId() != null ? neighbour(moveRequest.getAfterId(), list) : null;
+        Task before = moveRequest.getBeforeId() != null ? neighbour(moveRequest.getBeforeId(), list) : null;
+        
+        if ((after != null && after.getRankKey() == null) || (before != null && before.getRankKey() == null)
+                || (after != null && before != null && after.getRankKey().equals(before.getRankKey()))) {
+            rankRebalancer.rebalance(list);
+        }
+        if (after != null && before != null && after.getRankKey().compareTo(before.getRankKey()) > 0) {
+            throw new ConflictException("任务顺序已变化，请刷新后重试");
+        }
+        
+        String rankKey = TaskRankKeys.between(
+            after != null ? after.getRankKey() : null, before != null ? before.getRankKey() : null);
+        if (rankRebalancer.isTooLong(rankKey)) {
+            rankRebalancer.requestRebalance(list.getId());
+        }
+        task.setRankKey(rankKey);
+        task.setChangeSeq(changeSequenceService.next(userId));
+        
+        Task movedTask = taskRepository.save(task);
+        dataVersionService.bump(userId);
+        eventPublisher.publishEvent(new EntityChangedEvent(userId, ChangeType.TASK_UPDATED, taskId));
+        
+        return mapToResponse(movedTask);
+    }
+    
+    /**
+     * Get the tasks due in a date window, with the occurrences of recurring series
+     * Occurrences are expanded for the window only. A materialized occurrence
+     * replaces its virtual one and is listed on its own due date.
+     * 
+     * @param userId the user ID
+     * @param from first day of the window
+     * @param to last day of the window
+     * @return tasks and occurrences ordered by due date; virtual occurrences have no ID
+     * @throws ValidationException if the window is empty or longer than MAX_DATE_RANGE_DAYS
+     */
+    @SingleFlight
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTasksDueBetween(Long userId, LocalDate from, LocalDate to) {
+        validateDateRange(from, to);
+        
+        List<TaskResponse> result = new ArrayList<>();
+        for (Task task : taskRepository.findDueBetween(userId, from, to)) {
+            result.add(mapToResponse(task));
+        }
+        
+        int tasks = result.size();
+        forEachVirtualOccurrence(userId, from, to, (series, date) -> result.add(mapToOccurrence(series, date)));
+        if (result.size() > tasks) {
+            result.sort(Comparator.comparing(TaskResponse::getDueDate));
+        }
+        return result;
+    }
+    
+    /**
+     * Get the tasks due in a date range grouped by day, for a calendar view
+     * The tasks are read in one query (see TaskRepositoryCustom.findCalendarDays);
+     * virtual occurrences of recurring series are added to the counts and,
+     * where a day has room, to its tasks.
+     * 
+     * @param userId the user ID
+     * @param from first day of the range
+     * @param to last day of the range
+     * @param perDay maximum number of tasks returned per day
+     * @return days that have tasks, in date order
+     * @throws ValidationException if the range or perDay is out of bounds
+     */
+    @SingleFlight
+    @Transactional(readOnly = true)
+    public List<CalendarDayResponse> getCalendar(Long userId, LocalDate from, LocalDate to, int perDay) {
+        validateDateRange(from, to);
+        if (perDay < 0 || perDay > MAX_CALENDAR_TASKS_PER_DAY) {
+            throw new ValidationException("每天的任务数必须在0到" + MAX_CALENDAR_TASKS_PER_DAY + "之间");
+        }
+        
+        Map<LocalDate, CalendarDayResponse> days = new TreeMap<>();
+        for (CalendarDayResponse day : taskRepository.findCalendarDays(userId, from, to, perDay)) {
+            days.put(day.getDate(), day);
+        }
+        
+        forEachVirtualOccurrence(userId, from, to, (series, date) -> {
+            CalendarDayResponse day = days.computeIfAbsent(date, d -> new CalendarDayResponse(d, 0, new ArrayList<>()));
+            day.setCount(day.getCount() + 1);
+            if (day.getTasks().size() < perDay) {
+                day.getTasks().add(mapToOccurrence(series, date));
+            }
+        });
+        return new ArrayList<>(days.values());
+    }
+    
+    /**
+     * Complete or edit one occurrence of a recurring series
+     * The first change materializes the occurrence as a task of its own, with
+     * the fields of the series and those present in the request; later
+     * changes update it. Deleting that task brings the virtual occurrence back.
+     * 
+     * @param seriesId the series task ID
+     * @param date the occurrence date
+     * @param taskRequest the occurrence data; null fields are taken from the series
+     * @param userId the user ID
+     * @return the materialized occurrence
+     */
+    @Transactional
+    public TaskResponse updateOccurrence(Long seriesId, LocalDate date, TaskRequest taskRequest, Long userId) {
+        Task series = taskRepository.findById(seriesId)
+            .orElseThrow(() -> new ResourceNotFoundException("任务不存在"));
+        
+        if (!series.getUser().getId().equals(userId)) {
+            throw new ForbiddenException("无权编辑该任务");
+        }
+        if (series.getRecurrence() == null) {
+            throw new ValidationException("该任务不是重复任务");
+        }
+        if (!new RecurrenceExpander(series.getRecurrence(), series.getDueDate()).occursOn(date)) {
+            throw new ValidationException("该日期不是此任务的重复日期");
+        }
+        if (taskRequest.getRecurrence() != null) {
+            throw new ValidationException("重复任务的单次任务不能设置重复规则");
+        }
+        
+        Task occurrence = taskRepository.findBySeriesIdAndOccurrenceDate(seriesId, date).orElse(null);
+        ChangeType changeType = ChangeType.TASK_UPDATED;
+        if (occurrence == null) {
+            occurrence = new Task();
+            occurrence.setTitle(series.getTitle());
+            occurrence.setDescription(series.getDescription());
+            occurrence.setStatus(TaskStatus.TODO);
+            occurrence.setPriority(series.getPriority());
+            occurrence.setDueDate(date);
+            occurrence.setUser(series.getUser());
+            ListAppend append = appendTo(
+                taskListRepository.findByIdWithLastRankKeyForUpdate(series.getTaskList().getId()), "任务列表不存在");
+            occurrence.setTaskList(append.taskList());
+            occurrence.setRankKey(append.rankKey());
+            occurrence.setSeries(series);
+            occurrence.setOccurrenceDate(date);
+            changeType = ChangeType.TASK_CREATED;
+        }
+        applyRequest(occurrence, taskRequest, userId);
+        occurrence.setChangeSeq(changeSequenceService.next(userId));
+        
+        Task savedOccurrence = taskRepository.save(occurrence);
+        reminderScheduler.taskSaved(savedOccurrence);
+        dataVersionService.bump(userId);
+        eventPublisher.publishEvent(new EntityChangedEvent(userId, changeType, savedOccurrence.getId()));
+        
+        return mapToResponse(savedOccurrence);
+    }
+    
+    /**
+     * Load a neighbour of a moved task
+     * 
+     * @param taskId the neighbour task ID
+     * @param list the list of the moved task
+     * @return the neighbour task
+     * @throws ValidationException if the neighbour is not in the list
+     */
+    private Task neighbour(Long taskId, TaskList list) {
+        Task task = taskRepository.findById(taskId)
+            .orElseThrow(() -> new ResourceNotFoundException("任务不存在"));
+        if (!task.getTaskList().getId().equals(list.getId())) {
+            throw new ValidationException("相邻任务必须在同一任务列表中");
+        }
+        return task;
+    }
+    
+    /**
+     * Generate the key that appends a task to the manual order of a list
+     * The list comes locked, so appends do not race with moves and rebalancing.
+     * 
+     * @param rows the list with its last key, from a locking TaskListRepository query
+     * @param notFoundMessage message if there is no list
+     * @return the list and a key after every key of the list
+     * @throws ResourceNotFoundException if there is no list
+     */
+    private ListAppend appendTo(List<Object[]> rows, String notFoundMessage) {
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException(notFoundMessage);
+        }
+        TaskList taskList = (TaskList) rows.get(0)[0];
+        String rankKey = TaskRankKeys.between((String) rows.get(0)[1], null);
+        if (rankRebalancer.isTooLong(rankKey)) {
+            rankRebalancer.requestRebalance(taskList.getId());
+        }
+        return new ListAppend(taskList, rankKey);
+    }
+    
+    /**
+     * A locked list and the key that appends a task to it
+     */
+    private record ListAppend(TaskList taskList, String rankKey) {
+    }
+    
+    /**
+     * Validate a due date range
+     * 
+     * @param from first day of the range
+     * @param to last day of the range
+     * @throws ValidationException if the range is empty or longer than MAX_DATE_RANGE_DAYS
+     */
+    private void validateDateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("开始日期不能晚于结束日期");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DATE_RANGE_DAYS) {
+            throw new ValidationException("日期范围不能超过" + MAX_DATE_RANGE_DAYS + "天");
+        }
+    }
+    
+    /**
+     * Expand the virtual occurrences of a user's recurring series in a date window
+     * Occurrences that were materialized are skipped; their tasks are read
+     * like any other task.
+     * 
+     * @param userId the user ID
+     * @param from first day of the window
+     * @param to last day of the window
+     * @param action receives each series with the date of an occurrence
+     */
+    private void forEachVirtualOccurrence(Long userId, LocalDate from, LocalDate to,
+                                          BiConsumer<Task, LocalDate> action) {
+        Map<Long, Task> series = new LinkedHashMap<>();
+        Map<Long, Set<LocalDate>> materialized = new HashMap<>();
+        for (Object[] row : taskRepository.findRecurringWithOccurrenceDates(userId, from, to)) {
+            Task task = (Task) row[0];
+            series.putIfAbsent(task.getId(), task);
+            if (row[1] != null) {
+                materialized.computeIfAbsent(task.getId(), id -> new HashSet<>()).add((LocalDate) row[1]);
+            }
+        }
+        for (Task task : series.values()) {
+            Set<LocalDate> skip = materialized.getOrDefault(task.getId(), Set.of());
+            for (LocalDate date : new RecurrenceExpander(task.getRecurrence(), task.getDueDate()).dates(from, to)) {
+                if (!skip.contains(date)) {
+                    action.accept(task, date);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Validate a recurrence rule for a series starting on a due date
+     * 
+     * @param recurrence the requested rule
+     * @param dueDate the due date of the series, its first occurrence
+     * @return a copy of the rule with the default interval applied
+     * @throws ValidationException if the rule cannot produce occurrences
+     */
+    private Recurrence validateRecurrence(Recurrence recurrence, LocalDate dueDate) {
+        if (dueDate == null) {
+            throw new ValidationException("重复任务必须设置截止日期");
+        }
+        if (recurrence.getUntil() != null && recurrence.getUntil().isBefore(dueDate)) {
+            throw new ValidationException("重复结束日期不能早于截止日期");
+        }
+        return new Recurrence(recurrence.getFrequency(),
+            recurrence.getInterval() != null ? recurrence.getInterval() : 1,
+            recurrence.getUntil());
+    }
+    
+    /**
+     * Detach the materialized occurrences a changed series no longer has
+     * Keeps every remaining materialized occurrence on a date of its series,
+     * which the occurrence counts of the statistics rely on.
+     * 
+     * @param series the series task with its new rule and due date
+     * @param userId the user ID
+     */
+    private void detachInvalidOccurrences(Task series, Long userId) {
+        RecurrenceExpander expander = new RecurrenceExpander(series.getRecurrence(), series.getDueDate());
+        List<LocalDate> invalid = taskRepository.findOccurrenceDatesBySeriesId(series.getId()).stream()
+            .filter(date -> !expander.occursOn(date))
+            .toList();
+        if (!invalid.isEmpty()) {
+            taskRepository.detachOccurrences(
+                series.getId(), invalid, changeSequenceService.next(userId), LocalDateTime.now());
+        }
+    }
+    
+    /**
+     * Parse a fields parameter into known field names
+     * The ID is always included; fields are returned in canonical order.
+     * 
+     * @param fields comma-separated field names
+     * @return selected field names
+     * @throws ValidationException if a field name is unknown
+     */
+    private List<String> parseFields(String fields) {
+        Set<String> requested = Arrays.stream(fields.split(","))
+            .map(String::trim)
+            .filter(field -> !field.isEmpty())
+            .collect(Collectors.toSet());
+        
+        for (String field : requested) {
+            if (!TaskRepositoryCustom.SPARSE_FIELDS.contains(field)) {
+                throw new ValidationException("无效的字段: " + field);
+            }
+        }
+        
+        List<String> selected = new ArrayList<>();
+        for (String field : TaskRepositoryCustom.SPARSE_FIELDS) {
+            if (field.equals("id") || requested.contains(field)) {
+                selected.add(field);
+            }
+        }
+        return selected;
     }
     
     /**
@@ -345,7 +897,7 @@ public class TaskService {
      * @param task the task entity
      * @return the task response DTO
      */
-    private TaskResponse mapToResponse(Task task) {
+    TaskResponse mapToResponse(Task task) {
         TaskResponse response = new TaskResponse();
         response.setId(task.getId());
         response.setTitle(task.getTitle());
@@ -358,6 +910,34 @@ public class TaskService {
         response.setListName(task.getTaskList().getName());
         response.setCreatedAt(task.getCreatedAt());
         response.setUpdatedAt(task.getUpdatedAt());
+        response.setRecurrence(task.getRecurrence());
+        response.setSeriesId(task.getSeries() != null ? task.getSeries().getId() : null);
+        response.setOccurrenceDate(task.getOccurrenceDate());
+        response.setRankKey(task.getRankKey());
+        return response;
+    }
+    
+    /**
+     * Map a virtual occurrence of a series to a TaskResponse DTO
+     * 
+     * @param series the series task
+     * @param date the occurrence date
+     * @return the occurrence response DTO, without an ID
+     */
+    private TaskResponse mapToOccurrence(Task series, LocalDate date) {
+        TaskResponse response = new TaskResponse();
+        response.setTitle(series.getTitle());
+        response.setDescription(series.getDescription());
+        response.setStatus(TaskStatus.TODO);
+        response.setPriority(series.getPriority());
+        response.setDueDate(date);
+        response.setUserId(series.getUser().getId());
+        response.setListId(series.getTaskList().getId());
+        response.setListName(series.getTaskList().getName());
+        response.setCreatedAt(series.getCreatedAt());
+        response.setUpdatedAt(series.getUpdatedAt());
+        response.setSeriesId(series.getId());
+        response.setOccurrenceDate(date);
         return response;
     }
 }
@@ -0,0 +1,117 @@
+package com.taskmanager.web;
+
+import com.taskmanager.security.JwtUtil;
+import com.taskmanager.service.DataVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Interceptor answering conditional GET requests from the user's data version
+ * Sets a weak ETag on every read and replies 304 Not Modified when the
+ * client's If-None-Match still matches, without invoking the controller.
+ * The tag names the response format and Vary: Accept is set, so a cache
+ * never answers a CBOR request with a JSON body or its 304.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+    
+    /**
+     * Formats the reads can produce, in the order of the message converters
+     */
+    private static final List<MediaType> FORMATS = List.of(
+        MediaType.APPLICATION_JSON,
+        MediaType.APPLICATION_CBOR,
+        new MediaType("application", "x-jackson-smile"));
+    
+    private final DataVersionService dataVersionService;
+    private final JwtUtil jwtUtil;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return true;
+        }
+        
+        Long userId;
+        try {
+            userId = jwtUtil.extractUserId(authHeader.substring(7));
+        } catch (Exception e) {
+            log.debug("Skipping conditional GET, token not readable: {}", e.getMessage());
+            return true;
+        }
+        if (userId == null) {
+            return true;
+        }
+        
+        MediaType format = negotiateFormat(request);
+        if (format == null) {
+            return true;
+        }
+        String etag = dataVersionService.getETag(userId, format.getSubtype());
+        if (etag == null) {
+            return true;
+        }
+        
+        // Let the browser keep the response but always revalidate it
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        
+        // Sets the ETag header and, on a match, the 304 status
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+    
+    /**
+     * Pick the format the response will be written in
+     * Each format gets the quality of the most specific Accept range that
+     * includes it; the highest quality wins and ties go to the converter order,
+     * as in Spring MVC's content negotiation. JSON is the default.
+     * 
+     * @param request the request
+     * @return the format, or null if none is acceptable or Accept is malformed
+     */
+    private MediaType negotiateFormat(HttpServletRequest request) {
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(Collections.list(request.getHeaders(HttpHeaders.ACCEPT)));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        if (accepted.isEmpty()) {
+            return FORMATS.get(0);
+        }
+        
+        MediaType best = null;
+        double bestQuality = 0;
+        for (MediaType format : FORMATS) {
+            MediaType range = null;
+            for (MediaType candidate : accepted) {
+                if (candidate.includes(format) && (range == null || range.includes(candidate))) {
+                    range = candidate;
+                }
+            }
+            if (range != null && range.getQualityValue() > bestQuality) {
+                best = format;
+                bestQuality = range.getQualityValue();
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,60 @@
+package com.taskmanager.web;
+
+import com.taskmanager.jfr.RequestEvent;
+import com.taskmanager.metrics.SqlStatementCounter;
+import com.taskmanager.security.JwtAuthenticationFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Emits a JFR RequestEvent per HTTP request
+ * Does nothing beyond one enabled check while no recording has the event on.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 11)
+@RequiredArgsConstructor
+public class FlightRecorderRequestFilter extends OncePerRequestFilter {
+    
+    private final SqlStatementCounter counter;
+    
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        
+        RequestEvent event = new RequestEvent();
+        if (!event.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        long statementsBefore = counter.current();
+        event.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                Object userId = request.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+                event.method = request.getMethod();
+                event.uri = pattern != null ? pattern.toString() : request.getRequestURI();
+                event.status = response.getStatus();
+                event.userId = userId != null ? (Long) userId : 0;
+                event.sqlStatements = counter.current() - statementsBefore;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.taskmanager.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.taskmanager.metrics.SqlFlightRecorder;
+import com.taskmanager.security.JwtAuthenticationFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Logs the SQL statements of slow and failed requests
+ * Every request records its statements in the SqlFlightRecorder. When the
+ * request took longer than sql-flight-recorder.threshold, answered with a
+ * 5xx status or threw, the recording is logged as one JSON event on the
+ * com.taskmanager.web.SlowRequestSqlFilter logger; otherwise it is discarded.
+ * Unlike Hibernate's SQL log this is cheap enough to keep on in production.
+ *
+ * Bodies streamed after the controller returned (the task export) are
+ * written on another thread and not recorded.
+ */
+@Component
+@ConditionalOnProperty(name = "sql-flight-recorder.enabled", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE + 13)
+@Slf4j
+public class SlowRequestSqlFilter extends OncePerRequestFilter {
+    
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    
+    private final SqlFlightRecorder recorder;
+    private final ObjectMapper objectMapper;
+    private final long thresholdNanos;
+    private final int maxSqlLength;
+    
+    public SlowRequestSqlFilter(
+            SqlFlightRecorder recorder,
+            ObjectMapper objectMapper,
+            @Value("${sql-flight-recorder.threshold:1s}") Duration threshold,
+            @Value("${sql-flight-recorder.max-sql-length:2000}") int maxSqlLength) {
+        this.recorder = recorder;
+        this.objectMapper = objectMapper;
+        this.thresholdNanos = threshold.toNanos();
+        this.maxSqlLength = maxSqlLength;
+    }
+    
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        
+        long started = System.nanoTime();
+        Throwable error = null;
+        recorder.start();
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            SqlFlightRecorder.Recording recording = recorder.stop();
+            long elapsed = System.nanoTime() - started;
+            if (elapsed >= thresholdNanos || response.getStatus() >= 500 || error != null) {
+                log.warn("{}", toJson(request, response, elapsed, error, recording));
+            }
+        }
+    }
+    
+    private String toJson(HttpServletRequest request, HttpServletResponse response, long elapsed,
+                          Throwable error, SqlFlightRecorder.Recording recording) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Object userId = request.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+        
+        ObjectNode event = objectMapper.createObjectNode();
+        event.put("event", "slow-request-sql");
+        event.put("method", request.getMethod());
+        event.put("uri", pattern != null ? pattern.toString() : request.getRequestURI());
+        event.put("status", response.getStatus());
+        event.put("durationMs", elapsed / NANOS_PER_MILLI);
+        if (userId != null) {
+            event.put("userId", (Long) userId);
+        }
+        if (error != null) {
+            event.put("error", error.getClass().getName());
+        }
+        event.put("sqlStatements", recording.getCount());
+        event.put("sqlTimeMs", recording.getTotalNanos() / NANOS_PER_MILLI);
+        event.put("statementsNotKept", recording.getDropped());
+        
+        ArrayNode statements = event.putArray("statements");
+        for (SqlFlightRecorder.Statement statement : recording.getStatements()) {
+            ObjectNode node = statements.addObject();
+            node.put("atMs", statement.offsetNanos() / NANOS_PER_MILLI);
+            node.put("durationMs", statement.durationNanos() / NANOS_PER_MILLI);
+            node.put("rows", statement.rows());
+            if (statement.failed()) {
+                node.put("failed", true);
+            }
+            String sql = statement.sql();
+            node.put("sql", sql.length() > maxSqlLength ? sql.substring(0, maxSqlLength) + "..." : sql);
+        }
+        return event.toString();
+    }
+}
@@ -0,0 +1,160 @@
+package com.taskmanager.web;
+
+import com.taskmanager.security.JwtAuthenticationFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Captures anonymized request metadata for replay in performance tests
+ * Opt-in with traffic.capture.enabled=true. Each captured /api request
+ * becomes one line in the TrafficCaptureLog:
+ *
+ *   offsetMs  method  uriTemplate  query  userBucket  status  durationMicros
+ *
+ * Nothing identifying is written:
+ * - the URI template (/api/tasks/{id}) is recorded, never the concrete path
+ * - page, size and enum-like parameters are kept as they are
+ * - IDs and cursors are replaced by * (ids by *count)
+ * - free text such as search terms by ~length:hash
+ * - tokens are dropped
+ * - the user by a bucket number
+ * Hashes and buckets use a key that only lives in memory, so they are
+ * consistent within one run (repeated searches and busy users stay visible)
+ * but cannot be linked to a user or term afterwards. No bodies are captured.
+ */
+@Component
+@ConditionalOnProperty(name = "traffic.capture.enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE + 12)
+public class TrafficCaptureFilter extends OncePerRequestFilter {
+    
+    private static final Set<String> KEPT_PARAMETERS = Set.of(
+        "page", "size", "limit", "status", "priority", "fields", "format", "gzip");
+    private static final Set<String> ID_PARAMETERS = Set.of("listId", "cursor");
+    private static final Set<String> DROPPED_PARAMETERS = Set.of("token");
+    
+    private final TrafficCaptureLog captureLog;
+    private final double sampleRate;
+    private final int userBuckets;
+    private final SecretKeySpec key;
+    
+    public TrafficCaptureFilter(
+            TrafficCaptureLog captureLog,
+            @Value("${traffic.capture.sample-rate:1.0}") double sampleRate,
+            @Value("${traffic.capture.user-buckets:1024}") int userBuckets) {
+        this.captureLog = captureLog;
+        this.sampleRate = sampleRate;
+        this.userBuckets = userBuckets;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, "HmacSHA256");
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/")
+            || ThreadLocalRandom.current().nextDouble() >= sampleRate;
+    }
+    
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        
+        long started = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long duration = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started);
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Object userId = request.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+            captureLog.append(String.join("\t",
+                String.valueOf(captureLog.offsetMillis(started)),
+                request.getMethod(),
+                pattern != null ? pattern.toString() : "UNKNOWN",
+                anonymizeQuery(request.getParameterMap()),
+                userId != null ? String.valueOf(bucket((Long) userId)) : "-",
+                String.valueOf(response.getStatus()),
+                String.valueOf(duration)));
+        }
+    }
+    
+    /**
+     * Query string with the values anonymized, parameters sorted by name
+     */
+    String anonymizeQuery(Map<String, String[]> parameters) {
+        StringBuilder query = new StringBuilder();
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(parameters).entrySet()) {
+            String name = parameter.getKey();
+            if (DROPPED_PARAMETERS.contains(name)) {
+                continue;
+            }
+            for (String value : parameter.getValue()) {
+                if (!query.isEmpty()) {
+                    query.append('&');
+                }
+                query.append(name).append('=').append(anonymizeValue(name, value));
+            }
+        }
+        return query.isEmpty() ? "-" : query.toString();
+    }
+    
+    private String anonymizeValue(String name, String value) {
+        if (KEPT_PARAMETERS.contains(name)) {
+            // Kept values are short tokens; anything else would break the line format
+            return value.matches("[A-Za-z0-9_,.-]{0,64}") ? value : "~" + value.length();
+        }
+        if (ID_PARAMETERS.contains(name)) {
+            return "*";
+        }
+        if (name.equals("ids")) {
+            return "*" + (StringUtils.hasText(value) ? value.split(",").length : 0);
+        }
+        return "~" + value.length() + ":" + hash(value.trim().toLowerCase(Locale.ROOT));
+    }
+    
+    private int bucket(long userId) {
+        byte[] digest = mac(Long.toString(userId));
+        int value = ((digest[0] & 0xff) << 24) | ((digest[1] & 0xff) << 16)
+            | ((digest[2] & 0xff) << 8) | (digest[3] & 0xff);
+        return Math.floorMod(value, userBuckets);
+    }
+    
+    private String hash(String value) {
+        return HexFormat.of().formatHex(mac(value), 0, 4);
+    }
+    
+    private byte[] mac(String value) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
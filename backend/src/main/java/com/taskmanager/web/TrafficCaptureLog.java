@@ -0,0 +1,132 @@
+package com.taskmanager.web;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only file of captured request lines
+ * Lines are queued by the request threads and written by one background
+ * thread, so a slow disk never delays a request; when the queue is full the
+ * line is dropped. Capturing stops once the file reaches its maximum size.
+ *
+ * The file starts with a header line per capture session:
+ *   #taskmanager-capture v1 started=2024-01-01T10:00:00Z
+ * followed by one tab-separated line per request (see TrafficCaptureFilter).
+ * Offsets restart at 0 after each header.
+ */
+@Component
+@ConditionalOnProperty(name = "traffic.capture.enabled", havingValue = "true")
+@Slf4j
+public class TrafficCaptureLog {
+    
+    static final String HEADER_PREFIX = "#taskmanager-capture v1 started=";
+    
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final long FLUSH_INTERVAL_MILLIS = 1000;
+    
+    private final Path file;
+    private final long maxSizeBytes;
+    private final BlockingQueue<String> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private final long startedNanos = System.nanoTime();
+    private final Thread writer;
+    private volatile boolean full;
+    private volatile boolean running = true;
+    
+    public TrafficCaptureLog(
+            @Value("${traffic.capture.file:capture/traffic.tsv}") String file,
+            @Value("${traffic.capture.max-size-mb:500}") long maxSizeMb) throws IOException {
+        this.file = Path.of(file);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        
+        Path directory = this.file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        this.writer = new Thread(this::writeLoop, "traffic-capture-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        
+        log.info("Capturing request traffic to {} (max {} MB)", this.file.toAbsolutePath(), maxSizeMb);
+    }
+    
+    /**
+     * Milliseconds since capturing started
+     */
+    long offsetMillis(long nanoTime) {
+        return TimeUnit.NANOSECONDS.toMillis(nanoTime - startedNanos);
+    }
+    
+    /**
+     * Queue a line for writing
+     *
+     * @param line the line without line terminator
+     */
+    void append(String line) {
+        if (full) {
+            return;
+        }
+        if (!queue.offer(line)) {
+            dropped.incrementAndGet();
+        }
+    }
+    
+    private void writeLoop() {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            long size = Files.size(file);
+            String header = HEADER_PREFIX + Instant.now() + "\n";
+            out.write(header);
+            size += header.length();
+            long lastFlush = System.currentTimeMillis();
+            
+            while (running || !queue.isEmpty()) {
+                String line = queue.poll(FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (line != null) {
+                    out.write(line);
+                    out.write('\n');
+                    size += line.length() + 1;
+                    if (size >= maxSizeBytes) {
+                        full = true;
+                        log.warn("Traffic capture file {} reached its maximum size, capturing stopped", file);
+                        break;
+                    }
+                }
+                if (System.currentTimeMillis() - lastFlush >= FLUSH_INTERVAL_MILLIS) {
+                    out.flush();
+                    lastFlush = System.currentTimeMillis();
+                }
+            }
+        } catch (IOException e) {
+            full = true;
+            log.error("Traffic capture to {} failed, capturing stopped", file, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Write out the queued lines on shutdown
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        if (dropped.get() > 0) {
+            log.warn("Traffic capture dropped {} requests because the writer fell behind", dropped.get());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.taskmanager.budget;
+
+import com.taskmanager.dto.RegisterRequest;
+import com.taskmanager.model.Recurrence;
+import com.taskmanager.model.RecurrenceFrequency;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskList;
+import com.taskmanager.model.User;
+import com.taskmanager.repository.TaskListRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.security.JwtUtil;
+import com.taskmanager.service.AuthService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes generated datasets to the database
+ */
+@RequiredArgsConstructor
+class DatasetSeeder {
+
+    private final AuthService authService;
+    private final JwtUtil jwtUtil;
+    private final TaskListRepository taskListRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * A seeded user with the IDs of their data
+     *
+     * @param listIds IDs of the lists, default list first, in dataset order
+     * @param taskIds IDs of the tasks, in dataset order
+     */
+    record SeededUser(Long userId, String authorization, UserDataset dataset,
+                      List<Long> listIds, List<Long> taskIds) {
+
+        Long defaultListId() {
+            return listIds.get(0);
+        }
+    }
+
+    /**
+     * Register a user and store a dataset as their lists and tasks
+     *
+     * @param name unique user name, also used for the email
+     * @param dataset the dataset
+     * @return the seeded user
+     */
+    SeededUser seed(String name, UserDataset dataset) {
+        User user = authService.registerUser(
+            new RegisterRequest(name, name + "@budget.test", "budget-password"));
+        String authorization = "Bearer " + jwtUtil.generateToken(user.getId(), user.getEmail());
+
+        return transactionTemplate.execute(status -> {
+            List<TaskList> lists = new ArrayList<>();
+            lists.add(taskListRepository.findByUserIdAndIsDefault(user.getId(), true).orElseThrow());
+            for (String listName : dataset.listNames()) {
+                lists.add(newList(user, listName));
+            }
+            taskListRepository.saveAll(lists.subList(1, lists.size()));
+
+            LocalDate today = LocalDate.now();
+            List<Task> tasks = new ArrayList<>();
+            for (UserDataset.TaskSpec spec : dataset.tasks()) {
+                Task task = new Task();
+                task.setTitle(spec.title());
+                task.setDescription(spec.description());
+                task.setStatus(spec.status());
+                task.setPriority(spec.priority());
+                task.setDueDate(spec.dueInDays() == null ? null : today.plusDays(spec.dueInDays()));
+                task.setUser(user);
+                task.setTaskList(lists.get(spec.listIndex()));
+                tasks.add(task);
+            }
+            taskRepository.saveAll(tasks);
+
+            return new SeededUser(user.getId(), authorization, dataset,
+                lists.stream().map(TaskList::getId).toList(),
+                tasks.stream().map(Task::getId).toList());
+        });
+    }
+
+    /**
+     * Add an extra list holding a number of new tasks
+     *
+     * @param user the owner
+     * @param tasks number of tasks to put in the list
+     * @return the list ID
+     */
+    Long addListWithTasks(SeededUser user, int tasks) {
+        return transactionTemplate.execute(status -> {
+            User owner = userRepository.getReferenceById(user.userId());
+            TaskList list = taskListRepository.save(newList(owner, "Scratch " + System.nanoTime()));
+            for (int i = 0; i < tasks; i++) {
+                taskRepository.save(newTask(owner, list, "Scratch task " + i));
+            }
+            return list.getId();
+        });
+    }
+
+    /**
+     * Add a task to the user's default list
+     *
+     * @param user the owner
+     * @return the task ID
+     */
+    Long addTask(SeededUser user) {
+        return transactionTemplate.execute(status -> {
+            User owner = userRepository.getReferenceById(user.userId());
+            TaskList list = taskListRepository.getReferenceById(user.defaultListId());
+            return taskRepository.save(newTask(owner, list, "Scratch task")).getId();
+        });
+    }
+
+    /**
+     * Add recurring series to the user's default list
+     * Series start a month ago with varying frequencies and intervals, and
+     * the first occurrence of each is materialized, as after editing it.
+     *
+     * @param user the owner
+     * @param count number of series
+     */
+    void addSeries(SeededUser user, int count) {
+        transactionTemplate.executeWithoutResult(status -> {
+            User owner = userRepository.getReferenceById(user.userId());
+            TaskList list = taskListRepository.getReferenceById(user.defaultListId());
+            RecurrenceFrequency[] frequencies = RecurrenceFrequency.values();
+            LocalDate today = LocalDate.now();
+            for (int i = 0; i < count; i++) {
+                Task series = newTask(owner, list, "Series " + i);
+                series.setDueDate(today.minusDays(30 + i));
+                series.setRecurrence(new Recurrence(frequencies[i % frequencies.length], 1 + i % 3, null));
+                taskRepository.save(series);
+
+                Task occurrence = newTask(owner, list, "Series " + i);
+                occurrence.setDueDate(series.getDueDate());
+                occurrence.setSeries(series);
+                occurrence.setOccurrenceDate(series.getDueDate());
+                taskRepository.save(occurrence);
+            }
+        });
+    }
+
+    private static TaskList newList(User user, String name) {
+        TaskList list = new TaskList();
+        list.setName(name);
+        list.setUser(user);
+        list.setIsDefault(false);
+        return list;
+    }
+
+    private static Task newTask(User user, TaskList list, String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setUser(user);
+        task.setTaskList(list);
+        return task;
+    }
+}
@@ -0,0 +1,505 @@
+package com.taskmanager.budget;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.TaskImportRow;
+import com.taskmanager.dto.TaskListRequest;
+import com.taskmanager.dto.TaskMoveRequest;
+import com.taskmanager.dto.TaskRequest;
+import com.taskmanager.metrics.SqlStatementCounter;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.repository.TaskListRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.security.JwtUtil;
+import com.taskmanager.service.AuthService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statement and latency budgets of the task, list and statistics endpoints
+ *
+ * Every endpoint is called for a small and a large generated user. A call
+ * must stay within the endpoint's statement budget and latency ceiling, and
+ * must issue the same number of statements for both users: a count that
+ * grows with the data is an N+1 even while it is still under budget. Pages
+ * and filters are chosen so both users fill a whole page.
+ *
+ * The second-level cache is emptied before every measured call, so budgets
+ * are the cold-cache cost. Statements are counted by SqlStatementCounter,
+ * which sees Hibernate only; JdbcTemplate statements (change sequence,
+ * import merge) are not part of the budgets.
+ *
+ * Needs the PostgreSQL database of application-test.yml.
+ * Runs in mvn verify; mvn test -Pbudget-tests runs it in the test phase.
+ */
+@Tag("budget")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointBudgetTest {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 5;
+
+    private static final Duration READ_CEILING = Duration.ofMillis(150);
+    private static final Duration WRITE_CEILING = Duration.ofMillis(250);
+    private static final Duration BULK_CEILING = Duration.ofMillis(1000);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SqlStatementCounter statementCounter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private DatasetSeeder seeder;
+    private DatasetSeeder.SeededUser small;
+    private DatasetSeeder.SeededUser large;
+    private DatasetSeeder.SeededUser smallWithSeries;
+    private DatasetSeeder.SeededUser largeWithSeries;
+
+    @BeforeAll
+    void seedUsers() {
+        seeder = new DatasetSeeder(authService, jwtUtil, taskListRepository, taskRepository,
+            userRepository, transactionTemplate);
+        // With 3 values or 3 lists the most common one holds a third of the
+        // tasks, so 30 tasks fill a page of 10 under every filter
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        small = seeder.seed("small-" + run, UserDataset.generate(40L, 2, 30));
+        large = seeder.seed("large-" + run, UserDataset.generate(41L, 15, 600));
+        // Recurring series change the statistics and date-window reads, so
+        // they get users of their own and the other budgets stay comparable
+        smallWithSeries = seeder.seed("small-series-" + run, UserDataset.generate(42L, 2, 30));
+        seeder.addSeries(smallWithSeries, 3);
+        largeWithSeries = seeder.seed("large-series-" + run, UserDataset.generate(43L, 15, 600));
+        seeder.addSeries(largeWithSeries, 30);
+    }
+
+    // ---- TaskController ----
+
+    @Test
+    void createTaskInDefaultList() throws Exception {
+        // filter lookup (also the task's user), locked default list with
+        // its last rank key, insert
+        assertWithinBudget("POST /api/tasks", 3, WRITE_CEILING,
+            user -> post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                .content(json(taskRequest("Budget task", null))));
+    }
+
+    @Test
+    void createTaskInList() throws Exception {
+        assertWithinBudget("POST /api/tasks (listId)", 3, WRITE_CEILING,
+            user -> post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                .content(json(taskRequest("Budget task", fullestList(user)))));
+    }
+
+    @Test
+    void getAllTasks() throws Exception {
+        // filter lookup, page, count
+        assertWithinBudget("GET /api/tasks", 3, READ_CEILING,
+            user -> page(get("/api/tasks")));
+    }
+
+    @Test
+    void getTasksByStatus() throws Exception {
+        assertWithinBudget("GET /api/tasks?status", 3, READ_CEILING,
+            user -> page(get("/api/tasks")).param("status", user.dataset().mostCommonStatus().name()));
+    }
+
+    @Test
+    void getTasksByPriority() throws Exception {
+        assertWithinBudget("GET /api/tasks?priority", 3, READ_CEILING,
+            user -> page(get("/api/tasks")).param("priority", user.dataset().mostCommonPriority().name()));
+    }
+
+    @Test
+    void searchTasks() throws Exception {
+        assertWithinBudget("GET /api/tasks?search", 3, READ_CEILING,
+            user -> page(get("/api/tasks")).param("search", user.dataset().mostCommonTitlePrefix()));
+    }
+
+    @Test
+    void getTasksByList() throws Exception {
+        assertWithinBudget("GET /api/tasks?listId", 3, READ_CEILING,
+            user -> page(get("/api/tasks")).param("listId", fullestList(user).toString()));
+    }
+
+    @Test
+    void getTaskFields() throws Exception {
+        assertWithinBudget("GET /api/tasks?fields", 3, READ_CEILING,
+            user -> page(get("/api/tasks")).param("fields", "id,title,status,listName"));
+    }
+
+    @Test
+    void getTasksByIds() throws Exception {
+        assertWithinBudget("GET /api/tasks/batch", 2, READ_CEILING,
+            user -> get("/api/tasks/batch").param("ids", user.taskIds().subList(0, PAGE_SIZE).stream()
+                .map(String::valueOf).collect(Collectors.joining(","))));
+    }
+
+    @Test
+    void getTaskById() throws Exception {
+        // filter lookup, task, its list
+        assertWithinBudget("GET /api/tasks/{id}", 3, READ_CEILING,
+            user -> get("/api/tasks/{id}", user.taskIds().get(0)));
+    }
+
+    @Test
+    void getTaskFieldsById() throws Exception {
+        assertWithinBudget("GET /api/tasks/{id}?fields", 2, READ_CEILING,
+            user -> get("/api/tasks/{id}", user.taskIds().get(0)).param("fields", "id,title,listName"));
+    }
+
+    @Test
+    void updateTask() throws Exception {
+        // filter lookup, task, update, response list name; the list is
+        // unchanged after the first call, so it is not looked up
+        assertWithinBudget("PUT /api/tasks/{id}", 4, WRITE_CEILING,
+            user -> put("/api/tasks/{id}", user.taskIds().get(1)).contentType(MediaType.APPLICATION_JSON)
+                .content(json(taskRequest("Updated budget task", fullestList(user)))));
+    }
+
+    @Test
+    void updateTaskMovingList() throws Exception {
+        // filter lookup, task, locked new list with its last rank key, update
+        assertWithinBudget("PUT /api/tasks/{id} (new list)", 4, WRITE_CEILING,
+            user -> {
+                // Every call moves the task to the list it is not in
+                Long taskId = user.taskIds().get(2);
+                Long listId = taskRepository.findById(taskId).orElseThrow().getTaskList().getId();
+                Long otherList = listId.equals(user.defaultListId()) ? fullestList(user) : user.defaultListId();
+                return put("/api/tasks/{id}", taskId).contentType(MediaType.APPLICATION_JSON)
+                    .content(json(taskRequest("Moved budget task", otherList)));
+            });
+    }
+
+    @Test
+    void moveTask() throws Exception {
+        // filter lookup, task, locked list, both neighbours, update
+        assertWithinBudget("PUT /api/tasks/{id}/position", 6, WRITE_CEILING,
+            user -> {
+                // Move the last task of the list between its first two, so
+                // a fresh key is generated between two ranked neighbours
+                List<Long> order = taskRepository.findByTaskListIdInRankOrder(fullestList(user)).stream()
+                    .map(Task::getId).toList();
+                return put("/api/tasks/{id}/position", order.get(order.size() - 1))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(json(new TaskMoveRequest(order.get(0), order.get(1))));
+            });
+    }
+
+    @Test
+    void getCalendar() throws Exception {
+        // filter lookup, per-day buckets, series with their materialized dates
+        assertWithinBudget("GET /api/tasks/calendar", 3, READ_CEILING,
+            user -> monthView(get("/api/tasks/calendar")));
+    }
+
+    @Test
+    void getCalendarWithSeries() throws Exception {
+        assertWithinBudget("GET /api/tasks/calendar (series)", 3, READ_CEILING,
+            smallWithSeries, largeWithSeries, user -> monthView(get("/api/tasks/calendar")));
+    }
+
+    @Test
+    void getOccurrences() throws Exception {
+        // filter lookup, tasks due in the window, series with their
+        // materialized dates
+        assertWithinBudget("GET /api/tasks/occurrences", 3, READ_CEILING,
+            user -> monthView(get("/api/tasks/occurrences")));
+    }
+
+    @Test
+    void getOccurrencesWithSeries() throws Exception {
+        assertWithinBudget("GET /api/tasks/occurrences (series)", 3, READ_CEILING,
+            smallWithSeries, largeWithSeries, user -> monthView(get("/api/tasks/occurrences")));
+    }
+
+    @Test
+    void deleteTask() throws Exception {
+        // filter lookup, task, delete, tombstone
+        assertWithinBudget("DELETE /api/tasks/{id}", 4, WRITE_CEILING,
+            user -> delete("/api/tasks/{id}", seeder.addTask(user)));
+    }
+
+    @Test
+    void exportTasks() throws Exception {
+        // Streamed from a cursor on an async thread, so only the latency is checked
+        for (DatasetSeeder.SeededUser user : List.of(small, large)) {
+            List<Duration> timings = new ArrayList<>();
+            for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+                long start = System.nanoTime();
+                MvcResult result = mockMvc.perform(get("/api/tasks/export")
+                        .header("Authorization", user.authorization()))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+                mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+                if (run >= WARMUP_RUNS) {
+                    timings.add(Duration.ofNanos(System.nanoTime() - start));
+                }
+            }
+            assertLatency("GET /api/tasks/export", user, timings, BULK_CEILING);
+        }
+    }
+
+    @Test
+    void importTasks() throws Exception {
+        // A fixed number of rows into existing lists; the staging and merge
+        // statements go through JdbcTemplate
+        assertWithinBudget("POST /api/tasks/import", 4, BULK_CEILING,
+            user -> post("/api/tasks/import").contentType(MediaType.APPLICATION_NDJSON)
+                .content(importBody(user, 50)));
+    }
+
+    @Test
+    void getImportProgress() throws Exception {
+        for (DatasetSeeder.SeededUser user : List.of(small, large)) {
+            mockMvc.perform(post("/api/tasks/import").param("importId", "budget")
+                    .header("Authorization", user.authorization())
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .content(importBody(user, 5)))
+                .andExpect(status().isOk());
+        }
+        // Progress is kept in memory: only the filter's user lookup
+        assertWithinBudget("GET /api/tasks/import/{importId}", 1, READ_CEILING,
+            user -> get("/api/tasks/import/{importId}", "budget"));
+    }
+
+    // ---- TaskListController ----
+
+    @Test
+    void createList() throws Exception {
+        assertWithinBudget("POST /api/lists", 4, WRITE_CEILING,
+            user -> post("/api/lists").contentType(MediaType.APPLICATION_JSON)
+                .content(json(new TaskListRequest("Budget list " + System.nanoTime()))));
+    }
+
+    @Test
+    void getAllLists() throws Exception {
+        // filter lookup, lists, grouped task counts
+        assertWithinBudget("GET /api/lists", 3, READ_CEILING,
+            user -> get("/api/lists"));
+    }
+
+    @Test
+    void getListById() throws Exception {
+        assertWithinBudget("GET /api/lists/{id}", 3, READ_CEILING,
+            user -> get("/api/lists/{id}", fullestList(user)));
+    }
+
+    @Test
+    void updateList() throws Exception {
+        assertWithinBudget("PUT /api/lists/{id}", 4, WRITE_CEILING,
+            user -> put("/api/lists/{id}", user.listIds().get(user.listIds().size() - 1))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(new TaskListRequest("Renamed " + System.nanoTime()))));
+    }
+
+    @Test
+    void deleteList() throws Exception {
+        // filter lookup, list, default list, bulk move, task collection,
+        // delete, tombstone
+        assertWithinBudget("DELETE /api/lists/{id}", 7, WRITE_CEILING,
+            user -> delete("/api/lists/{id}", seeder.addListWithTasks(user, user.taskIds().size() / 10)));
+    }
+
+    // ---- StatisticsController ----
+
+    @Test
+    void getDashboardStats() throws Exception {
+        // filter lookup and six counts
+        assertWithinBudget("GET /api/statistics/dashboard", 7, READ_CEILING,
+            user -> get("/api/statistics/dashboard"));
+    }
+
+    @Test
+    void getDashboardStatsWithSeries() throws Exception {
+        // filter lookup, six counts, the series with their materialized
+        // occurrence counts
+        assertWithinBudget("GET /api/statistics/dashboard (series)", 8, READ_CEILING,
+            smallWithSeries, largeWithSeries, user -> get("/api/statistics/dashboard"));
+    }
+
+    // ---- Harness ----
+
+    /**
+     * Call an endpoint for both users and check its budgets
+     *
+     * @param endpoint name used in failure messages
+     * @param statementBudget maximum SQL statements per call
+     * @param ceiling maximum median latency
+     * @param request builds the request for a user; invoked once per call,
+     *                outside the measurement, so it may prepare fresh data
+     */
+    private void assertWithinBudget(String endpoint, int statementBudget, Duration ceiling,
+                                    EndpointRequest request)
+            throws Exception {
+        assertWithinBudget(endpoint, statementBudget, ceiling, small, large, request);
+    }
+
+    /**
+     * Call an endpoint for a given small and large user and check its budgets
+     */
+    private void assertWithinBudget(String endpoint, int statementBudget, Duration ceiling,
+                                    DatasetSeeder.SeededUser smallUser, DatasetSeeder.SeededUser largeUser,
+                                    EndpointRequest request)
+            throws Exception {
+        long smallStatements = measure(endpoint, statementBudget, ceiling, smallUser, request);
+        long largeStatements = measure(endpoint, statementBudget, ceiling, largeUser, request);
+
+        assertEquals(smallStatements, largeStatements,
+            endpoint + " issues " + smallStatements + " statements for " + smallUser.taskIds().size()
+                + " tasks but " + largeStatements + " for " + largeUser.taskIds().size()
+                + "; the statement count must not grow with the data");
+    }
+
+    /**
+     * Call an endpoint repeatedly for one user
+     *
+     * @return the statement count of the measured calls
+     */
+    private long measure(String endpoint, int statementBudget, Duration ceiling,
+                         DatasetSeeder.SeededUser user,
+                         EndpointRequest request)
+            throws Exception {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        List<Duration> timings = new ArrayList<>();
+        long maxStatements = 0;
+
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            RequestBuilder call = request.build(user).header("Authorization", user.authorization());
+            sessionFactory.getCache().evictAllRegions();
+
+            long statementsBefore = statementCounter.current();
+            long start = System.nanoTime();
+            mockMvc.perform(call).andExpect(status().is2xxSuccessful());
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            long statements = statementCounter.current() - statementsBefore;
+
+            if (run >= WARMUP_RUNS) {
+                timings.add(elapsed);
+                maxStatements = Math.max(maxStatements, statements);
+            }
+        }
+
+        assertTrue(maxStatements <= statementBudget,
+            endpoint + " issued " + maxStatements + " SQL statements for a user with "
+                + user.taskIds().size() + " tasks; the budget is " + statementBudget);
+        assertLatency(endpoint, user, timings, ceiling);
+        return maxStatements;
+    }
+
+    private void assertLatency(String endpoint, DatasetSeeder.SeededUser user,
+                               List<Duration> timings, Duration ceiling) {
+        Duration median = timings.stream().sorted().toList().get(timings.size() / 2);
+        assertTrue(median.compareTo(ceiling) <= 0,
+            endpoint + " took " + median.toMillis() + " ms (median) for a user with "
+                + user.taskIds().size() + " tasks; the ceiling is " + ceiling.toMillis() + " ms");
+    }
+
+    private MockHttpServletRequestBuilder page(MockHttpServletRequestBuilder request) {
+        return request.param("page", "0").param("size", Integer.toString(PAGE_SIZE));
+    }
+
+    /**
+     * A month-sized window around today, where the generated due dates lie
+     */
+    private MockHttpServletRequestBuilder monthView(MockHttpServletRequestBuilder request) {
+        LocalDate today = LocalDate.now();
+        return request.param("from", today.minusDays(14).toString()).param("to", today.plusDays(16).toString());
+    }
+
+    private Long fullestList(DatasetSeeder.SeededUser user) {
+        return user.listIds().get(user.dataset().fullestListIndex());
+    }
+
+    private TaskRequest taskRequest(String title, Long listId) {
+        return new TaskRequest(title, "Created by the budget test", TaskStatus.IN_PROGRESS,
+            TaskPriority.HIGH, LocalDate.now().plusDays(3), listId);
+    }
+
+    /**
+     * NDJSON rows spread over the user's existing lists
+     */
+    private String importBody(DatasetSeeder.SeededUser user, int rows) throws Exception {
+        List<String> listNames = user.dataset().listNames();
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            UserDataset.TaskSpec spec = user.dataset().tasks().get(i % user.dataset().tasks().size());
+            TaskImportRow row = new TaskImportRow(spec.title(), spec.description(), spec.status().name(),
+                spec.priority().name(), null,
+                listNames.isEmpty() ? null : listNames.get(i % listNames.size()));
+            body.append(objectMapper.writeValueAsString(row)).append('\n');
+        }
+        return body.toString();
+    }
+
+    private String json(Object value) throws Exception {
+        return objectMapper.writeValueAsString(value);
+    }
+
+    /**
+     * Builds the request of one call for a user
+     */
+    @FunctionalInterface
+    private interface EndpointRequest {
+        MockHttpServletRequestBuilder build(DatasetSeeder.SeededUser user) throws Exception;
+    }
+}
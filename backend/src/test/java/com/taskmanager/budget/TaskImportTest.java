@@ -0,0 +1,177 @@
+package com.taskmanager.budget;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.repository.TaskListRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.security.JwtUtil;
+import com.taskmanager.service.AuthService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Task import through COPY and the merge into tasks
+ *
+ * Checks what ends up in the database: quoted CSV values, null against
+ * empty text, new lists, rejected rows, and recurring series surviving an
+ * export and re-import into another account.
+ *
+ * Needs the PostgreSQL database of application-test.yml.
+ * Runs in mvn verify; mvn test -Pbudget-tests runs it in the test phase.
+ */
+@Tag("budget")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private DatasetSeeder seeder;
+    private String run;
+
+    @BeforeAll
+    void createSeeder() {
+        seeder = new DatasetSeeder(authService, jwtUtil, taskListRepository, taskRepository,
+            userRepository, transactionTemplate);
+        run = Long.toString(System.currentTimeMillis(), 36);
+    }
+
+    @Test
+    void csvValuesArriveUnchanged() throws Exception {
+        DatasetSeeder.SeededUser user = seeder.seed("import-csv-" + run, UserDataset.generate(50L, 0, 0));
+        String csv =
+            "title,description,status,priority,dueDate,listName\r\n" +
+            "\"Plan, then ship\",\"line one\nline \"\"two\"\"\",IN_PROGRESS,HIGH,2026-11-02,Imported\r\n" +
+            "No description,,TODO,LOW,,\r\n" +
+            "Empty description,\"\",TODO,LOW,,\r\n" +
+            ",missing title,TODO,LOW,,\r\n" +
+            "Bad status,,SOMEDAY,LOW,,\r\n";
+
+        JsonNode result = importTasks(user, "csv", csv);
+
+        assertEquals(5, result.get("processedRows").asInt());
+        assertEquals(3, result.get("importedRows").asInt());
+        assertEquals(2, result.get("failedRows").asInt());
+        assertEquals(4, result.get("errors").get(0).get("row").asInt());
+        assertEquals(5, result.get("errors").get(1).get("row").asInt());
+
+        Map<String, Object> planned = task(user, "Plan, then ship");
+        assertEquals("line one\nline \"two\"", planned.get("description"));
+        assertEquals("IN_PROGRESS", planned.get("status"));
+        assertEquals("HIGH", planned.get("priority"));
+        assertEquals("2026-11-02", planned.get("due_date").toString());
+        assertEquals("Imported", planned.get("list_name"));
+
+        assertNull(task(user, "No description").get("description"));
+        assertEquals("", task(user, "Empty description").get("description"));
+        assertEquals(user.defaultListId(), ((Number) task(user, "No description").get("list_id")).longValue());
+    }
+
+    @Test
+    void seriesSurviveExportAndImport() throws Exception {
+        DatasetSeeder.SeededUser source = seeder.seed("export-series-" + run, UserDataset.generate(51L, 1, 10));
+        seeder.addSeries(source, 4);
+        DatasetSeeder.SeededUser target = seeder.seed("import-series-" + run, UserDataset.generate(52L, 0, 0));
+
+        for (String format : List.of("ndjson", "csv")) {
+            jdbcTemplate.update("DELETE FROM tasks WHERE user_id = ?", target.userId());
+
+            JsonNode result = importTasks(target, format, export(source, format));
+
+            assertEquals(0, result.get("failedRows").asInt(), format + ": " + result.get("errors"));
+            assertEquals(shape(source), shape(target), format);
+        }
+    }
+
+    private JsonNode importTasks(DatasetSeeder.SeededUser user, String format, String body) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/tasks/import").param("format", format)
+                .header("Authorization", user.authorization())
+                .contentType(format.equals("csv") ? MediaType.parseMediaType("text/csv") : MediaType.APPLICATION_NDJSON)
+                .content(body.getBytes(StandardCharsets.UTF_8)))
+            .andExpect(status().isOk())
+            .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private String export(DatasetSeeder.SeededUser user, String format) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks/export").param("format", format)
+                .header("Authorization", user.authorization()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private Map<String, Object> task(DatasetSeeder.SeededUser user, String title) {
+        return jdbcTemplate.queryForMap(
+            "SELECT t.description, t.status, t.priority, t.due_date, t.list_id, l.name AS list_name " +
+            "FROM tasks t JOIN task_lists l ON l.id = t.list_id WHERE t.user_id = ? AND t.title = ?",
+            user.userId(), title);
+    }
+
+    /**
+     * The user's tasks without their IDs; occurrences name their series by title
+     */
+    private List<String> shape(DatasetSeeder.SeededUser user) {
+        return jdbcTemplate.queryForList(
+            "SELECT concat_ws('|', t.title, t.status, t.priority, t.due_date, l.name, " +
+            "t.recurrence_frequency, t.recurrence_interval, t.recurrence_until, s.title, t.occurrence_date) " +
+            "FROM tasks t JOIN task_lists l ON l.id = t.list_id LEFT JOIN tasks s ON s.id = t.series_id " +
+            "WHERE t.user_id = ? ORDER BY 1",
+            String.class, user.userId());
+    }
+}
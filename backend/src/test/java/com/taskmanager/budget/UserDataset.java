@@ -0,0 +1,147 @@
+package com.taskmanager.budget;
+
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Combinators;
+import net.jqwik.api.Tuple;
+import net.jqwik.api.sessions.JqwikSession;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Generated lists and tasks of one user
+ *
+ * Datasets come from jqwik arbitraries drawn with a fixed seed, so a run is
+ * reproducible while the data still looks like real use: skewed statuses,
+ * optional descriptions and due dates around today, tasks spread unevenly
+ * over the lists.
+ *
+ * @param listNames names of the user's lists besides the default list
+ * @param tasks the user's tasks
+ */
+record UserDataset(List<String> listNames, List<TaskSpec> tasks) {
+
+    /**
+     * Every title starts with one of these, so a search for the most common
+     * one matches a known share of the tasks
+     */
+    static final List<String> TITLE_PREFIXES = List.of("Bug", "Meeting", "Release");
+
+    private static final List<String> WORDS = List.of(
+        "review", "login", "page", "report", "fix", "update", "client", "budget",
+        "deploy", "notes", "draft", "schema", "invoice", "backup", "design", "call");
+
+    private static final int GEN_SIZE = 1000;
+
+    /**
+     * One generated task
+     *
+     * @param listIndex 0 for the default list, otherwise 1 + index in listNames
+     * @param dueInDays due date relative to today, or null for no due date
+     */
+    record TaskSpec(String title, String description, TaskStatus status, TaskPriority priority,
+                    Integer dueInDays, int listIndex) {
+    }
+
+    /**
+     * Generate a dataset
+     *
+     * @param seed the random seed
+     * @param lists number of lists besides the default list
+     * @param tasks number of tasks
+     * @return the dataset
+     */
+    static UserDataset generate(long seed, int lists, int tasks) {
+        // Generators need a jqwik session when used outside of a property
+        JqwikSession.start();
+        try {
+            Random random = new Random(seed);
+            List<String> listNames = listNames(lists).generator(GEN_SIZE).next(random).value();
+            List<TaskSpec> taskSpecs = taskSpec(lists).list().ofSize(tasks).generator(GEN_SIZE).next(random).value();
+            return new UserDataset(listNames, taskSpecs);
+        } finally {
+            JqwikSession.finish();
+        }
+    }
+
+    /**
+     * The most common status, at least a third of the tasks
+     */
+    TaskStatus mostCommonStatus() {
+        return mostCommon(TaskSpec::status);
+    }
+
+    /**
+     * The most common priority, at least a third of the tasks
+     */
+    TaskPriority mostCommonPriority() {
+        return mostCommon(TaskSpec::priority);
+    }
+
+    /**
+     * Index of the list holding the most tasks
+     */
+    int fullestListIndex() {
+        return mostCommon(TaskSpec::listIndex);
+    }
+
+    /**
+     * The most common title prefix, at least a third of the tasks
+     */
+    String mostCommonTitlePrefix() {
+        return mostCommon(task -> task.title().substring(0, task.title().indexOf(':')));
+    }
+
+    private <T> T mostCommon(Function<TaskSpec, T> key) {
+        Map<T, Long> counts = tasks.stream().collect(Collectors.groupingBy(key, Collectors.counting()));
+        return counts.entrySet().stream()
+            // Ties broken by name, enum hash codes differ between runs
+            .max(Map.Entry.<T, Long>comparingByValue().thenComparing(entry -> entry.getKey().toString()))
+            .orElseThrow()
+            .getKey();
+    }
+
+    private static Arbitrary<List<String>> listNames(int lists) {
+        return Arbitraries.of(WORDS)
+            .list().ofMinSize(1).ofMaxSize(3)
+            .map(words -> capitalize(String.join(" ", words)))
+            .list().ofSize(lists).uniqueElements();
+    }
+
+    private static Arbitrary<TaskSpec> taskSpec(int lists) {
+        Arbitrary<String> title = Combinators.combine(
+                Arbitraries.of(TITLE_PREFIXES),
+                Arbitraries.of(WORDS).list().ofMinSize(2).ofMaxSize(6))
+            .as((prefix, words) -> prefix + ": " + String.join(" ", words));
+        Arbitrary<String> description = Arbitraries.of(WORDS)
+            .list().ofMinSize(5).ofMaxSize(40)
+            .map(words -> capitalize(String.join(" ", words)) + ".")
+            .injectNull(0.3);
+        Arbitrary<TaskStatus> status = Arbitraries.frequency(
+            Tuple.of(5, TaskStatus.TODO),
+            Tuple.of(2, TaskStatus.IN_PROGRESS),
+            Tuple.of(3, TaskStatus.COMPLETED));
+        Arbitrary<TaskPriority> priority = Arbitraries.frequency(
+            Tuple.of(2, TaskPriority.HIGH),
+            Tuple.of(5, TaskPriority.MEDIUM),
+            Tuple.of(3, TaskPriority.LOW));
+        Arbitrary<Integer> dueInDays = Arbitraries.integers().between(-30, 60).injectNull(0.25);
+        // At least half of all tasks stay in the default list
+        Arbitrary<Integer> listIndex = Arbitraries.frequencyOf(
+            Tuple.of(1, Arbitraries.just(0)),
+            Tuple.of(1, Arbitraries.integers().between(0, lists)));
+
+        return Combinators.combine(title, description, status, priority, dueInDays, listIndex)
+            .as(TaskSpec::new);
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+}
@@ -0,0 +1,158 @@
+package com.taskmanager.reminder;
+
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.Tuple;
+import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.LongRange;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Properties of the timing wheel, checked against a plain map of pending timers
+ *
+ * Small wheels are used so random runs cross many cascades and schedule far
+ * beyond the range of the wheel, where timers are parked and placed again.
+ */
+class HierarchicalTimingWheelTest {
+
+    @Property(tries = 1000)
+    void behavesLikeASortedReference(@ForAll @IntRange(min = 2, max = 3) int levels,
+                                     @ForAll @IntRange(min = 1, max = 3) int bitsPerLevel,
+                                     @ForAll @LongRange(min = 0, max = 1000) long startTick,
+                                     @ForAll("operations") List<Operation> operations) {
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(levels, bitsPerLevel, startTick);
+        List<HierarchicalTimingWheel.Timer<Integer>> timers = new ArrayList<>();
+        // Pending timers by payload, with the tick they are due to expire at:
+        // their own tick, or the next tick if that had already been processed
+        Map<Integer, Long> pending = new HashMap<>();
+
+        for (Operation operation : operations) {
+            switch (operation.kind()) {
+                case SCHEDULE -> {
+                    long tick = wheel.nextTick() + operation.amount();
+                    int payload = timers.size();
+                    HierarchicalTimingWheel.Timer<Integer> timer = wheel.schedule(tick, payload);
+                    assertEquals(tick, timer.getTick());
+                    timers.add(timer);
+                    pending.put(payload, Math.max(tick, wheel.nextTick()));
+                }
+                case CANCEL -> {
+                    if (!timers.isEmpty()) {
+                        HierarchicalTimingWheel.Timer<Integer> timer = timers.get(operation.amount() % timers.size());
+                        boolean wasPending = pending.remove(timer.getPayload()) != null;
+                        assertEquals(wasPending, wheel.cancel(timer));
+                    }
+                }
+                case ADVANCE -> advanceAndCheck(wheel, wheel.nextTick() - 1 + operation.amount(), pending);
+            }
+            assertEquals(pending.size(), wheel.size());
+        }
+
+        long last = pending.values().stream().mapToLong(Long::longValue).max().orElse(wheel.nextTick());
+        advanceAndCheck(wheel, last, pending);
+        assertEquals(0, wheel.size());
+    }
+
+    @Example
+    void timerBeyondTheRangeExpiresAtItsOwnTick() {
+        // 2 levels of 4 slots cover 16 ticks
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(2, 2, 0);
+        wheel.schedule(100, "far");
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(99, expired::add);
+        assertEquals(List.of(), expired);
+        assertEquals(1, wheel.size());
+
+        wheel.advance(100, expired::add);
+        assertEquals(List.of("far"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Example
+    void aSingleLevelIsRejected() {
+        // Nothing would cascade the timers parked beyond its range
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<String>(1, 8, 0));
+    }
+
+    @Example
+    void timerInThePastExpiresOnTheNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(2, 2, 50);
+        wheel.schedule(10, "late");
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(50, expired::add);
+        assertEquals(List.of("late"), expired);
+    }
+
+    /**
+     * Advance the wheel and check that exactly the due timers expire, in the
+     * order of their due ticks
+     */
+    private static void advanceAndCheck(HierarchicalTimingWheel<Integer> wheel, long tick,
+                                        Map<Integer, Long> pending) {
+        Set<Integer> expected = new HashSet<>();
+        pending.forEach((payload, due) -> {
+            if (due <= tick) {
+                expected.add(payload);
+            }
+        });
+
+        List<Integer> expired = new ArrayList<>();
+        wheel.advance(tick, expired::add);
+
+        assertEquals(expected, new HashSet<>(expired), "expired at " + tick);
+        assertEquals(expected.size(), expired.size(), "each timer expires once");
+        for (int i = 1; i < expired.size(); i++) {
+            assertTrue(pending.get(expired.get(i - 1)) <= pending.get(expired.get(i)),
+                "timers expire in tick order");
+        }
+        assertEquals(Math.max(tick + 1, wheel.nextTick()), wheel.nextTick());
+        expired.forEach(pending::remove);
+    }
+
+    @Provide
+    Arbitrary<List<Operation>> operations() {
+        // Schedule from a little in the past to far beyond the largest wheel
+        // (3 levels of 8 slots cover 512 ticks); advance mostly by a few
+        // ticks, sometimes across many cascades at once
+        Arbitrary<Operation> schedule = Arbitraries.integers().between(-20, 1200)
+            .map(amount -> new Operation(Kind.SCHEDULE, amount));
+        Arbitrary<Operation> cancel = Arbitraries.integers().between(0, 10_000)
+            .map(amount -> new Operation(Kind.CANCEL, amount));
+        Arbitrary<Operation> advance = Arbitraries.frequencyOf(
+                Tuple.of(4, Arbitraries.integers().between(0, 8)),
+                Tuple.of(1, Arbitraries.integers().between(9, 1500)))
+            .map(amount -> new Operation(Kind.ADVANCE, amount));
+        return Arbitraries.frequencyOf(
+                Tuple.of(5, schedule),
+                Tuple.of(2, cancel),
+                Tuple.of(3, advance))
+            .list().ofMaxSize(300);
+    }
+
+    enum Kind { SCHEDULE, CANCEL, ADVANCE }
+
+    /**
+     * One step of a random run
+     *
+     * @param amount ticks from the wheel's next tick for SCHEDULE and ADVANCE,
+     *               an index into the created timers for CANCEL
+     */
+    record Operation(Kind kind, int amount) {
+    }
+}
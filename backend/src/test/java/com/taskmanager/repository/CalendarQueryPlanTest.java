@@ -0,0 +1,60 @@
+package com.taskmanager.repository;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query plan of the calendar month view
+ *
+ * The calendar must be one query over the (user_id, due_date) index range of
+ * the user. The test database is small, so sequential scans are switched off
+ * for the EXPLAIN; what is checked is that the query's predicate is one the
+ * index serves, which a cast or a function on due_date would silently break.
+ *
+ * Needs the PostgreSQL database of application-test.yml.
+ * Runs in mvn verify; mvn test -Pbudget-tests runs it in the test phase.
+ */
+@Tag("budget")
+@SpringBootTest
+@ActiveProfiles("test")
+class CalendarQueryPlanTest {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void calendarReadsTheUserDueDateIndexOnce() {
+        LocalDate today = LocalDate.now();
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("userId", 1L)
+            .addValue("from", today.minusDays(14))
+            .addValue("to", today.plusDays(16))
+            .addValue("perDay", 3);
+
+        List<String> plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.getJdbcTemplate().execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForList("EXPLAIN " + TaskRepositoryCustomImpl.CALENDAR_SQL,
+                parameters, String.class);
+        });
+
+        String text = String.join("\n", plan);
+        assertTrue(text.contains("idx_tasks_user_due_date"), "calendar does not use the due date index:\n" + text);
+        assertEquals(1, plan.stream().filter(line -> line.contains(" on tasks ")).count(),
+            "calendar reads tasks more than once:\n" + text);
+    }
+}
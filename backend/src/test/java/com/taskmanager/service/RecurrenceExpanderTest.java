@@ -0,0 +1,133 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.Recurrence;
+import com.taskmanager.model.RecurrenceFrequency;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.Tuple;
+import net.jqwik.api.constraints.IntRange;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Properties of the recurrence date arithmetic
+ *
+ * The expander jumps to occurrence indexes arithmetically. Here every day of
+ * a window is checked on its own against the definition of a rule, including
+ * month-end clamping, every-N intervals and end dates.
+ */
+class RecurrenceExpanderTest {
+
+    private static final LocalDate EPOCH = LocalDate.of(2020, 1, 1);
+
+    @Property(tries = 2000)
+    void datesCountAndOccursOnMatchADayWalk(@ForAll RecurrenceFrequency frequency,
+                                            @ForAll("intervals") int interval,
+                                            @ForAll @IntRange(min = 0, max = 3650) int anchorDay,
+                                            @ForAll @IntRange(min = -400, max = 1500) int fromOffset,
+                                            @ForAll @IntRange(min = 0, max = 400) int windowDays,
+                                            @ForAll("untilOffsets") Integer untilOffset) {
+        LocalDate anchor = EPOCH.plusDays(anchorDay);
+        LocalDate until = untilOffset == null ? null : anchor.plusDays(untilOffset);
+        LocalDate from = anchor.plusDays(fromOffset);
+        LocalDate to = from.plusDays(windowDays);
+        RecurrenceExpander expander = new RecurrenceExpander(new Recurrence(frequency, interval, until), anchor);
+
+        List<LocalDate> walked = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            boolean expected = isOccurrence(frequency, interval, anchor, until, day);
+            if (expected) {
+                walked.add(day);
+            }
+            assertEquals(expected, expander.occursOn(day), "occursOn " + day);
+        }
+
+        assertEquals(walked, expander.dates(from, to));
+        assertEquals(walked.size(), expander.count(from, to));
+    }
+
+    @Property(tries = 500)
+    void occurrenceIndexesAreOrderedAndOnTheRule(@ForAll RecurrenceFrequency frequency,
+                                                 @ForAll("intervals") int interval,
+                                                 @ForAll @IntRange(min = 0, max = 3650) int anchorDay,
+                                                 @ForAll @IntRange(min = 0, max = 200) int k) {
+        LocalDate anchor = EPOCH.plusDays(anchorDay);
+        RecurrenceExpander expander = new RecurrenceExpander(new Recurrence(frequency, interval, null), anchor);
+
+        LocalDate occurrence = expander.occurrence(k);
+        assertTrue(expander.occurrence(k + 1).isAfter(occurrence));
+        assertTrue(isOccurrence(frequency, interval, anchor, null, occurrence));
+        // Exactly k occurrences come before occurrence k
+        assertEquals(k, expander.count(anchor, occurrence.minusDays(1)));
+    }
+
+    @Example
+    void monthlyOccurrencesClampToTheEndOfShorterMonths() {
+        RecurrenceExpander expander = new RecurrenceExpander(
+            new Recurrence(RecurrenceFrequency.MONTHLY, 1, null), LocalDate.of(2024, 1, 31));
+
+        assertEquals(List.of(
+                LocalDate.of(2024, 1, 31),
+                LocalDate.of(2024, 2, 29),
+                LocalDate.of(2024, 3, 31),
+                LocalDate.of(2024, 4, 30)),
+            expander.dates(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 30)));
+    }
+
+    @Example
+    void nothingOccursBeforeTheAnchorOrAfterTheEndDate() {
+        LocalDate anchor = LocalDate.of(2024, 3, 10);
+        RecurrenceExpander expander = new RecurrenceExpander(
+            new Recurrence(RecurrenceFrequency.WEEKLY, 2, LocalDate.of(2024, 4, 6)), anchor);
+
+        assertEquals(List.of(LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 24)),
+            expander.dates(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+        assertEquals(0, expander.count(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 9)));
+    }
+
+    @Provide
+    Arbitrary<Integer> intervals() {
+        return Arbitraries.frequencyOf(
+            Tuple.of(6, Arbitraries.integers().between(1, 4)),
+            Tuple.of(3, Arbitraries.integers().between(5, 40)),
+            Tuple.of(1, Arbitraries.integers().between(41, 366)));
+    }
+
+    @Provide
+    Arbitrary<Integer> untilOffsets() {
+        return Arbitraries.integers().between(-30, 2000).injectNull(0.3);
+    }
+
+    /**
+     * Whether a day is an occurrence, from the definition of the rule: a whole
+     * number of intervals after the anchor, where a monthly occurrence falls on
+     * the anchor's day of month or the last day of a shorter month
+     */
+    private static boolean isOccurrence(RecurrenceFrequency frequency, int interval, LocalDate anchor,
+                                        LocalDate until, LocalDate day) {
+        if (day.isBefore(anchor) || (until != null && day.isAfter(until))) {
+            return false;
+        }
+        long days = ChronoUnit.DAYS.between(anchor, day);
+        return switch (frequency) {
+            case DAILY -> days % interval == 0;
+            case WEEKLY -> days % (7L * interval) == 0;
+            case MONTHLY -> {
+                long months = (day.getYear() * 12L + day.getMonthValue())
+                    - (anchor.getYear() * 12L + anchor.getMonthValue());
+                yield months % interval == 0
+                    && day.getDayOfMonth() == Math.min(anchor.getDayOfMonth(), day.lengthOfMonth());
+            }
+        };
+    }
+}
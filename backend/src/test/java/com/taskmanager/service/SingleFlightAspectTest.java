@@ -0,0 +1,140 @@
+package com.taskmanager.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.jqwik.api.Example;
+import net.jqwik.api.lifecycle.AfterProperty;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrent calls through SingleFlightAspect
+ *
+ * The target blocks until the test releases it, so callers can be lined up
+ * behind a flight in flight. A caller has joined a flight once the shared
+ * counter counted it.
+ */
+class SingleFlightAspectTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DataVersionService dataVersionService = new DataVersionService(null, Duration.ZERO);
+    private final SlowReads target = new SlowReads();
+    private final SlowReads proxy;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    SingleFlightAspectTest() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new SingleFlightAspect(dataVersionService, meterRegistry));
+        proxy = factory.getProxy();
+    }
+
+    @Example
+    void concurrentCallersShareOneExecution() throws Exception {
+        int callers = 8;
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(call(1L));
+        }
+        awaitShared(callers - 1);
+        target.release.countDown();
+
+        for (CompletableFuture<Integer> result : results) {
+            assertEquals(1, result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+        assertEquals(1, target.executions.get());
+    }
+
+    @Example
+    void callersAfterABumpStartANewFlight() throws Exception {
+        CompletableFuture<Integer> first = call(1L);
+        assertTrue(target.started.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        CompletableFuture<Integer> joinsFirst = call(1L);
+        awaitShared(1);
+
+        dataVersionService.bump(1L);
+
+        // Starts while the first flight is still running
+        CompletableFuture<Integer> second = call(1L);
+        assertTrue(target.started.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        CompletableFuture<Integer> joinsSecond = call(1L);
+        awaitShared(2);
+        target.release.countDown();
+
+        assertEquals(1, first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(1, joinsFirst.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(2, second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(2, joinsSecond.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(2, target.executions.get());
+    }
+
+    @Example
+    void otherUsersDoNotShare() throws Exception {
+        CompletableFuture<Integer> first = call(1L);
+        CompletableFuture<Integer> second = call(2L);
+        assertTrue(target.started.tryAcquire(2, TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        target.release.countDown();
+
+        assertEquals(3, first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS) + second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(0, sharedCount());
+    }
+
+    @AfterProperty
+    void stopCallers() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<Integer> call(Long userId) {
+        return CompletableFuture.supplyAsync(() -> proxy.load(userId), executor);
+    }
+
+    private void awaitShared(int calls) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (sharedCount() < calls) {
+            assertTrue(System.nanoTime() < deadline, "only " + sharedCount() + " of " + calls + " calls joined");
+            Thread.sleep(5);
+        }
+    }
+
+    private double sharedCount() {
+        return meterRegistry.find("taskmanager.single.flight.shared").counters().stream()
+            .mapToDouble(counter -> counter.count())
+            .sum();
+    }
+
+    /**
+     * Read that blocks until released and returns its execution number
+     */
+    static class SlowReads {
+
+        final AtomicInteger executions = new AtomicInteger();
+        final Semaphore started = new Semaphore(0);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @SingleFlight
+        public int load(Long userId) {
+            int execution = executions.incrementAndGet();
+            started.release();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return execution;
+        }
+    }
+}
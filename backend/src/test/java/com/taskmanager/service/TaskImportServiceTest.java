@@ -0,0 +1,205 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.TaskImportRow;
+import com.taskmanager.exception.ValidationException;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Row readers and COPY encoding of the task import
+ *
+ * COPY ... (FORMAT csv) and CsvRowReader read the same dialect: fields are
+ * quoted with ", a quote inside is doubled, and only an unquoted empty field
+ * is null. Encoding rows with appendCopyValue and reading them back with
+ * CsvRowReader must therefore give back every value, null or not.
+ */
+class TaskImportServiceTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    // ---- CsvRowReader ----
+
+    @Example
+    void csvColumnsAreMatchedByName() throws IOException {
+        TaskImportService.CsvRowReader reader = csv("Priority,exported,TITLE,listName\nHIGH,x,Report,Work\n");
+
+        TaskImportRow row = reader.next();
+        assertEquals("Report", row.getTitle());
+        assertEquals("HIGH", row.getPriority());
+        assertEquals("Work", row.getListName());
+        assertNull(row.getDescription());
+        assertNull(reader.next());
+    }
+
+    @Example
+    void csvQuotedFieldsKeepCommasNewlinesAndQuotes() throws IOException {
+        TaskImportService.CsvRowReader reader = csv(
+            "title,description\r\n" +
+            "\"Plan, then ship\",\"line one\r\nline two\"\r\n" +
+            "\"say \"\"hi\"\"\",\"\"\"\"\r\n");
+
+        TaskImportRow first = reader.next();
+        assertEquals("Plan, then ship", first.getTitle());
+        assertEquals("line one\r\nline two", first.getDescription());
+        assertEquals(1, reader.rowNumber());
+
+        TaskImportRow second = reader.next();
+        assertEquals("say \"hi\"", second.getTitle());
+        assertEquals("\"", second.getDescription());
+        assertEquals(2, reader.rowNumber());
+    }
+
+    @Example
+    void csvUnquotedEmptyIsNullAndQuotedEmptyIsEmpty() throws IOException {
+        TaskImportService.CsvRowReader reader = csv("title,description,status\nA,,\"\"\n");
+
+        TaskImportRow row = reader.next();
+        assertNull(row.getDescription());
+        assertEquals("", row.getStatus());
+    }
+
+    @Example
+    void csvBlankLinesAreSkippedButCounted() throws IOException {
+        TaskImportService.CsvRowReader reader = csv("title\nA\n\nB");
+
+        assertEquals("A", reader.next().getTitle());
+        assertEquals(1, reader.rowNumber());
+        assertEquals("B", reader.next().getTitle());
+        assertEquals(3, reader.rowNumber());
+        assertNull(reader.next());
+        assertEquals(3, reader.rowNumber());
+    }
+
+    @Example
+    void csvWithoutTitleColumnIsRejected() {
+        ValidationException e = assertThrows(ValidationException.class, () -> csv("name,status\nA,TODO\n"));
+        assertEquals("CSV文件缺少title列", e.getMessage());
+    }
+
+    @Example
+    void csvUnclosedQuoteIsRejected() throws IOException {
+        TaskImportService.CsvRowReader reader = csv("title\n\"never closed\n");
+
+        ValidationException e = assertThrows(ValidationException.class, reader::next);
+        assertEquals("CSV引号未闭合", e.getMessage());
+    }
+
+    // ---- NdjsonRowReader ----
+
+    @Example
+    void ndjsonReadsOneRowPerLineAndUnpacksTheRecurrence() throws IOException {
+        TaskImportService.NdjsonRowReader reader = ndjson(
+            "{\"id\":7,\"title\":\"Standup\",\"recurrence\":{\"frequency\":\"DAILY\",\"interval\":2}," +
+            "\"createdAt\":\"2026-01-01T00:00:00\"}\n" +
+            "\n" +
+            "{\"title\":\"Occurrence\",\"seriesId\":7,\"occurrenceDate\":\"2026-01-03\"}\n");
+
+        TaskImportRow series = reader.next();
+        assertEquals("7", series.getId());
+        assertEquals("DAILY", series.getRecurrenceFrequency());
+        assertEquals("2", series.getRecurrenceInterval());
+        assertNull(series.getRecurrenceUntil());
+
+        TaskImportRow occurrence = reader.next();
+        assertEquals("7", occurrence.getSeriesId());
+        assertEquals("2026-01-03", occurrence.getOccurrenceDate());
+        assertEquals(3, reader.rowNumber());
+        assertNull(reader.next());
+    }
+
+    @Example
+    void ndjsonInvalidLineIsRejectedAndReadingGoesOn() throws IOException {
+        TaskImportService.NdjsonRowReader reader = ndjson("{\"title\":\"A\"}\n{broken\n{\"title\":\"B\"}\n");
+
+        assertEquals("A", reader.next().getTitle());
+        ValidationException e = assertThrows(ValidationException.class, reader::next);
+        assertEquals("无效的JSON行", e.getMessage());
+        assertEquals(2, reader.rowNumber());
+        assertEquals("B", reader.next().getTitle());
+    }
+
+    // ---- appendCopyValue ----
+
+    @Example
+    void copyTextIsQuotedAndNullIsAnUnquotedEmptyField() {
+        assertEquals("", copy((String) null));
+        assertEquals("\"\"", copy(""));
+        assertEquals("\"a,b\"", copy("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", copy("say \"hi\""));
+        assertEquals("\"two\nlines\"", copy("two\nlines"));
+    }
+
+    @Example
+    void copyNumbersAndDatesAreUnquoted() {
+        assertEquals("42", copy(42L));
+        assertEquals("2026-10-18", copy(LocalDate.of(2026, 10, 18)));
+        assertEquals("", copy((Object) null));
+    }
+
+    @Property(tries = 500)
+    void copyEncodedRowsReadBackUnchanged(@ForAll("rows") List<List<String>> rows) throws IOException {
+        StringBuilder input = new StringBuilder("title,description\n");
+        for (List<String> row : rows) {
+            TaskImportService.appendCopyValue(input, row.get(0));
+            input.append(',');
+            TaskImportService.appendCopyValue(input, row.get(1));
+            input.append('\n');
+        }
+
+        TaskImportService.CsvRowReader reader = csv(input.toString());
+        List<List<String>> read = new ArrayList<>();
+        TaskImportRow row;
+        while ((row = reader.next()) != null) {
+            read.add(Arrays.asList(row.getTitle(), row.getDescription()));
+        }
+        assertEquals(rows, read);
+    }
+
+    @Provide
+    Arbitrary<List<List<String>>> rows() {
+        Arbitrary<String> values = Arbitraries.strings()
+            .withChars("ab \",\n\r\t;'\\")
+            .withCharRange('一', '丏')
+            .ofMaxLength(12)
+            .injectNull(0.2);
+        return values.list().ofSize(2).list().ofMaxSize(20);
+    }
+
+    private TaskImportService.CsvRowReader csv(String input) throws IOException {
+        return new TaskImportService.CsvRowReader(new BufferedReader(new StringReader(input)));
+    }
+
+    private TaskImportService.NdjsonRowReader ndjson(String input) {
+        return new TaskImportService.NdjsonRowReader(new BufferedReader(new StringReader(input)), objectMapper);
+    }
+
+    private static String copy(String value) {
+        StringBuilder csv = new StringBuilder();
+        TaskImportService.appendCopyValue(csv, value);
+        return csv.toString();
+    }
+
+    private static String copy(Object value) {
+        StringBuilder csv = new StringBuilder();
+        TaskImportService.appendCopyValue(csv, value);
+        return csv.toString();
+    }
+}
@@ -0,0 +1,126 @@
+package com.taskmanager.service;
+
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.Tuple;
+import net.jqwik.api.constraints.IntRange;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Properties of the fractional index keys
+ *
+ * Keys are compared with String.compareTo, which for base-62 ASCII keys is
+ * the byte order of the "C" collation of the rank_key column.
+ */
+class TaskRankKeysTest {
+
+    @Property(tries = 500)
+    void randomInsertsKeepTheKeysStrictlyOrdered(@ForAll @IntRange(min = 0, max = 50) int initial,
+                                                 @ForAll("inserts") List<Insert> inserts) {
+        List<String> keys = new ArrayList<>(TaskRankKeys.sequence(initial));
+
+        for (Insert insert : inserts) {
+            int position = switch (insert.kind()) {
+                case BEFORE -> 0;
+                case AFTER -> keys.size();
+                case BETWEEN -> keys.size() < 2 ? keys.size() : 1 + insert.index() % (keys.size() - 1);
+            };
+            String a = position > 0 ? keys.get(position - 1) : null;
+            String b = position < keys.size() ? keys.get(position) : null;
+
+            String key = TaskRankKeys.between(a, b);
+            assertTrue(a == null || a.compareTo(key) < 0, key + " is not after " + a);
+            assertTrue(b == null || key.compareTo(b) < 0, key + " is not before " + b);
+            assertTrue(key.length() == integerLength(key) || key.charAt(key.length() - 1) != '0',
+                key + " has a trailing zero in its fraction");
+            keys.add(position, key);
+        }
+
+        assertStrictlyOrdered(keys);
+    }
+
+    @Property(tries = 200)
+    void sequenceIsStrictlyOrdered(@ForAll @IntRange(min = 0, max = 5000) int n) {
+        List<String> keys = TaskRankKeys.sequence(n);
+
+        assertEquals(n, keys.size());
+        assertStrictlyOrdered(keys);
+        // A fresh order can be appended to at both ends
+        if (n > 0) {
+            assertTrue(TaskRankKeys.between(null, keys.get(0)).compareTo(keys.get(0)) < 0);
+            assertTrue(TaskRankKeys.between(keys.get(n - 1), null).compareTo(keys.get(n - 1)) > 0);
+        }
+    }
+
+    @Property(tries = 200)
+    void repeatedInsertsBetweenTheSameNeighboursStayOrdered(@ForAll @IntRange(min = 1, max = 300) int moves,
+                                                            @ForAll boolean towardsTheStart) {
+        // The worst case for key length: every move lands next to the last one
+        String a = TaskRankKeys.between(null, null);
+        String b = TaskRankKeys.between(a, null);
+        for (int i = 0; i < moves; i++) {
+            String key = TaskRankKeys.between(a, b);
+            assertTrue(a.compareTo(key) < 0 && key.compareTo(b) < 0);
+            if (towardsTheStart) {
+                b = key;
+            } else {
+                a = key;
+            }
+        }
+    }
+
+    @Example
+    void keysOutOfOrderAreRejected() {
+        String a = TaskRankKeys.between(null, null);
+        String b = TaskRankKeys.between(a, null);
+
+        assertThrows(IllegalArgumentException.class, () -> TaskRankKeys.between(b, a));
+        assertThrows(IllegalArgumentException.class, () -> TaskRankKeys.between(a, a));
+    }
+
+    @Provide
+    Arbitrary<List<Insert>> inserts() {
+        Arbitrary<Integer> indexes = Arbitraries.integers().between(0, 10_000);
+        return Arbitraries.frequencyOf(
+                Tuple.of(2, indexes.map(index -> new Insert(Kind.BEFORE, index))),
+                Tuple.of(2, indexes.map(index -> new Insert(Kind.AFTER, index))),
+                Tuple.of(6, indexes.map(index -> new Insert(Kind.BETWEEN, index))))
+            .list().ofMaxSize(300);
+    }
+
+    private static void assertStrictlyOrdered(List<String> keys) {
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue(keys.get(i - 1).compareTo(keys.get(i)) < 0,
+                keys.get(i - 1) + " is not before " + keys.get(i));
+        }
+    }
+
+    /**
+     * Length of the integer part of a key, from the length encoded in its head
+     */
+    private static int integerLength(String key) {
+        char head = key.charAt(0);
+        return head >= 'a' ? head - 'a' + 2 : 'Z' - head + 2;
+    }
+
+    enum Kind { BEFORE, AFTER, BETWEEN }
+
+    /**
+     * One insert of a random run
+     *
+     * @param index for BETWEEN, picks the pair of neighbours the key goes
+     *              between; with fewer than two keys it appends
+     */
+    record Insert(Kind kind, int index) {
+    }
+}
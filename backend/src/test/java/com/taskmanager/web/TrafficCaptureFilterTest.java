@@ -0,0 +1,77 @@
+package com.taskmanager.web;
+
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.constraints.AlphaChars;
+import net.jqwik.api.constraints.StringLength;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Anonymization of captured query strings
+ */
+class TrafficCaptureFilterTest {
+
+    private final TrafficCaptureFilter filter = new TrafficCaptureFilter(null, 1.0, 1024);
+
+    @Example
+    void tokensAreDropped() {
+        assertEquals("page=2", filter.anonymizeQuery(Map.of(
+            "token", new String[] {"eyJhbGciOiJIUzI1NiJ9.secret"},
+            "page", new String[] {"2"})));
+        assertEquals("-", filter.anonymizeQuery(Map.of("token", new String[] {"abc"})));
+    }
+
+    @Example
+    void idsAndCursorsAreMasked() {
+        assertEquals("cursor=*&listId=*&listId=*", filter.anonymizeQuery(Map.of(
+            "listId", new String[] {"42", "43"},
+            "cursor", new String[] {"MTcwMDAwMDAwMDAwMDoxMjM"})));
+    }
+
+    @Example
+    void idListsKeepOnlyTheirCount() {
+        assertEquals("ids=*3", filter.anonymizeQuery(Map.of("ids", new String[] {"7,8,9"})));
+        assertEquals("ids=*0", filter.anonymizeQuery(Map.of("ids", new String[] {""})));
+    }
+
+    @Example
+    void keptParametersStayAsTheyAre() {
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        parameters.put("status", new String[] {"TODO"});
+        parameters.put("size", new String[] {"20"});
+        parameters.put("fields", new String[] {"id,title"});
+
+        assertEquals("fields=id,title&size=20&status=TODO", filter.anonymizeQuery(parameters));
+        assertEquals("status=~10", filter.anonymizeQuery(Map.of("status", new String[] {"TODO&x=1 \t"})));
+    }
+
+    @Example
+    void freeTextHasTheSameHashWithinARun() {
+        String first = filter.anonymizeQuery(Map.of("search", new String[] {"Quarterly report"}));
+        String again = filter.anonymizeQuery(Map.of("search", new String[] {" quarterly REPORT "}));
+        String other = filter.anonymizeQuery(Map.of("search", new String[] {"Quarterly budget"}));
+
+        assertTrue(first.matches("search=~16:[0-9a-f]{8}"), first);
+        assertEquals(first.substring(first.indexOf(':')), again.substring(again.indexOf(':')));
+        assertNotEquals(first, other);
+    }
+
+    @Property(tries = 500)
+    void freeTextNeverAppearsInTheOutput(@ForAll @AlphaChars @StringLength(min = 9, max = 40) String text) {
+        // Longer than the 8 hash characters, so it cannot show up by chance
+        String query = filter.anonymizeQuery(Map.of("search", new String[] {text}));
+        String value = query.substring("search=".length());
+
+        assertTrue(value.matches("~" + text.length() + ":[0-9a-f]{8}"), query);
+        assertFalse(value.toLowerCase(Locale.ROOT).contains(text.toLowerCase(Locale.ROOT)), query);
+    }
+}
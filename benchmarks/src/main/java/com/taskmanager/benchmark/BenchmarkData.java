@@ -0,0 +1,75 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic sample data shared by the benchmarks
+ */
+public final class BenchmarkData {
+    
+    /**
+     * Default jwt.secret of application.yml
+     */
+    public static final String JWT_SECRET = "your-secret-key-change-in-production-must-be-at-least-256-bits-long";
+    
+    private static final String[] WORDS = {
+        "review", "deploy", "write", "report", "meeting", "budget", "design", "client",
+        "fix", "release", "plan", "sprint", "backlog", "invoice", "update", "database"
+    };
+    
+    private BenchmarkData() {
+    }
+    
+    /**
+     * Build a page of task responses the way TaskService returns it
+     * 
+     * @param size number of rows on the page
+     * @return page of tasks sorted by createdAt descending
+     */
+    public static Page<TaskResponse> taskPage(int size) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 9, 30);
+        List<TaskResponse> content = new ArrayList<>(size);
+        
+        for (int i = 0; i < size; i++) {
+            TaskResponse task = new TaskResponse();
+            task.setId(100_000L + i);
+            task.setTitle(sentence(random, 3 + random.nextInt(5)));
+            task.setDescription(random.nextInt(4) == 0 ? null : sentence(random, 10 + random.nextInt(30)));
+            task.setStatus(TaskStatus.values()[random.nextInt(TaskStatus.values().length)]);
+            task.setPriority(TaskPriority.values()[random.nextInt(TaskPriority.values().length)]);
+            task.setDueDate(random.nextBoolean() ? LocalDate.of(2024, 1, 1).plusDays(random.nextInt(60)) : null);
+            task.setUserId(7L);
+            task.setListId(10L + random.nextInt(5));
+            task.setListName("List " + task.getListId());
+            task.setCreatedAt(now.minusMinutes(i * 17L));
+            task.setUpdatedAt(now.minusMinutes(i * 5L));
+            content.add(task);
+        }
+        
+        return new PageImpl<>(content, PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "createdAt")), 10_000);
+    }
+    
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
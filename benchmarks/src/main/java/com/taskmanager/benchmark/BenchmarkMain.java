@@ -0,0 +1,62 @@
+package com.taskmanager.benchmark;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of benchmarks.jar
+ *
+ * Run benchmarks (all JMH options are accepted; results are written as JSON
+ * to jmh-result-&lt;timestamp&gt;.json unless -rf/-rff are given):
+ * <pre>
+ *   java -jar benchmarks/target/benchmarks.jar [JMH options] [benchmark regex]
+ * </pre>
+ * Compare two result files; exits with status 1 when a benchmark regressed:
+ * <pre>
+ *   java -jar benchmarks/target/benchmarks.jar compare baseline.json current.json [--threshold 10]
+ * </pre>
+ */
+public final class BenchmarkMain {
+    
+    private static final DateTimeFormatter RESULT_FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    
+    private BenchmarkMain() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("compare")) {
+            System.exit(compare(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        
+        List<String> jmhArgs = new ArrayList<>(Arrays.asList(args));
+        if (!jmhArgs.contains("-rf") && !jmhArgs.contains("-rff")) {
+            jmhArgs.addAll(List.of("-rf", "json",
+                "-rff", "jmh-result-" + LocalDateTime.now().format(RESULT_FILE_TIME) + ".json"));
+        }
+        org.openjdk.jmh.Main.main(jmhArgs.toArray(String[]::new));
+    }
+    
+    private static int compare(String[] args) throws Exception {
+        List<String> files = new ArrayList<>();
+        double threshold = ResultComparison.DEFAULT_THRESHOLD_PERCENT;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--threshold") && i + 1 < args.length) {
+                threshold = Double.parseDouble(args[++i]);
+            } else {
+                files.add(args[i]);
+            }
+        }
+        if (files.size() != 2) {
+            System.err.println("Usage: compare <baseline.json> <current.json> [--threshold <percent>]");
+            return 2;
+        }
+        
+        ResultComparison comparison = ResultComparison.of(Path.of(files.get(0)), Path.of(files.get(1)), threshold);
+        comparison.print(System.out);
+        return comparison.hasRegressions() ? 1 : 0;
+    }
+}
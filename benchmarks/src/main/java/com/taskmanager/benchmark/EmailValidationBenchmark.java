@@ -0,0 +1,54 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.service.AuthService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Cost of AuthService.EMAIL_PATTERN on typical and hostile registration input
+ * The "backtracking" input is a long domain of dot-separated labels with no
+ * valid top-level domain, which makes the pattern retry every split point.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EmailValidationBenchmark {
+    
+    @Param({"valid", "invalid", "backtracking"})
+    private String input;
+    
+    private Pattern pattern;
+    private String email;
+    
+    @Setup
+    public void setup() {
+        // Read the application's pattern so the benchmark follows any change to it
+        pattern = (Pattern) ReflectionTestUtils.getField(AuthService.class, "EMAIL_PATTERN");
+        email = switch (input) {
+            case "valid" -> "jane.doe+tasks@mail.example.com";
+            case "invalid" -> "jane.doe@example";
+            default -> "user@" + "a.".repeat(50) + "1";
+        };
+    }
+    
+    @Benchmark
+    public boolean matches() {
+        return pattern.matcher(email).matches();
+    }
+}
@@ -0,0 +1,88 @@
+package com.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.controller.TaskController;
+import com.taskmanager.dto.TaskRequest;
+import com.taskmanager.exception.ErrorResponse;
+import com.taskmanager.exception.GlobalExceptionHandler;
+import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.exception.ValidationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning an exception into the error body a client receives:
+ * the GlobalExceptionHandler method plus JSON serialization
+ * The handler's logging is switched off in this module's logback.xml, so
+ * only the rendering itself is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ErrorRenderingBenchmark {
+    
+    @Param({"validation", "notFound", "argumentNotValid", "unexpected"})
+    private String error;
+    
+    private GlobalExceptionHandler handler;
+    private ObjectMapper mapper;
+    private WebRequest request;
+    
+    private ValidationException validationException;
+    private ResourceNotFoundException notFoundException;
+    private MethodArgumentNotValidException argumentNotValidException;
+    private RuntimeException unexpectedException;
+    
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        request = new ServletWebRequest(new MockHttpServletRequest("POST", "/api/tasks"));
+        
+        validationException = new ValidationException("任务标题不能为空");
+        notFoundException = new ResourceNotFoundException("任务不存在");
+        unexpectedException = new IllegalStateException("unexpected");
+        
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new TaskRequest(), "taskRequest");
+        bindingResult.addError(new FieldError("taskRequest", "title", "任务标题不能为空"));
+        bindingResult.addError(new FieldError("taskRequest", "description", "任务描述不能超过5000个字符"));
+        MethodParameter parameter = new MethodParameter(
+            TaskController.class.getMethod("createTask", TaskRequest.class, String.class), 0);
+        argumentNotValidException = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+    
+    @Benchmark
+    public byte[] renderError() throws IOException {
+        ResponseEntity<ErrorResponse> response = switch (error) {
+            case "validation" -> handler.handleValidationException(validationException, request);
+            case "notFound" -> handler.handleResourceNotFoundException(notFoundException, request);
+            case "argumentNotValid" -> handler.handleMethodArgumentNotValid(argumentNotValidException, request);
+            default -> handler.handleGlobalException(unexpectedException, request);
+        };
+        return mapper.writeValueAsBytes(response.getBody());
+    }
+}
@@ -0,0 +1,55 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing and verifying a JWT, paid on every login and every
+ * authenticated request respectively
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtBenchmark {
+    
+    private JwtUtil jwtUtil;
+    private String token;
+    
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil();
+        // Same key and lifetime as application.yml
+        ReflectionTestUtils.setField(jwtUtil, "secret", BenchmarkData.JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        token = jwtUtil.generateToken(7L, "user@example.com");
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(7L, "user@example.com");
+    }
+    
+    /**
+     * Signature check and claim parsing, as done by extractAllClaims
+     */
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtUtil.extractClaim(token, claims -> claims);
+    }
+}
@@ -0,0 +1,65 @@
+package com.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.taskmanager.dto.TaskResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of a Page&lt;TaskResponse&gt; in each negotiable format
+ * The encoded payload size of every combination is printed during setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ResponseFormatBenchmark {
+    
+    @Param({"20", "200", "2000"})
+    private int pageSize;
+    
+    @Param({"json", "cbor", "smile"})
+    private String format;
+    
+    private ObjectMapper mapper;
+    private Page<TaskResponse> page;
+    
+    @Setup
+    public void setup() throws IOException {
+        // Same builder defaults the application uses for its converters
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        switch (format) {
+            case "cbor" -> builder.factory(new CBORFactory());
+            case "smile" -> builder.factory(new SmileFactory());
+            default -> { }
+        }
+        mapper = builder.build();
+        page = BenchmarkData.taskPage(pageSize);
+        
+        System.out.printf("%npayload format=%s pageSize=%d bytes=%d%n",
+            format, pageSize, mapper.writeValueAsBytes(page).length);
+    }
+    
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+}
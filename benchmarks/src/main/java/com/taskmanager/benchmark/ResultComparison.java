@@ -0,0 +1,148 @@
+package com.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Comparison of two JMH JSON result files
+ *
+ * Results are matched by benchmark method and parameters. A result regressed
+ * when it got worse by more than the threshold and the two confidence
+ * intervals (score ± error) do not overlap, so noise alone is not reported.
+ * Throughput modes are better when higher, all time modes when lower.
+ */
+final class ResultComparison {
+    
+    static final double DEFAULT_THRESHOLD_PERCENT = 10;
+    
+    private final List<Row> rows;
+    private final double threshold;
+    
+    private ResultComparison(List<Row> rows, double threshold) {
+        this.rows = rows;
+        this.threshold = threshold;
+    }
+    
+    /**
+     * Compare a run against a baseline
+     *
+     * @param baseline result file of the earlier run
+     * @param current result file of the new run
+     * @param thresholdPercent smallest change in percent reported as a regression
+     * @return the comparison
+     * @throws IOException if a file cannot be read
+     */
+    static ResultComparison of(Path baseline, Path current, double thresholdPercent) throws IOException {
+        Map<String, Score> before = read(baseline);
+        Map<String, Score> after = read(current);
+        
+        List<Row> rows = new ArrayList<>();
+        for (Map.Entry<String, Score> entry : after.entrySet()) {
+            rows.add(new Row(entry.getKey(), before.get(entry.getKey()), entry.getValue(), thresholdPercent));
+        }
+        for (Map.Entry<String, Score> entry : before.entrySet()) {
+            if (!after.containsKey(entry.getKey())) {
+                rows.add(new Row(entry.getKey(), entry.getValue(), null, thresholdPercent));
+            }
+        }
+        return new ResultComparison(rows, thresholdPercent);
+    }
+    
+    boolean hasRegressions() {
+        return rows.stream().anyMatch(row -> row.verdict().equals("REGRESSION"));
+    }
+    
+    void print(PrintStream out) {
+        int width = rows.stream().mapToInt(row -> row.key.length()).max().orElse(0);
+        String format = "%-" + Math.max(width, 9) + "s %16s %16s %9s  %s%n";
+        out.printf(format, "Benchmark", "Baseline", "Current", "Change", "Verdict");
+        for (Row row : rows) {
+            out.printf(format, row.key,
+                row.before == null ? "-" : row.before.format(),
+                row.after == null ? "-" : row.after.format(),
+                row.before == null || row.after == null ? "-" : String.format("%+.1f%%", row.changePercent()),
+                row.verdict());
+        }
+        long regressions = rows.stream().filter(row -> row.verdict().equals("REGRESSION")).count();
+        out.printf("%n%d regression(s) beyond %.1f%%%n", regressions, threshold);
+    }
+    
+    /**
+     * Read a JMH result file into scores keyed by "benchmark [param=value, ...]"
+     */
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            if (params.isObject() && params.size() > 0) {
+                Map<String, String> sorted = new TreeMap<>();
+                for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> param = it.next();
+                    sorted.put(param.getKey(), param.getValue().asText());
+                }
+                key.append(' ').append(sorted);
+            }
+            
+            JsonNode metric = result.path("primaryMetric");
+            // JMH writes "NaN" as the error when there were too few iterations
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(key.toString(), new Score(
+                result.path("mode").asText(),
+                metric.path("score").asDouble(),
+                Double.isNaN(error) ? 0 : error,
+                metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+    
+    private record Score(String mode, double score, double error, String unit) {
+        
+        boolean higherIsBetter() {
+            return mode.equals("thrpt");
+        }
+        
+        String format() {
+            return String.format("%.3f %s", score, unit);
+        }
+    }
+    
+    private record Row(String key, Score before, Score after, double threshold) {
+        
+        double changePercent() {
+            return (after.score - before.score) / before.score * 100;
+        }
+        
+        String verdict() {
+            if (before == null) {
+                return "NEW";
+            }
+            if (after == null) {
+                return "MISSING";
+            }
+            if (!before.mode.equals(after.mode) || !before.unit.equals(after.unit)) {
+                return "INCOMPARABLE";
+            }
+            
+            double worse = after.higherIsBetter() ? -changePercent() : changePercent();
+            boolean overlapping = Math.abs(after.score - before.score) <= before.error + after.error;
+            if (worse > threshold && !overlapping) {
+                return "REGRESSION";
+            }
+            if (-worse > threshold && !overlapping) {
+                return "IMPROVEMENT";
+            }
+            return "OK";
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskListResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskList;
+import com.taskmanager.model.TaskPriority;
+import com.taskmanager.model.TaskStatus;
+import com.taskmanager.model.User;
+import com.taskmanager.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping entities to response DTOs in TaskService and TaskListService
+ *
+ * Lives in the services' package because the mappers are package-private.
+ * Entities are plain instances, so only the mapping is measured; the grouped
+ * task count query of TaskListService answers from a prepared result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EntityMappingBenchmark {
+    
+    @Param({"20", "200"})
+    private int size;
+    
+    private TaskService taskService;
+    private TaskListService taskListService;
+    private List<Task> tasks;
+    private List<TaskList> lists;
+    
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        User user = new User();
+        user.setId(7L);
+        
+        lists = new ArrayList<>(size);
+        List<Object[]> counts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TaskList list = new TaskList();
+            list.setId(10L + i);
+            list.setName("List " + i);
+            list.setUser(user);
+            list.setIsDefault(i == 0);
+            list.setCreatedAt(LocalDateTime.of(2024, 1, 15, 9, 30).minusDays(i));
+            lists.add(list);
+            counts.add(new Object[] {list.getId(), (long) random.nextInt(50)});
+        }
+        
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task task = new Task();
+            task.setId(100_000L + i);
+            task.setTitle("Task " + i);
+            task.setDescription(random.nextBoolean() ? null : "Description of task " + i);
+            task.setStatus(TaskStatus.values()[random.nextInt(TaskStatus.values().length)]);
+            task.setPriority(TaskPriority.values()[random.nextInt(TaskPriority.values().length)]);
+            task.setDueDate(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(60)));
+            task.setUser(user);
+            task.setTaskList(lists.get(random.nextInt(Math.min(size, 5))));
+            task.setCreatedAt(LocalDateTime.of(2024, 1, 15, 9, 30).minusMinutes(i));
+            task.setUpdatedAt(task.getCreatedAt());
+            tasks.add(task);
+        }
+        
+        TaskRepository taskRepository = (TaskRepository) Proxy.newProxyInstance(
+            TaskRepository.class.getClassLoader(), new Class<?>[] {TaskRepository.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("countByTaskListIds")) {
+                    return counts;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+        taskService = instantiate(TaskService.class, null);
+        taskListService = instantiate(TaskListService.class, taskRepository);
+    }
+    
+    @Benchmark
+    public List<TaskResponse> mapTasks() {
+        List<TaskResponse> responses = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            responses.add(taskService.mapToResponse(task));
+        }
+        return responses;
+    }
+    
+    @Benchmark
+    public List<TaskListResponse> mapLists() {
+        return taskListService.mapToResponses(lists);
+    }
+    
+    /**
+     * Create a service through its generated constructor; every dependency
+     * is null except the task repository
+     */
+    private static <T> T instantiate(Class<T> type, TaskRepository taskRepository) {
+        Constructor<?> constructor = type.getDeclaredConstructors()[0];
+        Object[] args = new Object[constructor.getParameterCount()];
+        for (int i = 0; i < args.length; i++) {
+            if (constructor.getParameterTypes()[i] == TaskRepository.class) {
+                args[i] = taskRepository;
+            }
+        }
+        return type.cast(BeanUtils.instantiateClass(constructor, args));
+    }
+}
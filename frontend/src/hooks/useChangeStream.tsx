@@ -0,0 +1,48 @@
+import { useEffect, useRef } from 'react';
+import { useAuth } from '../contexts/AuthContext';
+
+const API_URL = process.env.REACT_APP_API_URL || 'http://localhost:8080/api';
+
+export type ChangeType =
+  | 'TASK_CREATED'
+  | 'TASK_UPDATED'
+  | 'TASK_DELETED'
+  | 'TASKS_IMPORTED'
+  | 'LIST_CREATED'
+  | 'LIST_UPDATED'
+  | 'LIST_DELETED'
+  | 'RESET';
+
+export interface ChangeEvent {
+  type: ChangeType;
+  entityId: number | null;
+  timestamp: string;
+}
+
+/**
+ * Subscribe to the server's change stream while the component is mounted.
+ * EventSource reconnects on its own and resumes from the last event it saw.
+ */
+export const useChangeStream = (onChange: (event: ChangeEvent) => void) => {
+  const { token } = useAuth();
+  const handlerRef = useRef(onChange);
+  handlerRef.current = onChange;
+
+  useEffect(() => {
+    if (!token || typeof EventSource === 'undefined') {
+      return;
+    }
+
+    // EventSource cannot send an Authorization header
+    const source = new EventSource(`${API_URL}/events/stream?token=${encodeURIComponent(token)}`);
+    source.onmessage = (message) => {
+      try {
+        handlerRef.current(JSON.parse(message.data));
+      } catch (err) {
+        console.error('Error handling change event:', err);
+      }
+    };
+
+    return () => source.close();
+  }, [token]);
+};
@@ -5,6 +5,7 @@ import { taskService } from '../services/taskService';
 import LoadingSpinner from '../components/LoadingSpinner';
 import Toast from '../components/Toast';
 import { useToast } from '../hooks/useToast';
+import { useChangeStream } from '../hooks/useChangeStream';
 
 interface DashboardStats {
   totalTasks: number;
@@ -29,6 +30,11 @@ const DashboardPage: React.FC = () => {
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, []);
 
+  // Refresh when tasks change in another tab or device
+  useChangeStream(() => {
+    loadStats();
+  });
+
   const loadStats = async () => {
     try {
       setLoading(true);
@@ -14,6 +14,7 @@ import LoadingSpinner from '../components/LoadingSpinner';
 import EmptyState from '../components/EmptyState';
 import Toast from '../components/Toast';
 import { useToast } from '../hooks/useToast';
+import { useChangeStream } from '../hooks/useChangeStream';
 
 const TasksPage: React.FC = () => {
   const { user, logout } = useAuth();
@@ -48,6 +49,11 @@ const TasksPage: React.FC = () => {
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [currentPage, statusFilter, priorityFilter, searchQuery, selectedListId]);
 
+  // Refresh when tasks change in another tab or device
+  useChangeStream(() => {
+    loadTasks();
+  });
+
   const loadTasks = async () => {
     try {
       setLoading(true);
@@ -0,0 +1,351 @@
+package com.taskmanager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Builds the backend requests of each operation and tracks per-user state
+ * (token, recently seen task IDs) from the responses
+ */
+final class ApiClient {
+    
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final List<String> STATUSES = List.of("TODO", "IN_PROGRESS", "COMPLETED");
+    private static final List<String> PRIORITIES = List.of("HIGH", "MEDIUM", "LOW");
+    private static final int KNOWN_TASKS = 50;
+    private static final String CHANGE_STREAM_PATH = "/api/events/stream";
+    
+    /**
+     * Prefix of the read endpoints: the servlet path, or the R2DBC path of
+     * the reactive-reads profile
+     */
+    static final String SERVLET_READS = "/api";
+    static final String REACTIVE_READS = "/api/reactive";
+    
+    /**
+     * Endpoints other than GET that are replayed from a capture; writes to
+     * lists, registration and imports need bodies that cannot be made up
+     */
+    private static final Set<String> REPLAYED = Set.of(
+        "POST /api/tasks", "PUT /api/tasks/{id}", "DELETE /api/tasks/{id}");
+    
+    private final HttpClient http;
+    private final String baseUrl;
+    private final String password;
+    private final String readPrefix;
+    private final ObjectMapper mapper = new ObjectMapper();
+    
+    ApiClient(HttpClient http, String baseUrl, String password, String readPrefix) {
+        this.http = http;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.password = password;
+        this.readPrefix = readPrefix;
+    }
+    
+    /**
+     * Send a call and wait for the response
+     */
+    HttpResponse<String> send(Call call) throws Exception {
+        return http.send(call.request(), HttpResponse.BodyHandlers.ofString());
+    }
+    
+    /**
+     * Send a call without waiting
+     */
+    CompletableFuture<HttpResponse<String>> sendAsync(Call call) {
+        return http.sendAsync(call.request(), HttpResponse.BodyHandlers.ofString());
+    }
+    
+    /**
+     * State of one seeded user shared by all requests made as that user
+     */
+    static final class Session {
+        
+        private final String email;
+        private volatile String token;
+        private final Deque<Long> taskIds = new ConcurrentLinkedDeque<>();
+        private final Deque<Long> listIds = new ConcurrentLinkedDeque<>();
+        
+        Session(String email) {
+            this.email = email;
+        }
+        
+        boolean loggedIn() {
+            return token != null;
+        }
+        
+        private void rememberTask(long id) {
+            remember(taskIds, id);
+        }
+        
+        private void rememberList(long id) {
+            if (!listIds.contains(id)) {
+                remember(listIds, id);
+            }
+        }
+        
+        private static void remember(Deque<Long> ids, long id) {
+            ids.addFirst(id);
+            while (ids.size() > KNOWN_TASKS) {
+                ids.pollLast();
+            }
+        }
+    }
+    
+    /**
+     * A request ready to send
+     *
+     * @param operation the kind of request, for updating the session from the
+     *                  response; null when the response carries nothing to keep
+     * @param label the name latencies are reported under
+     * @param session the user
+     * @param request the request
+     */
+    record Call(Operation operation, String label, Session session, HttpRequest request) {
+    }
+    
+    /**
+     * Build the request for an operation. A user without a token logs in
+     * first, and an update without a known task lists tasks instead.
+     *
+     * @param wanted the operation chosen from the mix
+     * @param session the user
+     * @param random source of request parameters
+     * @return the call
+     */
+    Call prepare(Operation wanted, Session session, Random random) {
+        Operation operation = wanted;
+        if (session.token == null) {
+            operation = Operation.LOGIN;
+        } else if (operation == Operation.UPDATE && session.taskIds.isEmpty()) {
+            operation = Operation.LIST;
+        }
+        
+        HttpRequest request = switch (operation) {
+            case LOGIN -> post("/api/auth/login", null, json(
+                mapper.createObjectNode().put("email", session.email).put("password", password)));
+            case LIST -> get(readPrefix + "/tasks?page=" + random.nextInt(3) + "&size=20", session);
+            case FILTER -> get(readPrefix + "/tasks?size=20&" + (random.nextBoolean()
+                ? "status=" + pick(STATUSES, random)
+                : "priority=" + pick(PRIORITIES, random)), session);
+            case SEARCH -> get(readPrefix + "/tasks?size=20&search="
+                + URLEncoder.encode(pick(List.of(DatasetSeeder.WORDS), random), StandardCharsets.UTF_8), session);
+            case CREATE -> post("/api/tasks", session, json(taskBody(random)));
+            case UPDATE -> put("/api/tasks/" + pick(List.copyOf(session.taskIds), random), session,
+                json(taskBody(random).put("status", pick(STATUSES, random))));
+            case DASHBOARD -> get(readPrefix + "/statistics/dashboard", session);
+        };
+        return new Call(operation, operation.name().toLowerCase(), session, request);
+    }
+    
+    /**
+     * Build the login request of a user
+     */
+    Call login(Session session) {
+        return prepare(Operation.LOGIN, session, null);
+    }
+    
+    /**
+     * Build the request for the first page of a user's tasks
+     */
+    Call firstPage(Session session) {
+        return new Call(Operation.LIST, "list", session, get("/api/tasks?page=0&size=" + KNOWN_TASKS, session));
+    }
+    
+    /**
+     * Build the request for a captured one. IDs are taken from what the user
+     * has seen so far, anonymized search terms are mapped to words of the
+     * seeded dataset (the same hash always to the same word), and bodies are
+     * generated.
+     *
+     * @param captured the captured request
+     * @param session the user
+     * @param random source of request bodies
+     * @return the call, or null if the request cannot be replayed
+     */
+    Call replay(CapturedRequest captured, Session session, Random random) {
+        String label = captured.endpoint();
+        if (label.equals("POST /api/auth/login")) {
+            return new Call(Operation.LOGIN, label, session, login(session).request());
+        }
+        if (!session.loggedIn() || !captured.method().equals("GET") && !REPLAYED.contains(label)) {
+            return null;
+        }
+        
+        String path = captured.template();
+        if (!path.startsWith("/api/")) {
+            return null;
+        }
+        if (path.contains("{id}")) {
+            Deque<Long> ids = path.startsWith("/api/lists/") ? session.listIds : session.taskIds;
+            if (ids.isEmpty() || !path.matches("/api/(tasks|lists)/\\{id}")) {
+                return null;
+            }
+            path = path.replace("{id}", String.valueOf(pick(List.copyOf(ids), random)));
+        } else if (path.contains("{") || path.equals(CHANGE_STREAM_PATH)) {
+            return null;
+        }
+        
+        StringBuilder query = new StringBuilder();
+        for (Map.Entry<String, String> parameter : captured.query().entrySet()) {
+            String value = replayValue(parameter.getKey(), parameter.getValue(), session, random);
+            if (value == null) {
+                continue;
+            }
+            query.append(query.isEmpty() ? "?" : "&").append(parameter.getKey()).append('=')
+                .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+        }
+        if (captured.query().containsKey("ids") && !query.toString().contains("ids=")) {
+            return null;
+        }
+        path += query;
+        
+        HttpRequest request = switch (captured.method()) {
+            case "GET" -> get(path, session);
+            case "POST" -> post(path, session, json(taskBody(random)));
+            case "PUT" -> put(path, session, json(taskBody(random).put("status", pick(STATUSES, random))));
+            case "DELETE" -> builder(path, session).DELETE().build();
+            default -> null;
+        };
+        if (request == null) {
+            return null;
+        }
+        Operation operation = switch (label) {
+            case "GET /api/tasks", "GET /api/reactive/tasks" -> Operation.LIST;
+            case "POST /api/tasks" -> Operation.CREATE;
+            default -> null;
+        };
+        return new Call(operation, label, session, request);
+    }
+    
+    /**
+     * Value of an anonymized query parameter to replay, or null to leave it out
+     */
+    private static String replayValue(String name, String value, Session session, Random random) {
+        if (value.equals("*")) {
+            // An ID: the user's own list, or the first page for cursors
+            return name.equals("listId") && !session.listIds.isEmpty()
+                ? String.valueOf(pick(List.copyOf(session.listIds), random)) : null;
+        }
+        if (value.startsWith("*")) {
+            // ids=*count
+            List<Long> known = List.copyOf(session.taskIds);
+            int count = Math.min(known.size(), Integer.parseInt(value.substring(1)));
+            if (count == 0) {
+                return null;
+            }
+            StringBuilder ids = new StringBuilder();
+            for (int i = 0; i < count; i++) {
+                ids.append(i == 0 ? "" : ",").append(known.get(i));
+            }
+            return ids.toString();
+        }
+        if (value.startsWith("~")) {
+            // Free text ~length:hash, or a kept value that was not safe to write (~length)
+            int hash = value.indexOf(':');
+            if (hash < 0) {
+                return null;
+            }
+            return DatasetSeeder.WORDS[Integer.remainderUnsigned(
+                Integer.parseUnsignedInt(value.substring(hash + 1), 16), DatasetSeeder.WORDS.length)];
+        }
+        return value;
+    }
+    
+    /**
+     * Update the user's state from a response
+     *
+     * @param call the call that was made
+     * @param status the HTTP status
+     * @param body the response body
+     */
+    void onResponse(Call call, int status, String body) {
+        Session session = call.session();
+        if (call.request().method().equals("DELETE") && status / 100 == 2) {
+            String path = call.request().uri().getPath();
+            session.taskIds.remove(Long.parseLong(path.substring(path.lastIndexOf('/') + 1)));
+        }
+        // Spring Security answers an expired token with 403
+        if (status == 401 || status == 403) {
+            session.token = null;
+            return;
+        }
+        if (status / 100 != 2 || call.operation() == null) {
+            return;
+        }
+        try {
+            switch (call.operation()) {
+                case LOGIN -> session.token = mapper.readTree(body).path("token").asText(null);
+                case LIST, FILTER, SEARCH -> {
+                    for (JsonNode task : mapper.readTree(body).path("content")) {
+                        session.rememberTask(task.path("id").asLong());
+                        if (task.hasNonNull("listId")) {
+                            session.rememberList(task.path("listId").asLong());
+                        }
+                    }
+                }
+                case CREATE -> session.rememberTask(mapper.readTree(body).path("id").asLong());
+                default -> { }
+            }
+        } catch (Exception e) {
+            // A body that does not parse leaves the state unchanged
+        }
+    }
+    
+    private ObjectNode taskBody(Random random) {
+        ObjectNode body = mapper.createObjectNode()
+            .put("title", "Load " + pick(List.of(DatasetSeeder.WORDS), random) + " " + random.nextInt(10_000))
+            .put("priority", pick(PRIORITIES, random));
+        if (random.nextBoolean()) {
+            body.put("dueDate", LocalDate.now().plusDays(random.nextInt(30)).toString());
+        }
+        return body;
+    }
+    
+    private HttpRequest get(String path, Session session) {
+        return builder(path, session).GET().build();
+    }
+    
+    private HttpRequest post(String path, Session session, String body) {
+        return builder(path, session).header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+    
+    private HttpRequest put(String path, Session session, String body) {
+        return builder(path, session).header("Content-Type", "application/json")
+            .PUT(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+    
+    private HttpRequest.Builder builder(String path, Session session) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (session != null) {
+            builder.header("Authorization", "Bearer " + session.token);
+        }
+        return builder;
+    }
+    
+    private String json(ObjectNode node) {
+        return node.toString();
+    }
+    
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,92 @@
+package com.taskmanager.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * One line of a traffic capture written by the backend's TrafficCaptureFilter
+ *
+ * @param offsetMillis start of the request since the start of the capture
+ * @param method the HTTP method
+ * @param template the URI template, such as /api/tasks/{id}
+ * @param query the anonymized query parameters in capture order
+ * @param userBucket the anonymized user, or -1 for unauthenticated requests
+ * @param status the HTTP status the backend answered
+ * @param durationMicros the time the backend took
+ */
+record CapturedRequest(
+        long offsetMillis,
+        String method,
+        String template,
+        Map<String, String> query,
+        int userBucket,
+        int status,
+        long durationMicros) {
+    
+    private static final String HEADER_PREFIX = "#";
+    
+    /**
+     * Endpoint label used in reports, such as "GET /api/tasks"
+     */
+    String endpoint() {
+        return method + " " + template;
+    }
+    
+    /**
+     * Read a capture file in order. A file holding several capture sessions
+     * is read as one: the offsets of each session continue where the
+     * previous one ended.
+     *
+     * @param file the capture file
+     * @param consumer receives each request
+     * @throws IOException if the file cannot be read
+     */
+    static void read(Path file, Consumer<CapturedRequest> consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long sessionStart = 0;
+            long lastOffset = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (line.startsWith(HEADER_PREFIX)) {
+                    sessionStart = lastOffset;
+                    continue;
+                }
+                CapturedRequest request = parse(line, sessionStart);
+                lastOffset = Math.max(lastOffset, request.offsetMillis());
+                consumer.accept(request);
+            }
+        }
+    }
+    
+    private static CapturedRequest parse(String line, long sessionStart) {
+        String[] fields = line.split("\t");
+        if (fields.length != 7) {
+            throw new IllegalArgumentException("Not a capture line: " + line);
+        }
+        Map<String, String> query = new LinkedHashMap<>();
+        if (!fields[3].equals("-")) {
+            for (String parameter : fields[3].split("&")) {
+                int separator = parameter.indexOf('=');
+                // Repeated parameters (ids=1&ids=2) are replayed once
+                query.putIfAbsent(parameter.substring(0, separator), parameter.substring(separator + 1));
+            }
+        }
+        return new CapturedRequest(
+            sessionStart + Long.parseLong(fields[0]),
+            fields[1],
+            fields[2],
+            query,
+            fields[4].equals("-") ? -1 : Integer.parseInt(fields[4]),
+            Integer.parseInt(fields[5]),
+            Long.parseLong(fields[6]));
+    }
+}
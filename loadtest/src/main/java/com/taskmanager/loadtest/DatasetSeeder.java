@@ -0,0 +1,317 @@
+package com.taskmanager.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Writes a synthetic dataset straight into the backend's database with COPY
+ *
+ * Users are written in batches: COPY the users, read back their IDs, COPY
+ * their lists, read back the list IDs, COPY their tasks, commit. The backend
+ * must have started once against the database so the schema exists.
+ *
+ * The data is shaped like real use: a user's first lists hold most of their
+ * tasks (Zipf over the lists), most tasks have a due date spread around
+ * today, about a third are completed. All users share one password, hashed
+ * once with the backend's BCrypt strength.
+ */
+final class DatasetSeeder {
+    
+    static final String EMAIL_DOMAIN = "@loadtest.local";
+    static final String DEFAULT_PASSWORD = "loadtest-password";
+    
+    private static final String DEFAULT_LIST_NAME = "我的任务";
+    private static final int BATCH_USERS = 500;
+    private static final double LIST_SKEW = 1.2;
+    
+    static final String[] WORDS = {
+        "review", "deploy", "write", "report", "meeting", "budget", "design", "client",
+        "fix", "release", "plan", "sprint", "backlog", "invoice", "update", "database",
+        "call", "draft", "schema", "backup", "onboarding", "roadmap", "survey", "audit"
+    };
+    
+    private final String jdbcUrl;
+    private final String dbUser;
+    private final String dbPassword;
+    private final int users;
+    private final int tasksPerUser;
+    private final int maxLists;
+    private final Random random;
+    
+    DatasetSeeder(Options options) {
+        this.jdbcUrl = options.string("jdbc-url", "jdbc:postgresql://localhost:5432/taskmanager");
+        this.dbUser = options.string("db-user", "taskuser");
+        this.dbPassword = options.string("db-password", "taskpass");
+        this.users = options.integer("users", 2000);
+        this.tasksPerUser = options.integer("tasks-per-user", 200);
+        this.maxLists = options.integer("max-lists", 12);
+        this.random = new Random(options.longValue("seed", 42));
+    }
+    
+    /**
+     * Email of a seeded user
+     *
+     * @param index user index, from 0
+     * @return the email address
+     */
+    static String email(int index) {
+        return username(index) + EMAIL_DOMAIN;
+    }
+    
+    private static String username(int index) {
+        return String.format("load-%06d", index);
+    }
+    
+    /**
+     * Remove earlier seeded users, then seed the configured dataset
+     *
+     * @throws SQLException if a statement fails
+     */
+    void seed() throws SQLException {
+        String passwordHash = new BCryptPasswordEncoder(10).encode(DEFAULT_PASSWORD);
+        long started = System.nanoTime();
+        
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, dbUser, dbPassword)) {
+            connection.setAutoCommit(false);
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            
+            removeSeededUsers(connection);
+            connection.commit();
+            
+            long tasks = 0;
+            for (int first = 0; first < users; first += BATCH_USERS) {
+                int last = Math.min(users, first + BATCH_USERS);
+                tasks += seedBatch(connection, copy, first, last, passwordHash);
+                connection.commit();
+                System.out.printf("Seeded %d/%d users, %d tasks%n", last, users, tasks);
+            }
+            
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE users, task_lists, tasks");
+            }
+            connection.commit();
+            
+            System.out.printf("Seeded %d users and %d tasks in %d s (password: %s)%n",
+                users, tasks, (System.nanoTime() - started) / 1_000_000_000L, DEFAULT_PASSWORD);
+        }
+    }
+    
+    private void removeSeededUsers(Connection connection) throws SQLException {
+        String seededUsers = "SELECT id FROM users WHERE email LIKE '%" + EMAIL_DOMAIN + "'";
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM tasks WHERE user_id IN (" + seededUsers + ")");
+            statement.executeUpdate("DELETE FROM task_lists WHERE user_id IN (" + seededUsers + ")");
+            statement.executeUpdate("DELETE FROM sync_tombstones WHERE user_id IN (" + seededUsers + ")");
+            int removed = statement.executeUpdate("DELETE FROM users WHERE email LIKE '%" + EMAIL_DOMAIN + "'");
+            if (removed > 0) {
+                System.out.printf("Removed %d previously seeded users%n", removed);
+            }
+        }
+    }
+    
+    private long seedBatch(Connection connection, CopyManager copy, int first, int last, String passwordHash)
+            throws SQLException {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        
+        // Users
+        Csv userRows = new Csv();
+        List<String> usernames = new ArrayList<>();
+        for (int i = first; i < last; i++) {
+            usernames.add(username(i));
+            userRows.row(username(i), email(i), passwordHash, now.minusDays(30 + random.nextInt(335)));
+        }
+        copyIn(copy, "users (username, email, password, created_at)", userRows);
+        Map<String, Long> userIds = idsByName(connection,
+            "SELECT username, id FROM users WHERE username = ANY(?)", usernames);
+        
+        // Lists: the default list plus a skewed number of extra ones
+        Csv listRows = new Csv();
+        Map<Long, List<String>> listNames = new LinkedHashMap<>();
+        for (String username : usernames) {
+            Long userId = userIds.get(username);
+            List<String> names = new ArrayList<>();
+            names.add(DEFAULT_LIST_NAME);
+            int extra = Math.min(maxLists - 1, (int) (-Math.log(1 - random.nextDouble()) * 3));
+            for (int i = 1; i <= extra; i++) {
+                names.add(capitalize(word()) + " " + i);
+            }
+            listNames.put(userId, names);
+            for (int i = 0; i < names.size(); i++) {
+                listRows.row(names.get(i), userId, i == 0, now.minusDays(30));
+            }
+        }
+        copyIn(copy, "task_lists (name, user_id, is_default, created_at)", listRows);
+        Map<String, Long> listIds = idsByName(connection,
+            "SELECT user_id || '/' || name, id FROM task_lists WHERE user_id = ANY(?)",
+            new ArrayList<>(userIds.values()));
+        
+        // Tasks
+        Csv taskRows = new Csv();
+        LocalDate today = LocalDate.now();
+        long tasks = 0;
+        for (Map.Entry<Long, List<String>> entry : listNames.entrySet()) {
+            Long userId = entry.getKey();
+            List<String> names = entry.getValue();
+            double[] weights = zipfWeights(names.size());
+            for (int i = 0; i < tasksPerUser; i++) {
+                Long listId = listIds.get(userId + "/" + names.get(pick(weights)));
+                LocalDateTime created = now.minusMinutes(random.nextInt(180 * 24 * 60));
+                LocalDateTime updated = created.plusMinutes(random.nextInt(7 * 24 * 60));
+                taskRows.row(
+                    capitalize(sentence(2 + random.nextInt(6))),
+                    random.nextInt(10) < 3 ? null : capitalize(sentence(8 + random.nextInt(40))) + ".",
+                    status(),
+                    priority(),
+                    dueDate(today),
+                    userId,
+                    listId,
+                    created,
+                    updated.isAfter(now) ? now : updated);
+                tasks++;
+            }
+        }
+        copyIn(copy, "tasks (title, description, status, priority, due_date, user_id, list_id, "
+            + "created_at, updated_at)", taskRows);
+        return tasks;
+    }
+    
+    private static void copyIn(CopyManager copy, String table, Csv rows) throws SQLException {
+        try {
+            copy.copyIn("COPY " + table + " FROM STDIN WITH (FORMAT csv)", new StringReader(rows.toString()));
+        } catch (IOException e) {
+            throw new SQLException("COPY into " + table + " failed", e);
+        }
+    }
+    
+    /**
+     * Run a two-column query (key, ID) for an array parameter
+     */
+    private static Map<String, Long> idsByName(Connection connection, String sql, List<?> keys)
+            throws SQLException {
+        Map<String, Long> ids = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            String type = keys.isEmpty() || keys.get(0) instanceof String ? "text" : "bigint";
+            Array array = connection.createArrayOf(type, keys.toArray());
+            statement.setArray(1, array);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    ids.put(rows.getString(1), rows.getLong(2));
+                }
+            }
+        }
+        return ids;
+    }
+    
+    /**
+     * Weights 1/rank^s: the first (default) list gets the most tasks
+     */
+    private static double[] zipfWeights(int lists) {
+        double[] weights = new double[lists];
+        double total = 0;
+        for (int rank = 1; rank <= lists; rank++) {
+            total += 1 / Math.pow(rank, LIST_SKEW);
+            weights[rank - 1] = total;
+        }
+        for (int i = 0; i < lists; i++) {
+            weights[i] /= total;
+        }
+        return weights;
+    }
+    
+    private int pick(double[] cumulativeWeights) {
+        double value = random.nextDouble();
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+    
+    private String status() {
+        int value = random.nextInt(10);
+        return value < 5 ? "TODO" : value < 7 ? "IN_PROGRESS" : "COMPLETED";
+    }
+    
+    private String priority() {
+        int value = random.nextInt(10);
+        return value < 2 ? "HIGH" : value < 7 ? "MEDIUM" : "LOW";
+    }
+    
+    /**
+     * No due date for a fifth of the tasks; the rest around today, a little
+     * more in the future than in the past
+     */
+    private LocalDate dueDate(LocalDate today) {
+        if (random.nextInt(5) == 0) {
+            return null;
+        }
+        long offset = Math.round(random.nextGaussian() * 14 + 3);
+        return today.plusDays(Math.max(-90, Math.min(90, offset)));
+    }
+    
+    private String sentence(int words) {
+        StringBuilder text = new StringBuilder(word());
+        for (int i = 1; i < words; i++) {
+            text.append(' ').append(word());
+        }
+        return text.toString();
+    }
+    
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+    
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+    
+    /**
+     * CSV rows for COPY; null becomes an unquoted empty field, which COPY
+     * reads as NULL
+     */
+    private static final class Csv {
+        
+        private final StringBuilder text = new StringBuilder();
+        
+        void row(Object... values) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    text.append(',');
+                }
+                Object value = values[i];
+                if (value instanceof String string) {
+                    text.append('"').append(string.replace("\"", "\"\"")).append('"');
+                } else if (value != null) {
+                    text.append(value);
+                }
+            }
+            text.append('\n');
+        }
+        
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.taskmanager.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms and outcome counts of a run
+ * Operations are reported by name (an Operation of the load driver or an
+ * endpoint of a replayed capture), in name order.
+ *
+ * Latencies are recorded in microseconds in HDR histograms with three
+ * significant digits. Only calls completed inside the measurement window
+ * are recorded; errors (transport failures and non-2xx answers) are counted
+ * separately and not included in the latencies.
+ */
+final class LatencyReport {
+    
+    private static final long HIGHEST_TRACKABLE_MICROS = Duration.ofMinutes(5).toNanos() / 1000;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    
+    private static final class Stats {
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+    
+    /**
+     * Record a successful call
+     *
+     * @param operation the operation
+     * @param latencyNanos latency, from the intended start in the open model
+     */
+    void success(String operation, long latencyNanos) {
+        stats(operation).latency.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, latencyNanos / 1000));
+    }
+    
+    void error(String operation) {
+        stats(operation).errors.increment();
+    }
+    
+    private Stats stats(String operation) {
+        return stats.computeIfAbsent(operation, name -> new Stats());
+    }
+    
+    /**
+     * Count a call the open model could not start because too many were in flight
+     */
+    void dropped() {
+        dropped.increment();
+    }
+    
+    /**
+     * Print a table of throughput and latency percentiles
+     *
+     * @param out the output
+     * @param window length of the measurement window
+     */
+    void print(PrintStream out, Duration window) {
+        double seconds = window.toMillis() / 1000.0;
+        int width = Math.max(10, stats.keySet().stream().mapToInt(String::length).max().orElse(0));
+        String nameColumn = "%-" + width + "s";
+        out.printf("%n" + nameColumn + " %9s %7s %9s %9s %9s %9s %9s %9s%n",
+            "Operation", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms");
+        
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+        for (Map.Entry<String, Stats> entry : new TreeMap<>(stats).entrySet()) {
+            Histogram latency = entry.getValue().latency.copy();
+            long errors = entry.getValue().errors.sum();
+            total.add(latency);
+            totalErrors += errors;
+            printRow(out, nameColumn, entry.getKey(), latency, errors, seconds);
+        }
+        printRow(out, nameColumn, "total", total, totalErrors, seconds);
+        
+        if (dropped.sum() > 0) {
+            out.printf("%n%d calls not started: too many requests in flight%n", dropped.sum());
+        }
+    }
+    
+    private static void printRow(PrintStream out, String nameColumn, String name, Histogram latency, long errors,
+            double seconds) {
+        out.printf(nameColumn + " %9d %7d %9.1f", name, latency.getTotalCount(), errors,
+            latency.getTotalCount() / seconds);
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9.2f", latency.getValueAtPercentile(percentile) / 1000.0);
+        }
+        out.printf(" %9.2f%n", latency.getMaxValue() / 1000.0);
+    }
+    
+    /**
+     * Write the summary as JSON and the full percentile distribution of
+     * every operation as HdrHistogram .hgrm files next to it
+     *
+     * @param file the JSON file
+     * @param window length of the measurement window
+     * @param settings run settings to include
+     * @throws IOException if writing fails
+     */
+    void write(Path file, Duration window, Map<String, Object> settings) throws IOException {
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        ObjectNode root = mapper.createObjectNode();
+        root.set("settings", mapper.valueToTree(settings));
+        root.put("windowSeconds", window.toMillis() / 1000.0);
+        root.put("dropped", dropped.sum());
+        
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        String baseName = file.getFileName().toString().replaceFirst("\\.json$", "");
+        
+        ArrayNode operations = root.putArray("operations");
+        for (Map.Entry<String, Stats> entry : new TreeMap<>(stats).entrySet()) {
+            Histogram latency = entry.getValue().latency.copy();
+            long errors = entry.getValue().errors.sum();
+            String name = entry.getKey();
+            ObjectNode row = operations.addObject();
+            row.put("operation", name);
+            row.put("requests", latency.getTotalCount());
+            row.put("errors", errors);
+            row.put("throughput", latency.getTotalCount() / (window.toMillis() / 1000.0));
+            ObjectNode percentiles = row.putObject("latencyMs");
+            for (double percentile : PERCENTILES) {
+                percentiles.put("p" + percentile, latency.getValueAtPercentile(percentile) / 1000.0);
+            }
+            percentiles.put("max", latency.getMaxValue() / 1000.0);
+            
+            try (PrintStream out = new PrintStream(
+                    new FileOutputStream(directory.resolve(baseName + "-" + fileName(name) + ".hgrm").toFile()))) {
+                // Values are in microseconds; scale the output to milliseconds
+                latency.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        mapper.writeValue(file.toFile(), root);
+    }
+    
+    private static String fileName(String operation) {
+        return operation.replaceAll("[^A-Za-z0-9]+", "-").replaceAll("^-|-$", "").toLowerCase();
+    }
+}
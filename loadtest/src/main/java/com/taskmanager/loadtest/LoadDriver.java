@@ -0,0 +1,267 @@
+package com.taskmanager.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the traffic mix against a running backend as the seeded users
+ *
+ * Closed model (--model closed): --concurrency workers each send a request,
+ * wait for the answer and an optional --think-time, then send the next one.
+ * Throughput follows the server's speed.
+ *
+ * Open model (--model open): requests are started at a fixed --rate per
+ * second whatever the server does. Latency is measured from the time a
+ * request was due to start, not from when it actually started, so a stall
+ * shows in the percentiles instead of silently lowering the request rate.
+ * Requests due while --max-in-flight are outstanding are counted as not
+ * started.
+ *
+ * Every user logs in once before the warmup, a few at a time. Otherwise all
+ * workers that pick a user without a token send their own login, and with
+ * thousands of workers the BCrypt checks time out before any of them ends.
+ *
+ * Nothing is recorded during --warmup; the measurement window is --duration.
+ */
+final class LoadDriver {
+    
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+    private static final int LOGIN_CONCURRENCY = 16;
+    
+    private final ApiClient client;
+    private final Operation.Mix mix;
+    private final String model;
+    private final int users;
+    private final int concurrency;
+    private final int rate;
+    private final int maxInFlight;
+    private final Duration thinkTime;
+    private final Duration warmup;
+    private final Duration duration;
+    private final long seed;
+    private final String reportFile;
+    private final Map<String, Object> settings = new LinkedHashMap<>();
+    
+    private final Map<Integer, ApiClient.Session> sessions = new ConcurrentHashMap<>();
+    private final LatencyReport report = new LatencyReport();
+    private volatile boolean measuring;
+    
+    LoadDriver(Options options) {
+        String baseUrl = options.string("base-url", "http://localhost:8080");
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        String readPath = options.string("read-path", "servlet");
+        if (!readPath.equals("servlet") && !readPath.equals("reactive")) {
+            throw new IllegalArgumentException("Unknown read path: " + readPath + " (servlet or reactive)");
+        }
+        this.client = new ApiClient(http, baseUrl, options.string("password", DatasetSeeder.DEFAULT_PASSWORD),
+            readPath.equals("reactive") ? ApiClient.REACTIVE_READS : ApiClient.SERVLET_READS);
+        this.mix = Operation.Mix.parse(options.string("mix", null));
+        this.model = options.string("model", "closed");
+        this.users = options.integer("users", 2000);
+        this.concurrency = options.integer("concurrency", 50);
+        this.rate = options.integer("rate", 200);
+        this.maxInFlight = options.integer("max-in-flight", 1000);
+        this.thinkTime = options.duration("think-time", Duration.ZERO);
+        this.warmup = options.duration("warmup", Duration.ofSeconds(30));
+        this.duration = options.duration("duration", Duration.ofMinutes(2));
+        this.seed = options.longValue("seed", 42);
+        this.reportFile = options.string("report", null);
+        
+        if (!model.equals("closed") && !model.equals("open")) {
+            throw new IllegalArgumentException("Unknown model: " + model + " (closed or open)");
+        }
+        
+        settings.put("baseUrl", baseUrl);
+        settings.put("model", model);
+        settings.put("users", users);
+        if (model.equals("closed")) {
+            settings.put("concurrency", concurrency);
+            settings.put("thinkTime", thinkTime.toString());
+        } else {
+            settings.put("rate", rate);
+            settings.put("maxInFlight", maxInFlight);
+        }
+        settings.put("readPath", readPath);
+        settings.put("mix", mix.toString());
+        settings.put("warmup", warmup.toString());
+        settings.put("duration", duration.toString());
+    }
+    
+    /**
+     * Run the warmup and the measurement window, then print the report
+     *
+     * @throws Exception if the run is interrupted or the report cannot be written
+     */
+    void run() throws Exception {
+        System.out.printf("Running %s%n", settings);
+        logIn();
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        
+        Thread switcher = new Thread(() -> {
+            LockSupport.parkNanos(measureFrom - System.nanoTime());
+            measuring = true;
+            System.out.println("Warmup done, measuring");
+            LockSupport.parkNanos(end - System.nanoTime());
+            measuring = false;
+        }, "loadtest-window");
+        switcher.setDaemon(true);
+        switcher.start();
+        
+        if (model.equals("closed")) {
+            runClosed(end);
+        } else {
+            runOpen(start, end);
+        }
+        measuring = false;
+        
+        report.print(System.out, duration);
+        if (reportFile != null) {
+            report.write(Path.of(reportFile), duration, settings);
+            System.out.printf("%nReport written to %s%n", reportFile);
+        }
+    }
+    
+    /**
+     * Log in every user before the load starts
+     */
+    private void logIn() throws InterruptedException {
+        long started = System.nanoTime();
+        ExecutorService workers = Executors.newFixedThreadPool(LOGIN_CONCURRENCY);
+        AtomicInteger failed = new AtomicInteger();
+        for (int user = 0; user < users; user++) {
+            ApiClient.Session session = sessions.computeIfAbsent(user,
+                index -> new ApiClient.Session(DatasetSeeder.email(index)));
+            workers.execute(() -> {
+                try {
+                    ApiClient.Call login = client.login(session);
+                    HttpResponse<String> response = client.send(login);
+                    client.onResponse(login, response.statusCode(), response.body());
+                    if (!session.loggedIn()) {
+                        failed.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.HOURS);
+        System.out.printf("Logged in %d users in %d s%n", users - failed.get(),
+            TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started));
+        if (failed.get() > 0) {
+            System.out.printf("%d users could not log in; their workers retry during the run%n", failed.get());
+        }
+    }
+    
+    private void runClosed(long end) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int worker = 0; worker < concurrency; worker++) {
+            Random random = new Random(seed + worker);
+            workers.execute(() -> {
+                if (!thinkTime.isZero()) {
+                    // Spread the first requests over one think time instead of sending them all at once
+                    LockSupport.parkNanos(random.nextLong(thinkTime.toNanos()));
+                }
+                while (System.nanoTime() < end) {
+                    ApiClient.Call call = nextCall(random);
+                    long started = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(call);
+                        complete(call, response, started);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (Exception e) {
+                        failed(call);
+                    }
+                    if (!thinkTime.isZero()) {
+                        LockSupport.parkNanos(thinkTime.toNanos());
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(Math.max(0, end - System.nanoTime()) + DRAIN_TIMEOUT.toNanos(),
+            TimeUnit.NANOSECONDS);
+        workers.shutdownNow();
+    }
+    
+    private void runOpen(long start, long end) throws InterruptedException {
+        Random random = new Random(seed);
+        AtomicInteger inFlight = new AtomicInteger();
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        
+        for (long intended = start; intended < end; intended += interval) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= maxInFlight) {
+                if (measuring) {
+                    report.dropped();
+                }
+                continue;
+            }
+            ApiClient.Call call = nextCall(random);
+            long due = intended;
+            inFlight.incrementAndGet();
+            client.sendAsync(call).whenComplete((response, error) -> {
+                inFlight.decrementAndGet();
+                if (error != null) {
+                    failed(call);
+                } else {
+                    complete(call, response, due);
+                }
+            });
+        }
+        
+        long drainUntil = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+            Thread.sleep(10);
+        }
+    }
+    
+    private ApiClient.Call nextCall(Random random) {
+        int user = random.nextInt(users);
+        ApiClient.Session session = sessions.computeIfAbsent(user,
+            index -> new ApiClient.Session(DatasetSeeder.email(index)));
+        return client.prepare(mix.next(random), session, random);
+    }
+    
+    private void complete(ApiClient.Call call, HttpResponse<String> response, long started) {
+        long latency = System.nanoTime() - started;
+        client.onResponse(call, response.statusCode(), response.body());
+        if (!measuring) {
+            return;
+        }
+        if (response.statusCode() / 100 == 2) {
+            report.success(call.label(), latency);
+        } else {
+            report.error(call.label());
+        }
+    }
+    
+    private void failed(ApiClient.Call call) {
+        if (measuring) {
+            report.error(call.label());
+        }
+    }
+}
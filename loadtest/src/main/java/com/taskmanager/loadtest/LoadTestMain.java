@@ -0,0 +1,56 @@
+package com.taskmanager.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of loadtest.jar
+ *
+ * Start PostgreSQL (docker-compose) and the backend once so the schema
+ * exists, then seed the synthetic dataset:
+ * <pre>
+ *   java -jar loadtest/target/loadtest.jar seed [--users 2000] [--tasks-per-user 200] [--max-lists 12]
+ *       [--jdbc-url jdbc:postgresql://localhost:5432/taskmanager] [--db-user taskuser] [--db-password taskpass]
+ *       [--seed 42]
+ * </pre>
+ * and drive traffic against the running backend, closed or open model:
+ * <pre>
+ *   java -jar loadtest/target/loadtest.jar run --model closed --concurrency 50 [--think-time 0s]
+ *   java -jar loadtest/target/loadtest.jar run --model open --rate 200 [--max-in-flight 1000]
+ *       [--base-url http://localhost:8080] [--users 2000] [--warmup 30s] [--duration 2m]
+ *       [--mix list=30,filter=20,search=15,create=10,update=13,dashboard=10,login=2]
+ *       [--read-path servlet|reactive] [--report results/run.json]
+ * </pre>
+ * --read-path reactive sends list, filter, search and dashboard to the
+ * /api/reactive endpoints of a backend running the reactive-reads profile.
+ * A run logs every user in before the warmup. With --think-time, closed-model
+ * workers send their first request at a random point within one think time.
+ * Replay a capture written by the backend with traffic.capture.enabled=true,
+ * in real time or faster:
+ * <pre>
+ *   java -jar loadtest/target/loadtest.jar replay --capture capture/traffic.tsv [--speed 1]
+ *       [--base-url http://localhost:8080] [--users 2000] [--max-in-flight 1000] [--report results/replay.json]
+ * </pre>
+ * --users of a run or replay must not exceed the number of seeded users.
+ */
+public final class LoadTestMain {
+    
+    private LoadTestMain() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        String command = args.length > 0 ? args[0] : "";
+        if (!command.equals("seed") && !command.equals("run") && !command.equals("replay")) {
+            System.err.println("Usage: seed [--users N] [--tasks-per-user N] ... | run [--model closed|open] ..."
+                + " | replay --capture <file> [--speed N] ...");
+            System.exit(2);
+        }
+        
+        Options options = new Options(Arrays.copyOfRange(args, 1, args.length));
+        switch (command) {
+            case "seed" -> new DatasetSeeder(options).seed();
+            case "run" -> new LoadDriver(options).run();
+            default -> new TrafficReplayer(options).run();
+        }
+        System.exit(0);
+    }
+}
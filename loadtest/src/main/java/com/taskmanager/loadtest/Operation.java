@@ -0,0 +1,88 @@
+package com.taskmanager.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Kinds of request in the traffic mix, with their default weights
+ */
+enum Operation {
+    
+    LOGIN(2),
+    LIST(30),
+    FILTER(20),
+    SEARCH(15),
+    CREATE(10),
+    UPDATE(13),
+    DASHBOARD(10);
+    
+    private final int defaultWeight;
+    
+    Operation(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+    
+    /**
+     * Weighted choice of the next operation
+     */
+    static final class Mix {
+        
+        private final Operation[] operations;
+        private final int[] cumulative;
+        
+        private Mix(Map<Operation, Integer> weights) {
+            operations = weights.keySet().toArray(Operation[]::new);
+            cumulative = new int[operations.length];
+            int total = 0;
+            for (int i = 0; i < operations.length; i++) {
+                total += weights.get(operations[i]);
+                cumulative[i] = total;
+            }
+            if (total <= 0) {
+                throw new IllegalArgumentException("The traffic mix has no weight");
+            }
+        }
+        
+        /**
+         * Parse a mix such as "list=40,search=10,create=5"; operations not
+         * named keep their default weight, weight 0 disables one
+         *
+         * @param spec the mix, or null for the defaults
+         * @return the mix
+         */
+        static Mix parse(String spec) {
+            Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+            for (Operation operation : values()) {
+                weights.put(operation, operation.defaultWeight);
+            }
+            if (spec != null && !spec.isBlank()) {
+                for (String part : spec.split(",")) {
+                    String[] pair = part.trim().split("=");
+                    weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+                }
+            }
+            return new Mix(weights);
+        }
+        
+        Operation next(Random random) {
+            int value = random.nextInt(cumulative[cumulative.length - 1]);
+            for (int i = 0; i < cumulative.length; i++) {
+                if (value < cumulative[i]) {
+                    return operations[i];
+                }
+            }
+            return operations[operations.length - 1];
+        }
+        
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < operations.length; i++) {
+                int weight = cumulative[i] - (i == 0 ? 0 : cumulative[i - 1]);
+                text.append(i == 0 ? "" : ",").append(operations[i].name().toLowerCase()).append('=').append(weight);
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.taskmanager.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a traffic capture against a test instance seeded by DatasetSeeder
+ *
+ * Every captured user bucket is played by one seeded user (bucket modulo
+ * --users), which is logged in and has seen a page of its tasks before the
+ * replay starts. Requests are started at their captured offsets divided by
+ * --speed (1 for real time, 10 for ten times faster) and, as in the open
+ * model of the load driver, their latency is measured from that intended
+ * start. Requests that cannot be replayed (see ApiClient.replay) are counted
+ * per endpoint and skipped.
+ *
+ * The report shows the replayed latencies next to the ones the backend took
+ * when the traffic was captured.
+ */
+final class TrafficReplayer {
+    
+    private static final int PRIME_CONCURRENCY = 16;
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+    
+    private final ApiClient client;
+    private final Path capture;
+    private final double speed;
+    private final int users;
+    private final int maxInFlight;
+    private final long seed;
+    private final String reportFile;
+    private final Map<String, Object> settings = new LinkedHashMap<>();
+    
+    private final Map<Integer, ApiClient.Session> sessions = new ConcurrentHashMap<>();
+    private final LatencyReport replayed = new LatencyReport();
+    private final LatencyReport captured = new LatencyReport();
+    private final Map<String, LongAdder> skipped = new ConcurrentHashMap<>();
+    
+    TrafficReplayer(Options options) {
+        String baseUrl = options.string("base-url", "http://localhost:8080");
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        this.client = new ApiClient(http, baseUrl, options.string("password", DatasetSeeder.DEFAULT_PASSWORD),
+            ApiClient.SERVLET_READS);
+        String file = options.string("capture", null);
+        if (file == null) {
+            throw new IllegalArgumentException("--capture <file> is required");
+        }
+        this.capture = Path.of(file);
+        this.speed = options.decimal("speed", 1.0);
+        this.users = options.integer("users", 2000);
+        this.maxInFlight = options.integer("max-in-flight", 1000);
+        this.seed = options.longValue("seed", 42);
+        this.reportFile = options.string("report", null);
+        
+        if (speed <= 0) {
+            throw new IllegalArgumentException("--speed must be positive");
+        }
+        settings.put("baseUrl", baseUrl);
+        settings.put("capture", file);
+        settings.put("speed", speed);
+        settings.put("users", users);
+        settings.put("maxInFlight", maxInFlight);
+    }
+    
+    /**
+     * Prepare the users, replay the capture and print the report
+     *
+     * @throws Exception if the capture cannot be read or the run is interrupted
+     */
+    void run() throws Exception {
+        Set<Integer> buckets = new TreeSet<>();
+        AtomicLong lastOffset = new AtomicLong();
+        CapturedRequest.read(capture, request -> {
+            if (request.userBucket() >= 0) {
+                buckets.add(request.userBucket());
+            }
+            lastOffset.set(request.offsetMillis());
+            if (request.status() / 100 == 2) {
+                captured.success(request.endpoint(), TimeUnit.MICROSECONDS.toNanos(request.durationMicros()));
+            } else {
+                captured.error(request.endpoint());
+            }
+        });
+        System.out.printf("Replaying %s: %d users, %s of traffic%n",
+            settings, buckets.size(), Duration.ofMillis(lastOffset.get()));
+        
+        prime(buckets);
+        
+        Random random = new Random(seed);
+        AtomicInteger inFlight = new AtomicInteger();
+        long start = System.nanoTime();
+        CapturedRequest.read(capture, request -> {
+            long intended = start + (long) (TimeUnit.MILLISECONDS.toNanos(request.offsetMillis()) / speed);
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= maxInFlight) {
+                replayed.dropped();
+                return;
+            }
+            ApiClient.Call call = client.replay(request, session(request.userBucket(), random), random);
+            if (call == null) {
+                skipped.computeIfAbsent(request.endpoint(), endpoint -> new LongAdder()).increment();
+                return;
+            }
+            inFlight.incrementAndGet();
+            client.sendAsync(call).whenComplete((response, error) -> {
+                inFlight.decrementAndGet();
+                complete(call, response, error, intended);
+            });
+        });
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        
+        long drainUntil = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+            Thread.sleep(10);
+        }
+        
+        System.out.printf("%nCaptured (backend time)%n");
+        captured.print(System.out, Duration.ofMillis(Math.max(1, lastOffset.get())));
+        System.out.printf("%nReplayed at %sx (from intended start)%n", speed);
+        replayed.print(System.out, elapsed);
+        if (!skipped.isEmpty()) {
+            System.out.printf("%nNot replayed:%n");
+            new TreeMap<>(skipped).forEach((endpoint, count) ->
+                System.out.printf("  %-40s %d%n", endpoint, count.sum()));
+        }
+        if (reportFile != null) {
+            replayed.write(Path.of(reportFile), elapsed, settings);
+            System.out.printf("%nReport written to %s%n", reportFile);
+        }
+    }
+    
+    /**
+     * Log in the user of every bucket and let it see its first tasks, so
+     * requests for a task or list ID have one to use
+     */
+    private void prime(Set<Integer> buckets) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(PRIME_CONCURRENCY);
+        AtomicInteger failed = new AtomicInteger();
+        for (Integer bucket : buckets) {
+            workers.execute(() -> {
+                ApiClient.Session session = session(bucket, null);
+                try {
+                    ApiClient.Call login = client.login(session);
+                    HttpResponse<String> response = client.send(login);
+                    client.onResponse(login, response.statusCode(), response.body());
+                    if (session.loggedIn()) {
+                        ApiClient.Call list = client.firstPage(session);
+                        response = client.send(list);
+                        client.onResponse(list, response.statusCode(), response.body());
+                    } else {
+                        failed.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.HOURS);
+        if (failed.get() > 0) {
+            System.out.printf("%d users could not be prepared%n", failed.get());
+        }
+    }
+    
+    private ApiClient.Session session(int bucket, Random random) {
+        // Unauthenticated requests (logins) go to any user
+        int user = bucket >= 0 ? bucket % users : random.nextInt(users);
+        return sessions.computeIfAbsent(user, index -> new ApiClient.Session(DatasetSeeder.email(index)));
+    }
+    
+    private void complete(ApiClient.Call call, HttpResponse<String> response, Throwable error, long intended) {
+        long latency = System.nanoTime() - intended;
+        if (error != null) {
+            replayed.error(call.label());
+            return;
+        }
+        client.onResponse(call, response.statusCode(), response.body());
+        if (response.statusCode() / 100 == 2) {
+            replayed.success(call.label(), latency);
+        } else {
+            replayed.error(call.label());
+        }
+    }
+}